@@ -0,0 +1,458 @@
+package io.aesy.datasize;
+
+import io.aesy.datasize.convert.DataSizeConverter;
+import io.aesy.datasize.format.DataSizeFormatter;
+import io.aesy.datasize.parse.DataSizeParser;
+import io.aesy.datasize.parse.LenientDataSizeParser;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * A {@code DataRate} object models a rate of digital information, measured in bits or bytes per
+ * second.
+ *
+ * <p>
+ * A {@code DataRate} is backed by the {@code DataSize} transferred per second, so conversion,
+ * comparison, formatting and parsing behave exactly like their {@code DataSize} counterparts. The
+ * string representation of a rate is that of its' {@code DataSize} followed by
+ * {@literal "/s"}, such as {@literal "12.5 MiB/s"}.
+ * </p>
+ *
+ * <p>
+ * For per-packet rate math, {@code DataRate#getBytesPerSecond}, {@code DataRate#bytesIn} and
+ * {@code DataRate#nanosFor} work on {@code long} values without any {@code BigDecimal}
+ * arithmetic. Results are rounded down and saturate at {@code Long.MAX_VALUE}.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * DataRate rate = DataRate.of(DataSize.of(100, BitUnit.SI.MEGABIT), Duration.ofSeconds(1));
+ *
+ * assertEquals(rate.toUnit(ByteUnit.SI.MEGABYTE), DataRate.parse("12.5 MB/s"));
+ * assertEquals(rate.bytesIn(TimeUnit.MILLISECONDS.toNanos(1)), 12500);
+ * }</pre>
+ * </blockquote>
+ */
+public final class DataRate implements Comparable<DataRate>, Serializable {
+    private static final long serialVersionUID = -2935866414093525721L;
+    private static final String SUFFIX = "/s";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final BigDecimal NANOS_PER_SECOND_VALUE = BigDecimal.valueOf(NANOS_PER_SECOND);
+    private static final BigDecimal LONG_MAX_VALUE = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private final DataSize perSecond;
+
+    // Lazily computed and memoized using the racy single-check idiom. -1 denotes not yet computed.
+    // Volatile, as writes of a plain long may tear and expose a value that is neither.
+    private transient volatile long bytesPerSecond = -1;
+
+    private DataRate(DataSize perSecond) {
+        this.perSecond = perSecond;
+    }
+
+    /**
+     * Creates a new {@code DataRate} object from the amount of data transferred per second.
+     *
+     * @param perSecond The amount of data per second
+     * @return A new {@code DataRate} object
+     */
+    public static DataRate of(DataSize perSecond) {
+        return new DataRate(perSecond);
+    }
+
+    /**
+     * Creates a new {@code DataRate} object from a value and a unit per second.
+     *
+     * @param value The value per second
+     * @param unit The unit
+     * @return A new {@code DataRate} object
+     * @throws IllegalArgumentException If the value is less than zero
+     */
+    public static DataRate of(long value, DataUnit unit) {
+        return new DataRate(DataSize.of(value, unit));
+    }
+
+    /**
+     * Creates a new {@code DataRate} object from a value and a unit per second.
+     *
+     * @param value The value per second
+     * @param unit The unit
+     * @return A new {@code DataRate} object
+     * @throws IllegalArgumentException If the value is less than zero
+     */
+    public static DataRate of(double value, DataUnit unit) {
+        return new DataRate(DataSize.of(value, unit));
+    }
+
+    /**
+     * Creates a new {@code DataRate} object from a value and a unit per second.
+     *
+     * @param value The value per second
+     * @param unit The unit
+     * @return A new {@code DataRate} object
+     * @throws IllegalArgumentException If the value is less than zero
+     */
+    public static DataRate of(BigDecimal value, DataUnit unit) {
+        return new DataRate(DataSize.of(value, unit));
+    }
+
+    /**
+     * Creates a new {@code DataRate} object from an amount of data transferred during a duration.
+     *
+     * <p>
+     * The resulting rate will be represented by the same unit as the given {@code DataSize}.
+     * </p>
+     *
+     * @param dataSize The amount of data transferred
+     * @param duration The duration of the transfer
+     * @return A new {@code DataRate} object
+     * @throws IllegalArgumentException If the duration is zero or negative
+     */
+    public static DataRate of(DataSize dataSize, Duration duration) {
+        if (duration.isZero() || duration.isNegative()) {
+            throw new IllegalArgumentException("Duration must be greater than zero");
+        }
+
+        BigDecimal nanos = new BigDecimal(BigInteger.valueOf(duration.getSeconds())
+                                                    .multiply(BigInteger.valueOf(NANOS_PER_SECOND))
+                                                    .add(BigInteger.valueOf(duration.getNano())));
+        BigDecimal value = dataSize.getValue()
+                                   .multiply(NANOS_PER_SECOND_VALUE)
+                                   .divide(nanos, MathContext.DECIMAL64);
+
+        return new DataRate(DataSize.of(value, dataSize.getUnit()));
+    }
+
+    /**
+     * Creates a new {@code DataRate} object from a byte count per second.
+     *
+     * @param bytesPerSecond The amount of bytes per second
+     * @return A new {@code DataRate} object
+     * @throws IllegalArgumentException If the value is less than zero
+     */
+    public static DataRate ofBytesPerSecond(long bytesPerSecond) {
+        DataRate rate = new DataRate(DataSize.of(bytesPerSecond, ByteUnit.BYTE));
+        rate.bytesPerSecond = bytesPerSecond;
+
+        return rate;
+    }
+
+    /**
+     * Creates a new {@code DataRate} object from a bit count per second.
+     *
+     * @param bitsPerSecond The amount of bits per second
+     * @return A new {@code DataRate} object
+     * @throws IllegalArgumentException If the value is less than zero
+     */
+    public static DataRate ofBitsPerSecond(long bitsPerSecond) {
+        return new DataRate(DataSize.of(bitsPerSecond, BitUnit.BIT));
+    }
+
+    /**
+     * Creates a new {@code DataRate} object from a byte count transferred during an amount of
+     * nanoseconds, using only {@code long} arithmetic.
+     *
+     * <p>
+     * The resulting rate is rounded down to whole bytes per second.
+     * </p>
+     *
+     * @param bytes The amount of bytes transferred
+     * @param nanos The duration of the transfer in nanoseconds
+     * @return A new {@code DataRate} object
+     * @throws IllegalArgumentException If the byte count is less than zero or the duration is
+     *     zero or negative
+     */
+    public static DataRate ofBytes(long bytes, long nanos) {
+        if (nanos <= 0) {
+            throw new IllegalArgumentException("Duration must be greater than zero");
+        }
+
+        return ofBytesPerSecond(scale(bytes, NANOS_PER_SECOND, nanos));
+    }
+
+    /**
+     * Parses an input string to produce a {@code DataRate} object.
+     *
+     * <p>
+     * The method expects a string of the form {@literal "2.42 MB/s"}. Everything before the
+     * {@literal "/s"} suffix is parsed by {@code DataSize#parse}, hence the same rules apply.
+     * </p>
+     *
+     * @param input The input string to parse
+     * @return The produced {@code DataRate} object
+     * @throws ParseException If the input string could not be parsed
+     * @throws IllegalArgumentException If the input string is null
+     * @see DataSize#parse
+     */
+    public static DataRate parse(String input) throws ParseException {
+        // Create new instance every time in case default locale has changed between calls
+        return parse(input, new LenientDataSizeParser());
+    }
+
+    /**
+     * Parses an input string to produce a {@code DataRate} object using the given parser.
+     *
+     * <p>
+     * The method expects a string of the form {@literal "2.42 MB/s"}. Everything before the
+     * {@literal "/s"} suffix is parsed by the given parser.
+     * </p>
+     *
+     * @param input The input string to parse
+     * @param parser The parser to use for the {@code DataSize} portion of the input
+     * @return The produced {@code DataRate} object
+     * @throws ParseException If the input string could not be parsed
+     * @throws IllegalArgumentException If the input string or parser is null
+     */
+    public static DataRate parse(String input, DataSizeParser parser) throws ParseException {
+        int end = input.length();
+
+        while (end > 0 && Character.isWhitespace(input.charAt(end - 1))) {
+            end--;
+        }
+
+        int start = end - SUFFIX.length();
+
+        if (start < 0 || !input.regionMatches(true, start, SUFFIX, 0, SUFFIX.length())) {
+            throw new ParseException(input, Math.max(0, start));
+        }
+
+        return new DataRate(parser.parse(input.substring(0, start)));
+    }
+
+    /**
+     * Gets the amount of data transferred per second.
+     *
+     * @return The amount of data per second
+     */
+    public DataSize getPerSecond() {
+        return perSecond;
+    }
+
+    /**
+     * Gets the value in the unit associated with this object.
+     *
+     * @return The value per second
+     */
+    public BigDecimal getValue() {
+        return perSecond.getValue();
+    }
+
+    /**
+     * Gets the unit associated with this object.
+     *
+     * @return The unit
+     */
+    public DataUnit getUnit() {
+        return perSecond.getUnit();
+    }
+
+    /**
+     * Gets the amount of whole bytes transferred per second.
+     *
+     * <p>
+     * The value is rounded down and saturates at {@code Long.MAX_VALUE}. It is computed once and
+     * then reused.
+     * </p>
+     *
+     * @return The amount of bytes per second
+     */
+    public long getBytesPerSecond() {
+        long result = bytesPerSecond;
+
+        if (result < 0) {
+            BigDecimal bytes = perSecond.toUnit(ByteUnit.BYTE).getValue();
+            result = bytes.min(LONG_MAX_VALUE).setScale(0, RoundingMode.DOWN).longValueExact();
+            bytesPerSecond = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * Calculates the amount of whole bytes transferred at this rate during an amount of
+     * nanoseconds, using only {@code long} arithmetic.
+     *
+     * @param nanos The duration in nanoseconds
+     * @return The amount of bytes, rounded down
+     * @throws IllegalArgumentException If the duration is negative
+     */
+    public long bytesIn(long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("Duration must not be negative");
+        }
+
+        return scale(getBytesPerSecond(), nanos, NANOS_PER_SECOND);
+    }
+
+    /**
+     * Calculates the amount of nanoseconds needed to transfer an amount of bytes at this rate,
+     * using only {@code long} arithmetic.
+     *
+     * @param bytes The amount of bytes
+     * @return The duration in nanoseconds, rounded down, or {@code Long.MAX_VALUE} if this rate
+     *     is less than one byte per second
+     * @throws IllegalArgumentException If the byte count is negative
+     */
+    public long nanosFor(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Byte count must not be negative");
+        }
+
+        long rate = getBytesPerSecond();
+
+        if (rate == 0) {
+            return Long.MAX_VALUE;
+        }
+
+        return scale(bytes, NANOS_PER_SECOND, rate);
+    }
+
+    /**
+     * Returns a new {@code DataRate} object, represented by the given unit, equal to this.
+     *
+     * @param unit The unit
+     * @return A new {@code DataRate} object
+     */
+    public DataRate toUnit(DataUnit unit) {
+        return new DataRate(perSecond.toUnit(unit));
+    }
+
+    /**
+     * Converts this object to a more human readable unit.
+     *
+     * @return A new {@code DataRate} object that is equal to this
+     * @see DataSize#toNaturalUnit
+     */
+    public DataRate toNaturalUnit() {
+        return new DataRate(perSecond.toNaturalUnit());
+    }
+
+    /**
+     * Converts the amount of data per second of this object using the given converter, such as a
+     * {@code SmartNaturalDataSizeConverter}.
+     *
+     * @param converter The converter to use
+     * @return A new {@code DataRate} object
+     */
+    public DataRate convert(DataSizeConverter converter) {
+        return new DataRate(converter.convert(perSecond));
+    }
+
+    /**
+     * Calculates the amount of data transferred at this rate during a duration.
+     *
+     * <p>
+     * The result will be represented by the same unit as this object.
+     * </p>
+     *
+     * @param duration The duration
+     * @return The amount of data
+     * @throws IllegalArgumentException If the duration is negative
+     */
+    public DataSize over(Duration duration) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("Duration must not be negative");
+        }
+
+        BigDecimal seconds = BigDecimal.valueOf(duration.getSeconds())
+                                       .add(BigDecimal.valueOf(duration.getNano(), 9));
+
+        return DataSize.of(perSecond.getValue().multiply(seconds), perSecond.getUnit());
+    }
+
+    /**
+     * Formats this object using the given formatter for the amount of data per second, followed by
+     * {@literal "/s"}.
+     *
+     * @param formatter The formatter to use
+     * @return The formatted string
+     */
+    public String format(DataSizeFormatter formatter) {
+        return formatter.format(perSecond) + SUFFIX;
+    }
+
+    /**
+     * Compares this object with the specified object for order, by comparing the amount of data
+     * per second.
+     *
+     * @param other The object to be compared
+     * @return A negative integer, zero, or a positive integer as this object is less than, equal
+     *     to, or greater than the specified object
+     * @see DataSize#compareTo
+     */
+    @Override
+    public int compareTo(DataRate other) {
+        return perSecond.compareTo(other.perSecond);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+
+        return perSecond.equals(((DataRate) other).perSecond);
+    }
+
+    @Override
+    public int hashCode() {
+        return perSecond.hashCode();
+    }
+
+    /**
+     * Returns a string representation of this object, such as {@literal "12.5 MB/s"}.
+     *
+     * @return A string representation of this object
+     * @see DataSize#toString
+     */
+    @Override
+    public String toString() {
+        return perSecond.toString() + SUFFIX;
+    }
+
+    private Object readResolve() {
+        // Restore the sentinel of the transient field, which deserializes as zero
+        return new DataRate(perSecond);
+    }
+
+    // Calculates value * multiplier / divisor rounded down, without intermediate overflow. The
+    // result saturates at Long.MAX_VALUE.
+    private static long scale(long value, long multiplier, long divisor) {
+        long quotient = value / divisor;
+        long remainder = value % divisor;
+
+        try {
+            long whole = Math.multiplyExact(quotient, multiplier);
+            long fraction = multiplyDivide(remainder, multiplier, divisor);
+
+            return Math.addExact(whole, fraction);
+        } catch (ArithmeticException exception) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static long multiplyDivide(long value, long multiplier, long divisor) {
+        long product = value * multiplier;
+
+        if (value != 0 && product / value != multiplier) {
+            // Only reached for very large divisors, as the value is the remainder of a division
+            return BigInteger.valueOf(value)
+                             .multiply(BigInteger.valueOf(multiplier))
+                             .divide(BigInteger.valueOf(divisor))
+                             .longValue();
+        }
+
+        return product / divisor;
+    }
+}
@@ -15,8 +15,15 @@ import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.RoundingMode;
 import java.text.ParseException;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * A {@code DataSize} object models a quantity of digital information measured in bits or bytes.
@@ -41,6 +48,25 @@ import java.util.Locale;
  * If this isn't desirable, it has to be enforced externally.
  * </p>
  *
+ * <p>
+ * The value as {@code ByteUnit.BYTE}, the natural unit representation and the string
+ * representation are computed lazily and memoized, so repeated comparisons, conversions to a
+ * natural unit and calls to {@code DataSize#toString} on the same object are cheap.
+ * </p>
+ *
+ * <p>
+ * Block and chunk math, such as {@code DataSize#ceilDiv} and {@code DataSize#alignUp}, works on
+ * whole bytes. Sizes that are whole amounts of bytes fitting in a {@code long} take a fast path
+ * using only {@code long} arithmetic.
+ * </p>
+ *
+ * <p>
+ * Objects with whole values from zero up to and including {@literal 1024} in any of the built-in
+ * {@code ByteUnit} and {@code BitUnit} units are shared, meaning that {@code DataSize#of} returns
+ * the same instance for the same value and unit. Other values may be shared explicitly through a
+ * {@code DataSizeInterner}.
+ * </p>
+ *
  * <blockquote>
  * Example usage:
  * <pre>{@code
@@ -53,10 +79,31 @@ import java.util.Locale;
  */
 public final class DataSize implements Comparable<DataSize>, Serializable {
     private static final long serialVersionUID = 2077111414556375345L;
+    private static final int SHARED_LIMIT = 1024;
+    private static final BigDecimal SHARED_LIMIT_VALUE = BigDecimal.valueOf(SHARED_LIMIT);
+    private static final BigDecimal LONG_MAX_VALUE = BigDecimal.valueOf(Long.MAX_VALUE);
+    private static final String ZERO_DIVISOR = "Divisor must not be zero";
+    private static final int MAX_RETAINED_SCALE = 16;
+    private static final Set<DataUnit> SHARED_UNITS;
+    private static final Map<DataUnit, AtomicReferenceArray<DataSize>> shared;
+
+    static {
+        Set<DataUnit> units = new HashSet<>();
+        units.addAll(BitUnit.values());
+        units.addAll(ByteUnit.values());
+        SHARED_UNITS = Collections.unmodifiableSet(units);
+        shared = new ConcurrentHashMap<>();
+    }
 
     private final BigDecimal value;
     private final DataUnit unit;
 
+    // Lazily computed and memoized using the racy single-check idiom. All memoized objects are
+    // immutable, so a thread observing null at worst computes an equal object once more.
+    private transient BigDecimal canonicalBytes;
+    private transient DataSize naturalUnit;
+    private transient String string;
+
     private DataSize(BigDecimal value, DataUnit unit) {
         if (value.compareTo(BigDecimal.ZERO) < 0) {
             throw new IllegalArgumentException("Value must not be less than zero");
@@ -86,6 +133,10 @@ public final class DataSize implements Comparable<DataSize>, Serializable {
      * @throws IllegalArgumentException If the value is less than zero
      */
     public static DataSize of(long value, DataUnit unit) {
+        if (value >= 0 && value <= SHARED_LIMIT && SHARED_UNITS.contains(unit)) {
+            return shared((int) value, unit);
+        }
+
         return new DataSize(BigDecimal.valueOf(value), unit);
     }
 
@@ -110,11 +161,12 @@ public final class DataSize implements Comparable<DataSize>, Serializable {
      * @throws IllegalArgumentException If the value is less than zero
      */
     public static DataSize of(BigInteger value, DataUnit unit) {
-        return new DataSize(new BigDecimal(value), unit);
+        return of(new BigDecimal(value), unit);
     }
 
     /**
-     * Creates a new {@code DataSize} object from a value and a unit.
+     * Creates a new {@code DataSize} object from a value and a unit. The scale of the value is
+     * retained, except trailing zeros beyond sixteen fractional digits.
      *
      * @param value The value
      * @param unit The unit
@@ -122,7 +174,22 @@ public final class DataSize implements Comparable<DataSize>, Serializable {
      * @throws IllegalArgumentException If the value is less than zero
      */
     public static DataSize of(BigDecimal value, DataUnit unit) {
-        return new DataSize(value, unit);
+        // Trailing zeros beyond any deliberate scale are leftovers of arithmetic, drop them to
+        // keep the cost of following operations constant
+        BigDecimal canonical = value;
+
+        if (value.scale() > MAX_RETAINED_SCALE) {
+            BigDecimal stripped = value.stripTrailingZeros();
+            canonical = stripped.setScale(Math.max(stripped.scale(), MAX_RETAINED_SCALE));
+        }
+
+        // Only values of scale zero are shared, as the scale of the given value must be retained
+        if (canonical.scale() == 0 && canonical.signum() >= 0 &&
+            canonical.compareTo(SHARED_LIMIT_VALUE) <= 0 && SHARED_UNITS.contains(unit)) {
+            return shared(canonical.intValue(), unit);
+        }
+
+        return new DataSize(canonical, unit);
     }
 
     /**
@@ -276,6 +343,218 @@ public final class DataSize implements Comparable<DataSize>, Serializable {
         return of(value.subtract(BigDecimal.ONE).max(BigDecimal.ZERO), unit);
     }
 
+    /**
+     * Returns a new {@code DataSize} object whose value is this multiplied by the given factor.
+     *
+     * <p>
+     * The resulting object will be represented by the same unit as this object.
+     * </p>
+     *
+     * @param factor The factor
+     * @return A new {@code DataSize} object
+     * @throws IllegalArgumentException If the factor is negative
+     */
+    public DataSize multiply(long factor) {
+        if (factor < 0) {
+            throw new IllegalArgumentException("Factor must not be negative");
+        }
+
+        return of(value.multiply(BigDecimal.valueOf(factor)), unit);
+    }
+
+    /**
+     * Returns a new {@code DataSize} object whose value is this divided by the given divisor.
+     *
+     * <p>
+     * The resulting objects' value is rounded down to a whole amount of bytes and will be
+     * represented by the same unit as this object.
+     * </p>
+     *
+     * @param divisor The divisor
+     * @return A new {@code DataSize} object
+     * @throws IllegalArgumentException If the divisor is not positive
+     */
+    public DataSize divide(long divisor) {
+        if (divisor <= 0) {
+            throw new IllegalArgumentException("Divisor must be positive");
+        }
+
+        long bytes = getWholeBytes();
+
+        if (bytes >= 0) {
+            return ofBytes(bytes / divisor);
+        }
+
+        return ofBytes(getCanonicalBytes().divide(BigDecimal.valueOf(divisor), 0,
+            RoundingMode.DOWN));
+    }
+
+    /**
+     * Calculates how many whole times the given {@code DataSize} fits in this, such as the
+     * amount of full chunks of a file.
+     *
+     * @param divisor The given {@code DataSize} object
+     * @return The ratio, rounded down
+     * @throws IllegalArgumentException If the divisor is zero
+     * @throws ArithmeticException If the ratio doesn't fit in a {@code long}
+     */
+    public long divide(DataSize divisor) {
+        long bytes = getWholeBytes();
+        long divisorBytes = divisor.getWholeBytes();
+
+        if (divisor.getCanonicalBytes().signum() == 0) {
+            throw new IllegalArgumentException(ZERO_DIVISOR);
+        }
+
+        if (bytes >= 0 && divisorBytes > 0) {
+            return bytes / divisorBytes;
+        }
+
+        return getCanonicalBytes().divideToIntegralValue(divisor.getCanonicalBytes())
+                                  .longValueExact();
+    }
+
+    /**
+     * Calculates how many times the given {@code DataSize} fits in this, rounded up, such as the
+     * amount of chunks needed to hold a file.
+     *
+     * @param divisor The given {@code DataSize} object
+     * @return The ratio, rounded up
+     * @throws IllegalArgumentException If the divisor is zero
+     * @throws ArithmeticException If the ratio doesn't fit in a {@code long}
+     */
+    public long ceilDiv(DataSize divisor) {
+        long bytes = getWholeBytes();
+        long divisorBytes = divisor.getWholeBytes();
+
+        if (divisor.getCanonicalBytes().signum() == 0) {
+            throw new IllegalArgumentException(ZERO_DIVISOR);
+        }
+
+        if (bytes >= 0 && divisorBytes > 0) {
+            long result = bytes / divisorBytes;
+
+            if (bytes % divisorBytes != 0) {
+                result++;
+            }
+
+            return result;
+        }
+
+        return getCanonicalBytes().divide(divisor.getCanonicalBytes(), 0, RoundingMode.CEILING)
+                                  .longValueExact();
+    }
+
+    /**
+     * Returns a new {@code DataSize} object whose value is what remains of this after removing
+     * the given {@code DataSize} as many whole times as it fits.
+     *
+     * <p>
+     * The resulting object will be represented by the same unit as this object.
+     * </p>
+     *
+     * @param divisor The given {@code DataSize} object
+     * @return A new {@code DataSize} object
+     * @throws IllegalArgumentException If the divisor is zero
+     */
+    public DataSize remainder(DataSize divisor) {
+        long bytes = getWholeBytes();
+        long divisorBytes = divisor.getWholeBytes();
+
+        if (divisor.getCanonicalBytes().signum() == 0) {
+            throw new IllegalArgumentException(ZERO_DIVISOR);
+        }
+
+        if (bytes >= 0 && divisorBytes > 0) {
+            return ofBytes(bytes % divisorBytes);
+        }
+
+        return ofBytes(getCanonicalBytes().remainder(divisor.getCanonicalBytes()));
+    }
+
+    /**
+     * Returns a new {@code DataSize} object whose value is this rounded up to a multiple of the
+     * given alignment, such as the size of a page or a block. Returns this if already aligned.
+     *
+     * <p>
+     * The resulting object will be represented by the same unit as this object.
+     * </p>
+     *
+     * @param alignment The alignment
+     * @return A {@code DataSize} object
+     * @throws IllegalArgumentException If the alignment is zero
+     */
+    public DataSize alignUp(DataSize alignment) {
+        long bytes = getWholeBytes();
+        long alignmentBytes = alignment.getWholeBytes();
+
+        if (alignment.getCanonicalBytes().signum() == 0) {
+            throw new IllegalArgumentException("Alignment must not be zero");
+        }
+
+        if (bytes >= 0 && alignmentBytes > 0) {
+            long remainder = bytes % alignmentBytes;
+
+            if (remainder == 0) {
+                return this;
+            }
+
+            long result = bytes + (alignmentBytes - remainder);
+
+            // Otherwise overflowed, fall back to BigDecimal arithmetic
+            if (result > 0) {
+                return ofBytes(result);
+            }
+        }
+
+        BigDecimal remainder = getCanonicalBytes().remainder(alignment.getCanonicalBytes());
+
+        if (remainder.signum() == 0) {
+            return this;
+        }
+
+        return ofBytes(getCanonicalBytes().add(alignment.getCanonicalBytes()).subtract(remainder));
+    }
+
+    /**
+     * Returns a new {@code DataSize} object whose value is this rounded down to a multiple of the
+     * given alignment, such as the size of a page or a block. Returns this if already aligned.
+     *
+     * <p>
+     * The resulting object will be represented by the same unit as this object.
+     * </p>
+     *
+     * @param alignment The alignment
+     * @return A {@code DataSize} object
+     * @throws IllegalArgumentException If the alignment is zero
+     */
+    public DataSize alignDown(DataSize alignment) {
+        long bytes = getWholeBytes();
+        long alignmentBytes = alignment.getWholeBytes();
+
+        if (alignment.getCanonicalBytes().signum() == 0) {
+            throw new IllegalArgumentException("Alignment must not be zero");
+        }
+
+        if (bytes >= 0 && alignmentBytes > 0) {
+            long remainder = bytes % alignmentBytes;
+
+            if (remainder == 0) {
+                return this;
+            }
+
+            return ofBytes(bytes - remainder);
+        }
+
+        BigDecimal remainder = getCanonicalBytes().remainder(alignment.getCanonicalBytes());
+
+        if (remainder.signum() == 0) {
+            return this;
+        }
+
+        return ofBytes(getCanonicalBytes().subtract(remainder));
+    }
+
     /**
      * Returns a new {@code DataSize} object, containing the given {@code ByteUnit}, equal to this.
      *
@@ -301,9 +580,15 @@ public final class DataSize implements Comparable<DataSize>, Serializable {
      * @see SimpleNaturalDataSizeConverter
      */
     public DataSize toNaturalUnit() {
-        DataSizeConverter converter = new SimpleNaturalDataSizeConverter();
+        DataSize result = naturalUnit;
 
-        return converter.convert(this);
+        if (result == null) {
+            DataSizeConverter converter = new SimpleNaturalDataSizeConverter();
+            result = converter.convert(this);
+            naturalUnit = result;
+        }
+
+        return result;
     }
 
     /**
@@ -326,9 +611,11 @@ public final class DataSize implements Comparable<DataSize>, Serializable {
      */
     @Override
     public int compareTo(DataSize other) {
-        BigDecimal otherValue = other.toUnit(unit).value;
+        if (unit.equals(other.unit)) {
+            return value.compareTo(other.value);
+        }
 
-        return value.compareTo(otherValue);
+        return getCanonicalBytes().compareTo(other.getCanonicalBytes());
     }
 
     /**
@@ -361,9 +648,7 @@ public final class DataSize implements Comparable<DataSize>, Serializable {
 
     @Override
     public int hashCode() {
-        return toUnit(ByteUnit.BYTE).value
-            .stripTrailingZeros()
-            .hashCode();
+        return getCanonicalBytes().hashCode();
     }
 
     /**
@@ -378,9 +663,64 @@ public final class DataSize implements Comparable<DataSize>, Serializable {
      */
     @Override
     public String toString() {
-        DataSizeFormatter formatter = new SimpleDataSizeFormatter(Locale.US, 2);
+        String result = string;
+
+        if (result == null) {
+            DataSizeFormatter formatter = new SimpleDataSizeFormatter(Locale.US, 2);
+            result = formatter.format(this);
+            string = result;
+        }
+
+        return result;
+    }
+
+    private static DataSize shared(int value, DataUnit unit) {
+        AtomicReferenceArray<DataSize> instances = shared.get(unit);
+
+        if (instances == null) {
+            instances = shared.computeIfAbsent(
+                unit, key -> new AtomicReferenceArray<>(SHARED_LIMIT + 1));
+        }
+
+        DataSize instance = instances.get(value);
+
+        if (instance == null) {
+            // Make sure every thread ends up with the same instance
+            instances.compareAndSet(value, null, new DataSize(BigDecimal.valueOf(value), unit));
+            instance = instances.get(value);
+        }
+
+        return instance;
+    }
+
+    private BigDecimal getCanonicalBytes() {
+        BigDecimal result = canonicalBytes;
+
+        if (result == null) {
+            result = toUnit(ByteUnit.BYTE).value.stripTrailingZeros();
+            canonicalBytes = result;
+        }
+
+        return result;
+    }
+
+    // The value as a whole amount of bytes, or -1 if it isn't one or doesn't fit in a long
+    private long getWholeBytes() {
+        BigDecimal bytes = getCanonicalBytes();
+
+        if (bytes.scale() > 0 || bytes.compareTo(LONG_MAX_VALUE) > 0) {
+            return -1;
+        }
+
+        return bytes.longValue();
+    }
+
+    private DataSize ofBytes(long bytes) {
+        return of(bytes, ByteUnit.BYTE).toUnit(unit);
+    }
 
-        return formatter.format(this);
+    private DataSize ofBytes(BigDecimal bytes) {
+        return of(bytes, ByteUnit.BYTE).toUnit(unit);
     }
 
     private void readObject(ObjectInputStream input)
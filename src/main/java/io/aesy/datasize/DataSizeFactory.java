@@ -0,0 +1,228 @@
+package io.aesy.datasize;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.text.ParseException;
+
+/**
+ * A {@code DataSizeFactory} creates and converts {@code DataSize} objects in either exact or
+ * fixed-point mode.
+ *
+ * <p>
+ * In exact mode, which is what {@code DataSize#of} and {@code DataSize#toUnit} use, values keep
+ * every digit. Fractional values, such as single bits in IEC units, may then need many digits, and
+ * every following operation gets slower with them. In fixed-point mode, values are rounded to a
+ * bounded amount of fractional digits in their unit whenever created or converted through the
+ * factory, such that object size and the cost of arithmetic stay constant regardless of conversion
+ * history. Values that already fit are returned unchanged.
+ * </p>
+ *
+ * <p>
+ * A fixed scale of zero in {@code BitUnit.BIT} amounts to exact integer bits. Operations on the
+ * resulting {@code DataSize} objects themselves remain exact; convert through the factory to stay
+ * bounded. Instances are immutable and thread safe.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * DataSizeFactory factory = DataSizeFactory.fixedPoint(3);
+ * DataSize size = factory.of(1.23456, ByteUnit.IEC.MEBIBYTE);
+ * DataSize converted = factory.toUnit(size, BitUnit.SI.MEGABIT);
+ *
+ * assertEquals(size.getValue(), new BigDecimal("1.235"));
+ * }</pre>
+ * </blockquote>
+ */
+public final class DataSizeFactory {
+    /**
+     * A factory that keeps every digit, equivalent to using {@code DataSize} directly.
+     */
+    public static final DataSizeFactory EXACT = new DataSizeFactory(-1, RoundingMode.UNNECESSARY);
+
+    private final int scale;
+    private final RoundingMode roundingMode;
+
+    private DataSizeFactory(int scale, RoundingMode roundingMode) {
+        this.scale = scale;
+        this.roundingMode = roundingMode;
+    }
+
+    /**
+     * Creates a fixed-point factory that rounds values half up.
+     *
+     * @param scale The largest amount of fractional digits of values
+     * @return A new {@code DataSizeFactory}
+     * @throws IllegalArgumentException If the scale is negative
+     */
+    public static DataSizeFactory fixedPoint(int scale) {
+        return fixedPoint(scale, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Creates a fixed-point factory.
+     *
+     * @param scale The largest amount of fractional digits of values
+     * @param roundingMode The rounding mode of values with more fractional digits
+     * @return A new {@code DataSizeFactory}
+     * @throws IllegalArgumentException If the scale is negative, or if the rounding mode is
+     *     {@code RoundingMode.UNNECESSARY}
+     */
+    public static DataSizeFactory fixedPoint(int scale, RoundingMode roundingMode) {
+        if (scale < 0) {
+            throw new IllegalArgumentException("Scale must not be negative");
+        }
+
+        if (roundingMode == RoundingMode.UNNECESSARY) {
+            throw new IllegalArgumentException("Rounding mode must round");
+        }
+
+        return new DataSizeFactory(scale, roundingMode);
+    }
+
+    /**
+     * Creates a new {@code DataSize} object from a value and a unit.
+     *
+     * @param value The value
+     * @param unit The unit
+     * @return A new {@code DataSize} object
+     * @throws IllegalArgumentException If the value is less than zero
+     */
+    public DataSize of(long value, DataUnit unit) {
+        // Whole values always fit
+        return DataSize.of(value, unit);
+    }
+
+    /**
+     * Creates a new {@code DataSize} object from a value and a unit.
+     *
+     * @param value The value
+     * @param unit The unit
+     * @return A new {@code DataSize} object
+     * @throws IllegalArgumentException If the value is less than zero
+     */
+    public DataSize of(double value, DataUnit unit) {
+        return of(BigDecimal.valueOf(value), unit);
+    }
+
+    /**
+     * Creates a new {@code DataSize} object from a value and a unit.
+     *
+     * @param value The value
+     * @param unit The unit
+     * @return A new {@code DataSize} object
+     * @throws IllegalArgumentException If the value is less than zero
+     */
+    public DataSize of(BigInteger value, DataUnit unit) {
+        return DataSize.of(value, unit);
+    }
+
+    /**
+     * Creates a new {@code DataSize} object from a value and a unit.
+     *
+     * @param value The value
+     * @param unit The unit
+     * @return A new {@code DataSize} object
+     * @throws IllegalArgumentException If the value is less than zero
+     */
+    public DataSize of(BigDecimal value, DataUnit unit) {
+        return DataSize.of(bound(value), unit);
+    }
+
+    /**
+     * Parses an input string to produce a {@code DataSize} object, like {@code DataSize#parse}.
+     *
+     * @param input The input string to parse
+     * @return The produced {@code DataSize} object
+     * @throws ParseException If the input string could not be parsed
+     */
+    public DataSize parse(String input) throws ParseException {
+        return normalize(DataSize.parse(input));
+    }
+
+    /**
+     * Converts a {@code DataSize} object to another unit.
+     *
+     * @param dataSize The {@code DataSize} object to convert
+     * @param unit The unit to convert to
+     * @return The converted {@code DataSize} object
+     */
+    public DataSize toUnit(DataSize dataSize, DataUnit unit) {
+        return normalize(dataSize.toUnit(unit));
+    }
+
+    /**
+     * Rounds a {@code DataSize} object to the scale of this factory.
+     *
+     * @param dataSize The {@code DataSize} object to round
+     * @return The given object if it already fits, otherwise a new rounded {@code DataSize} object
+     */
+    public DataSize normalize(DataSize dataSize) {
+        BigDecimal value = dataSize.getValue();
+        BigDecimal bounded = bound(value);
+
+        if (bounded == value) {
+            return dataSize;
+        }
+
+        return DataSize.of(bounded, dataSize.getUnit());
+    }
+
+    /**
+     * Gets whether this factory keeps every digit.
+     *
+     * @return True if exact, false if fixed-point
+     */
+    public boolean isExact() {
+        return scale < 0;
+    }
+
+    /**
+     * Gets the largest amount of fractional digits of values, or -1 if exact.
+     *
+     * @return The scale
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Gets the rounding mode of values with more fractional digits than the scale.
+     *
+     * @return The rounding mode
+     */
+    public RoundingMode getRoundingMode() {
+        return roundingMode;
+    }
+
+    @Override
+    public String toString() {
+        if (isExact()) {
+            return "DataSizeFactory{exact}";
+        }
+
+        return "DataSizeFactory{scale=" + scale + ", roundingMode=" + roundingMode + '}';
+    }
+
+    private BigDecimal bound(BigDecimal value) {
+        if (scale < 0 || value.scale() <= scale) {
+            return value;
+        }
+
+        BigDecimal rounded = value.setScale(scale, roundingMode);
+
+        // Drop zeros left by rounding, but never below a scale of zero
+        if (rounded.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal stripped = rounded.stripTrailingZeros();
+
+        if (stripped.scale() < 0) {
+            return rounded.setScale(0, RoundingMode.UNNECESSARY);
+        }
+
+        return stripped;
+    }
+}
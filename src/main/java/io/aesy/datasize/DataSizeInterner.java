@@ -0,0 +1,187 @@
+package io.aesy.datasize;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@code DataSizeInterner} shares {@code DataSize} objects of equal value and unit.
+ *
+ * <p>
+ * It is useful when an application holds many {@code DataSize} objects of the same few values,
+ * such as configured buffer sizes, as it reduces memory usage and allows {@code DataSize#equals}
+ * to succeed on identity. Unlike {@code DataSize#equals}, objects are only considered the same if
+ * both their value, including its' scale, and their unit are equal.
+ * </p>
+ *
+ * <p>
+ * The interner is bounded. Once the maximum size is reached, an object that hasn't been used
+ * recently is evicted. Lookups of retained objects are lock-free, which keeps interning cheap on
+ * hot parsing paths. To that end recency is approximate: eviction picks the least recently used
+ * object of a sample of up to {@literal 16} objects rather than of all objects, and the size may
+ * briefly exceed the maximum while objects are interned concurrently. Instances are thread safe.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * DataSizeInterner interner = new DataSizeInterner(128);
+ * DataSize first = interner.intern(DataSize.of(64, ByteUnit.IEC.MEBIBYTE));
+ * DataSize second = interner.intern(DataSize.parse("64 MiB"));
+ *
+ * assertSame(first, second);
+ * }</pre>
+ * </blockquote>
+ */
+public class DataSizeInterner {
+    private static final int SAMPLE_SIZE = 16;
+
+    private final Map<Key, Entry> instances = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final int maximumSize;
+
+    /**
+     * Creates a {@code DataSizeInterner} with the desired maximum size.
+     *
+     * @param maximumSize The maximum amount of objects to retain
+     * @throws IllegalArgumentException If the maximum size is less than one
+     */
+    public DataSizeInterner(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must not be less than one");
+        }
+
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns a shared {@code DataSize} object with the same value and unit as the given object.
+     *
+     * <p>
+     * If no such object is retained, the given object is retained and returned.
+     * </p>
+     *
+     * @param dataSize The {@code DataSize} object to intern
+     * @return A shared {@code DataSize} object
+     * @throws IllegalArgumentException If the {@code DataSize} object is null
+     */
+    public DataSize intern(DataSize dataSize) {
+        Key key = new Key(dataSize.getValue(), dataSize.getUnit());
+        Entry entry = instances.get(key);
+
+        if (entry != null) {
+            entry.touch(clock.get() + 1);
+
+            return entry.dataSize;
+        }
+
+        // The clock only advances on insertion, such that lookups never contend on it
+        Entry created = new Entry(dataSize, clock.incrementAndGet());
+        Entry existing = instances.putIfAbsent(key, created);
+
+        if (existing != null) {
+            return existing.dataSize;
+        }
+
+        while (instances.size() > maximumSize) {
+            evict(created);
+        }
+
+        return dataSize;
+    }
+
+    /**
+     * Gets the amount of retained objects.
+     *
+     * @return The amount of retained objects
+     */
+    public int size() {
+        return instances.size();
+    }
+
+    /**
+     * Removes all retained objects.
+     */
+    public void clear() {
+        instances.clear();
+    }
+
+    private void evict(Entry created) {
+        Iterator<Map.Entry<Key, Entry>> iterator = instances.entrySet().iterator();
+        Map.Entry<Key, Entry> oldest = null;
+
+        for (int sampled = 0; sampled < SAMPLE_SIZE && iterator.hasNext(); sampled++) {
+            Map.Entry<Key, Entry> candidate = iterator.next();
+            Entry entry = candidate.getValue();
+
+            // Never evict the object being interned, it's the most recently used one
+            if (entry == created) {
+                continue;
+            }
+
+            if (oldest == null || entry.accessed < oldest.getValue().accessed) {
+                oldest = candidate;
+            }
+        }
+
+        if (oldest == null) {
+            // Only the object being interned remains, which can't be over the maximum
+            return;
+        }
+
+        instances.remove(oldest.getKey(), oldest.getValue());
+    }
+
+    private static final class Entry {
+        private final DataSize dataSize;
+        private volatile long accessed;
+
+        private Entry(DataSize dataSize, long accessed) {
+            this.dataSize = dataSize;
+            this.accessed = accessed;
+        }
+
+        private void touch(long time) {
+            // Skip redundant writes, which would otherwise bounce the cache line between readers
+            if (accessed < time) {
+                accessed = time;
+            }
+        }
+    }
+
+    private static final class Key {
+        private final BigDecimal value;
+        private final DataUnit unit;
+
+        private Key(BigDecimal value, DataUnit unit) {
+            this.value = value;
+            this.unit = unit;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            Key that = (Key) obj;
+
+            if (!value.equals(that.value)) {
+                return false;
+            }
+
+            return unit.equals(that.unit);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * value.hashCode() + unit.hashCode();
+        }
+    }
+}
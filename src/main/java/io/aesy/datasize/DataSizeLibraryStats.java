@@ -0,0 +1,302 @@
+package io.aesy.datasize;
+
+import io.aesy.datasize.internal.Instrumentation;
+import io.aesy.datasize.internal.NumberSymbols;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * A {@code DataSizeLibraryStats} object is a snapshot of the statistics of the hot paths of this
+ * library.
+ *
+ * <p>
+ * Calls, failures and time spent are counted per operation, along with hits and misses of the
+ * internal caches. Statistics are only collected if instrumentation is enabled by setting the
+ * system property {@literal "io.aesy.datasize.instrumentation"} to {@literal "true"} at startup.
+ * When disabled, the instrumentation has no overhead and all statistics remain zero, except those
+ * of the locale number symbols cache, which are always collected.
+ * </p>
+ *
+ * <p>
+ * Statistics may also be exposed through JMX using {@code DataSizeLibraryStats#registerMBean}.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * DataSizeLibraryStats stats = DataSizeLibraryStats.snapshot();
+ * Duration parsing = stats.getTime(DataSizeLibraryStats.Operation.LENIENT_PARSE);
+ * long parsed = stats.getCalls(DataSizeLibraryStats.Operation.LENIENT_PARSE);
+ * }</pre>
+ * </blockquote>
+ *
+ * @see Instrumentation
+ */
+public final class DataSizeLibraryStats {
+    /**
+     * The name under which the MXBean is registered.
+     */
+    public static final String OBJECT_NAME = "io.aesy.datasize:type=DataSizeLibraryStats";
+
+    private final long[] calls;
+    private final long[] failures;
+    private final long[] nanos;
+    private final long unitCacheHits;
+    private final long unitCacheMisses;
+    private final long localeCacheHits;
+    private final long localeCacheMisses;
+
+    private DataSizeLibraryStats() {
+        int operations = Operation.values().length;
+
+        this.calls = new long[operations];
+        this.failures = new long[operations];
+        this.nanos = new long[operations];
+
+        for (Operation operation : Operation.values()) {
+            calls[operation.ordinal()] = Instrumentation.getCalls(operation);
+            failures[operation.ordinal()] = Instrumentation.getFailures(operation);
+            nanos[operation.ordinal()] = Instrumentation.getNanos(operation);
+        }
+
+        this.unitCacheHits = Instrumentation.getUnitCacheHits();
+        this.unitCacheMisses = Instrumentation.getUnitCacheMisses();
+        this.localeCacheHits = NumberSymbols.getHitCount();
+        this.localeCacheMisses = NumberSymbols.getMissCount();
+    }
+
+    /**
+     * Takes a snapshot of the current statistics.
+     *
+     * @return A snapshot
+     */
+    public static DataSizeLibraryStats snapshot() {
+        return new DataSizeLibraryStats();
+    }
+
+    /**
+     * Gets whether instrumentation is enabled.
+     *
+     * @return True if enabled, false otherwise
+     */
+    public static boolean isEnabled() {
+        return Instrumentation.ENABLED;
+    }
+
+    /**
+     * Resets all statistics, except those of the locale number symbols cache.
+     */
+    public static void reset() {
+        Instrumentation.reset();
+    }
+
+    /**
+     * Registers an MXBean exposing the statistics with the platform MBean server, under the name
+     * {@value #OBJECT_NAME}. Does nothing if already registered.
+     *
+     * @throws IllegalStateException If the MXBean could not be registered
+     */
+    public static void registerMBean() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            server.registerMBean(new Bean(), new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException exception) {
+            // Already registered
+        } catch (JMException exception) {
+            throw new IllegalStateException("Failed to register MXBean", exception);
+        }
+    }
+
+    /**
+     * Gets the amount of calls to an operation.
+     *
+     * @param operation The operation
+     * @return The amount of calls
+     */
+    public long getCalls(Operation operation) {
+        return calls[operation.ordinal()];
+    }
+
+    /**
+     * Gets the amount of failed calls to an operation.
+     *
+     * @param operation The operation
+     * @return The amount of failed calls
+     */
+    public long getFailures(Operation operation) {
+        return failures[operation.ordinal()];
+    }
+
+    /**
+     * Gets the total time spent in an operation.
+     *
+     * @param operation The operation
+     * @return The total time spent
+     */
+    public Duration getTime(Operation operation) {
+        return Duration.ofNanos(nanos[operation.ordinal()]);
+    }
+
+    /**
+     * Gets the amount of hits in the unit conversion ratio cache.
+     *
+     * @return The amount of cache hits
+     */
+    public long getUnitCacheHits() {
+        return unitCacheHits;
+    }
+
+    /**
+     * Gets the amount of misses in the unit conversion ratio cache.
+     *
+     * @return The amount of cache misses
+     */
+    public long getUnitCacheMisses() {
+        return unitCacheMisses;
+    }
+
+    /**
+     * Gets the amount of hits in the locale number symbols cache.
+     *
+     * @return The amount of cache hits
+     */
+    public long getLocaleCacheHits() {
+        return localeCacheHits;
+    }
+
+    /**
+     * Gets the amount of misses in the locale number symbols cache.
+     *
+     * @return The amount of cache misses
+     */
+    public long getLocaleCacheMisses() {
+        return localeCacheMisses;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("DataSizeLibraryStats{");
+
+        for (Operation operation : Operation.values()) {
+            builder.append(operation)
+                   .append("={calls=").append(getCalls(operation))
+                   .append(", failures=").append(getFailures(operation))
+                   .append(", time=").append(getTime(operation))
+                   .append("}, ");
+        }
+
+        return builder.append("unitCacheHits=").append(unitCacheHits)
+                      .append(", unitCacheMisses=").append(unitCacheMisses)
+                      .append(", localeCacheHits=").append(localeCacheHits)
+                      .append(", localeCacheMisses=").append(localeCacheMisses)
+                      .append('}')
+                      .toString();
+    }
+
+    /**
+     * An instrumented operation of this library.
+     */
+    public enum Operation {
+        /**
+         * {@code LenientDataSizeParser#parse}.
+         */
+        LENIENT_PARSE,
+
+        /**
+         * {@code StrictDataSizeParser#parse}.
+         */
+        STRICT_PARSE,
+
+        /**
+         * {@code CachedDataSizeUnitConverter#convert}, used by {@code DataSize#toUnit}.
+         */
+        UNIT_CONVERSION,
+
+        /**
+         * {@code SimpleNaturalDataSizeConverter#convert} and
+         * {@code SmartNaturalDataSizeConverter#convert}.
+         */
+        NATURAL_CONVERSION,
+
+        /**
+         * {@code SimpleDataSizeFormatter#format}.
+         */
+        SIMPLE_FORMAT,
+
+        /**
+         * {@code SmartDataSizeFormatter#format}, including natural unit selection.
+         */
+        SMART_FORMAT,
+
+        /**
+         * {@code PatternDataSizeFormatter#format}.
+         */
+        PATTERN_FORMAT
+    }
+
+    private static final class Bean implements DataSizeLibraryStatsMXBean {
+        @Override
+        public boolean isEnabled() {
+            return DataSizeLibraryStats.isEnabled();
+        }
+
+        @Override
+        public Map<String, Long> getCalls() {
+            return byOperation(snapshot().calls);
+        }
+
+        @Override
+        public Map<String, Long> getFailures() {
+            return byOperation(snapshot().failures);
+        }
+
+        @Override
+        public Map<String, Long> getNanos() {
+            return byOperation(snapshot().nanos);
+        }
+
+        @Override
+        public long getUnitCacheHits() {
+            return Instrumentation.getUnitCacheHits();
+        }
+
+        @Override
+        public long getUnitCacheMisses() {
+            return Instrumentation.getUnitCacheMisses();
+        }
+
+        @Override
+        public long getLocaleCacheHits() {
+            return NumberSymbols.getHitCount();
+        }
+
+        @Override
+        public long getLocaleCacheMisses() {
+            return NumberSymbols.getMissCount();
+        }
+
+        @Override
+        public void reset() {
+            DataSizeLibraryStats.reset();
+        }
+
+        private static Map<String, Long> byOperation(long[] values) {
+            Map<String, Long> map = new LinkedHashMap<>();
+
+            for (Operation operation : Operation.values()) {
+                map.put(operation.name(), values[operation.ordinal()]);
+            }
+
+            return Collections.unmodifiableMap(map);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.aesy.datasize;
+
+import java.util.Map;
+
+/**
+ * The JMX management interface of {@code DataSizeLibraryStats}.
+ *
+ * <p>
+ * Statistics per operation are keyed by the name of the operation.
+ * </p>
+ *
+ * @see DataSizeLibraryStats#registerMBean()
+ */
+public interface DataSizeLibraryStatsMXBean {
+    /**
+     * Gets whether instrumentation is enabled.
+     *
+     * @return True if enabled, false otherwise
+     */
+    boolean isEnabled();
+
+    /**
+     * Gets the amount of calls per operation.
+     *
+     * @return The amount of calls per operation
+     */
+    Map<String, Long> getCalls();
+
+    /**
+     * Gets the amount of failed calls per operation.
+     *
+     * @return The amount of failed calls per operation
+     */
+    Map<String, Long> getFailures();
+
+    /**
+     * Gets the total time spent per operation, in nanoseconds.
+     *
+     * @return The total time spent per operation
+     */
+    Map<String, Long> getNanos();
+
+    /**
+     * Gets the amount of hits in the unit conversion ratio cache.
+     *
+     * @return The amount of cache hits
+     */
+    long getUnitCacheHits();
+
+    /**
+     * Gets the amount of misses in the unit conversion ratio cache.
+     *
+     * @return The amount of cache misses
+     */
+    long getUnitCacheMisses();
+
+    /**
+     * Gets the amount of hits in the locale number symbols cache.
+     *
+     * @return The amount of cache hits
+     */
+    long getLocaleCacheHits();
+
+    /**
+     * Gets the amount of misses in the locale number symbols cache.
+     *
+     * @return The amount of cache misses
+     */
+    long getLocaleCacheMisses();
+
+    /**
+     * Resets all statistics, except those of the locale number symbols cache.
+     */
+    void reset();
+}
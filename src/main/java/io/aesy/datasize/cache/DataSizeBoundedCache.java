@@ -0,0 +1,552 @@
+package io.aesy.datasize.cache;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@code DataSizeBoundedCache} is a cache bounded by the combined size of its' values rather
+ * than by the amount of entries.
+ *
+ * <p>
+ * The size of each value is measured in bytes by a weigher when it is put into the cache. Once the
+ * combined size exceeds the maximum, the least recently used entries are evicted. Values larger
+ * than the maximum size are never cached.
+ * </p>
+ *
+ * <p>
+ * The cache is split into independently locked stripes, selected by the hash of the key, such
+ * that writes of different keys rarely contend. Each stripe orders its' own entries by recency,
+ * while the combined size is tracked globally, hence the amount of stripes doesn't limit the size
+ * of the values that may be cached. Once the maximum size is exceeded, the stripes take turns
+ * evicting their least recently used entry, which approximates a single global order. The
+ * combined size may briefly exceed the maximum while concurrent writers evict.
+ * </p>
+ *
+ * <p>
+ * Lookups don't take any lock. They are recorded in a small buffer per stripe instead, which is
+ * replayed into the recency order by whichever thread acquires the lock of the stripe next. The
+ * buffer is lossy, such that lookups under heavy contention may not count towards recency. Hits,
+ * misses and evictions are counted in striped counters. Instances are thread safe.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * DataSizeBoundedCache<String, byte[]> cache =
+ *     new DataSizeBoundedCache<>(DataSize.parse("256 MiB"), bytes -> bytes.length);
+ *
+ * byte[] thumbnail = cache.get(path, this::renderThumbnail);
+ *
+ * log.info("Evicted {}", cache.getStats().getEvictedWeight());
+ * }</pre>
+ * </blockquote>
+ *
+ * @param <K> The type of keys
+ * @param <V> The type of values
+ */
+public class DataSizeBoundedCache<K, V> {
+    private static final int MAX_STRIPES = 1 << 16;
+
+    private final long maximumWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final Segment<K, V>[] segments;
+    private final int mask;
+    private final AtomicLong weight;
+    private final AtomicInteger evictionCursor;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final LongAdder evictedBytes;
+
+    /**
+     * Creates a {@code DataSizeBoundedCache} with four stripes per available processor. As the
+     * combined size is bounded globally, any value up to the maximum size may be cached.
+     *
+     * @param maximumWeight The largest combined size of the values, rounded down to a whole
+     *     amount of bytes
+     * @param weigher A function measuring the size of values in bytes
+     * @throws IllegalArgumentException If the maximum weight is negative
+     */
+    public DataSizeBoundedCache(DataSize maximumWeight, ToLongFunction<? super V> weigher) {
+        this(maximumWeight, weigher, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * Creates a {@code DataSizeBoundedCache}.
+     *
+     * @param maximumWeight The largest combined size of the values, rounded down to a whole
+     *     amount of bytes
+     * @param weigher A function measuring the size of values in bytes
+     * @param concurrencyLevel The expected amount of threads writing to the cache concurrently,
+     *     which is rounded up to a power of two to get the amount of stripes
+     * @throws IllegalArgumentException If the maximum weight is negative, or if the concurrency
+     *     level isn't positive
+     */
+    @SuppressWarnings("unchecked")
+    public DataSizeBoundedCache(DataSize maximumWeight, ToLongFunction<? super V> weigher,
+                                int concurrencyLevel) {
+        BigDecimal bytes = maximumWeight.toUnit(ByteUnit.BYTE).getValue();
+
+        if (bytes.signum() < 0) {
+            throw new IllegalArgumentException("Maximum weight must not be negative");
+        }
+
+        if (concurrencyLevel < 1) {
+            throw new IllegalArgumentException("Concurrency level must be positive");
+        }
+
+        this.maximumWeight = bytes.min(BigDecimal.valueOf(Long.MAX_VALUE))
+                                  .setScale(0, RoundingMode.DOWN)
+                                  .longValueExact();
+        this.weigher = weigher;
+
+        this.weight = new AtomicLong();
+        this.evictionCursor = new AtomicInteger();
+        this.evictions = new LongAdder();
+        this.evictedBytes = new LongAdder();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+
+        int stripes = 1;
+
+        while (stripes < concurrencyLevel && stripes < MAX_STRIPES) {
+            stripes <<= 1;
+        }
+
+        this.segments = new Segment[stripes];
+        this.mask = stripes - 1;
+
+        for (int index = 0; index < stripes; index++) {
+            segments[index] = new Segment<>(weight, evictions, evictedBytes);
+        }
+    }
+
+    /**
+     * Gets the value of a key, if cached.
+     *
+     * @param key The key
+     * @return The value, or empty if not cached
+     */
+    public Optional<V> get(K key) {
+        Entry<V> entry = segmentFor(key).get(key);
+
+        if (entry == Entry.ABSENT) {
+            misses.increment();
+
+            return Optional.empty();
+        }
+
+        hits.increment();
+
+        return Optional.of(entry.value);
+    }
+
+    /**
+     * Gets the value of a key, loading and caching it if not cached. The loader is called without
+     * holding any lock, hence concurrent calls for the same key may load the value more than
+     * once, in which case the last loaded value is cached.
+     *
+     * @param key The key
+     * @param loader A function loading the value of a key
+     * @return The value
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Segment<K, V> segment = segmentFor(key);
+        Entry<V> entry = segment.get(key);
+
+        if (entry != Entry.ABSENT) {
+            hits.increment();
+
+            return entry.value;
+        }
+
+        misses.increment();
+        V value = loader.apply(key);
+        putInto(segment, key, value);
+
+        return value;
+    }
+
+    /**
+     * Caches a value, replacing any previous value of the key. Values larger than the maximum
+     * size are not cached, but still remove any previous value.
+     *
+     * @param key The key
+     * @param value The value
+     * @throws IllegalArgumentException If the weigher returns a negative size
+     */
+    public void put(K key, V value) {
+        putInto(segmentFor(key), key, value);
+    }
+
+    /**
+     * Removes the value of a key, if cached.
+     *
+     * @param key The key
+     */
+    public void invalidate(K key) {
+        segmentFor(key).remove(key);
+    }
+
+    /**
+     * Removes all cached values.
+     */
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Gets the amount of cached entries.
+     *
+     * @return The amount of entries
+     */
+    public long size() {
+        long size = 0;
+
+        for (Segment<K, V> segment : segments) {
+            size += segment.size();
+        }
+
+        return size;
+    }
+
+    /**
+     * Gets the combined size of the cached values.
+     *
+     * @return The combined size
+     */
+    public DataSize getWeight() {
+        return DataSize.of(getWeightBytes(), ByteUnit.BYTE);
+    }
+
+    /**
+     * Gets the combined size of the cached values in bytes.
+     *
+     * @return The combined size in bytes
+     */
+    public long getWeightBytes() {
+        return weight.get();
+    }
+
+    /**
+     * Gets the largest combined size of the values.
+     *
+     * @return The maximum weight
+     */
+    public DataSize getMaximumWeight() {
+        return DataSize.of(maximumWeight, ByteUnit.BYTE);
+    }
+
+    /**
+     * Takes a snapshot of the statistics of this cache.
+     *
+     * @return A snapshot
+     */
+    public Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), evictedBytes.sum());
+    }
+
+    private void putInto(Segment<K, V> segment, K key, V value) {
+        long size = weigher.applyAsLong(value);
+
+        if (size < 0) {
+            throw new IllegalArgumentException("Weight must not be negative");
+        }
+
+        if (size > maximumWeight) {
+            // Never leave a stale value behind
+            segment.remove(key);
+
+            return;
+        }
+
+        segment.put(key, value, size);
+
+        // Give up after a whole round of stripes without anything to evict
+        int attempts = 0;
+
+        while (weight.get() > maximumWeight && attempts < segments.length) {
+            Segment<K, V> victim = segments[evictionCursor.getAndIncrement() & mask];
+
+            if (victim.evictEldest(key)) {
+                attempts = 0;
+            } else {
+                attempts++;
+            }
+        }
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        // Spread the higher bits, as stripes are selected by the lower bits only
+        hash ^= hash >>> 16;
+
+        return segments[hash & mask];
+    }
+
+    /**
+     * A snapshot of the statistics of a {@code DataSizeBoundedCache}.
+     */
+    public static final class Stats {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final long evictedBytes;
+
+        private Stats(long hitCount, long missCount, long evictionCount, long evictedBytes) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.evictedBytes = evictedBytes;
+        }
+
+        /**
+         * Gets the amount of lookups that found a cached value.
+         *
+         * @return The amount of hits
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * Gets the amount of lookups that found no cached value.
+         *
+         * @return The amount of misses
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * Gets the ratio of lookups that found a cached value, or 1 if there were no lookups.
+         *
+         * @return The hit rate, between 0 and 1
+         */
+        public double getHitRate() {
+            long lookups = hitCount + missCount;
+
+            if (lookups == 0) {
+                return 1;
+            }
+
+            return (double) hitCount / lookups;
+        }
+
+        /**
+         * Gets the amount of entries evicted to make room for others.
+         *
+         * @return The amount of evictions
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * Gets the combined size of the evicted values.
+         *
+         * @return The combined size
+         */
+        public DataSize getEvictedWeight() {
+            return DataSize.of(evictedBytes, ByteUnit.BYTE);
+        }
+
+        /**
+         * Gets the combined size of the evicted values in bytes.
+         *
+         * @return The combined size in bytes
+         */
+        public long getEvictedBytes() {
+            return evictedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", evictedWeight=" + getEvictedWeight() +
+                '}';
+        }
+    }
+
+    private static final class Entry<V> {
+        @SuppressWarnings("rawtypes")
+        private static final Entry ABSENT = new Entry();
+
+        private final V value;
+        private final long weight;
+
+        private Entry() {
+            this.value = null;
+            this.weight = 0;
+        }
+
+        private Entry(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Segment<K, V> {
+        private static final int READ_BUFFER_SIZE = 16;
+
+        private final AtomicLong totalWeight;
+        private final LongAdder evictions;
+        private final LongAdder evictedBytes;
+        private final ReentrantLock lock;
+        private final Map<K, Entry<V>> entries;
+        private final Map<K, Entry<V>> order;
+        private final AtomicReferenceArray<K> reads;
+        private final AtomicInteger readCount;
+        private long weight;
+
+        private Segment(AtomicLong totalWeight, LongAdder evictions, LongAdder evictedBytes) {
+            this.totalWeight = totalWeight;
+            this.evictions = evictions;
+            this.evictedBytes = evictedBytes;
+            this.lock = new ReentrantLock();
+            this.entries = new ConcurrentHashMap<>();
+            // Access ordered, such that iteration starts at the least recently used entry
+            this.order = new LinkedHashMap<>(16, 0.75f, true);
+            this.reads = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+            this.readCount = new AtomicInteger();
+        }
+
+        @SuppressWarnings("unchecked")
+        private Entry<V> get(K key) {
+            Entry<V> entry = entries.get(key);
+
+            if (entry == null) {
+                return Entry.ABSENT;
+            }
+
+            int count = readCount.getAndIncrement();
+            reads.lazySet(count & (READ_BUFFER_SIZE - 1), key);
+
+            // Replay once the buffer is full, unless a writer is about to do so anyway
+            if ((count & (READ_BUFFER_SIZE - 1)) == READ_BUFFER_SIZE - 1 && lock.tryLock()) {
+                try {
+                    drainReads();
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            return entry;
+        }
+
+        private void put(K key, V value, long size) {
+            Entry<V> entry = new Entry<>(value, size);
+
+            lock.lock();
+
+            try {
+                drainReads();
+                entries.put(key, entry);
+                Entry<V> previous = order.put(key, entry);
+                long delta = size;
+
+                if (previous != null) {
+                    delta -= previous.weight;
+                }
+
+                weight += delta;
+                totalWeight.addAndGet(delta);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Evicts the least recently used entry other than the given key, if any
+        private boolean evictEldest(K retained) {
+            lock.lock();
+
+            try {
+                drainReads();
+
+                for (Map.Entry<K, Entry<V>> eldest : order.entrySet()) {
+                    if (eldest.getKey().equals(retained)) {
+                        continue;
+                    }
+
+                    long size = eldest.getValue().weight;
+                    removeEntry(eldest.getKey());
+                    evictions.increment();
+                    evictedBytes.add(size);
+
+                    return true;
+                }
+
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void remove(K key) {
+            lock.lock();
+
+            try {
+                removeEntry(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void removeEntry(K key) {
+            entries.remove(key);
+            Entry<V> previous = order.remove(key);
+
+            if (previous != null) {
+                weight -= previous.weight;
+                totalWeight.addAndGet(-previous.weight);
+            }
+        }
+
+        private void clear() {
+            lock.lock();
+
+            try {
+                entries.clear();
+                order.clear();
+                totalWeight.addAndGet(-weight);
+                weight = 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int size() {
+            return entries.size();
+        }
+
+        // Moves the entries of buffered lookups to the end of the recency order
+        private void drainReads() {
+            for (int index = 0; index < READ_BUFFER_SIZE; index++) {
+                K key = reads.getAndSet(index, null);
+
+                if (key != null) {
+                    order.get(key);
+                }
+            }
+        }
+    }
+}
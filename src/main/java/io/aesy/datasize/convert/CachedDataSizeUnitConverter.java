@@ -1,12 +1,14 @@
 package io.aesy.datasize.convert;
 
 import io.aesy.datasize.DataSize;
+import io.aesy.datasize.DataSizeLibraryStats.Operation;
 import io.aesy.datasize.DataUnit;
+import io.aesy.datasize.internal.Instrumentation;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A {@code CachedDataSizeUnitConverter} converts {@code DataSize} objects to other units.
@@ -15,6 +17,14 @@ import java.util.Map;
  * It globally caches and reuses the ratio between unit conversions for faster conversions.
  * </p>
  *
+ * <p>
+ * Converted values are reduced to their minimal exact representation, without trailing zeros
+ * but never with a negative scale. Hence the scale of a value doesn't accumulate over chained
+ * conversions, such as bits to kibibytes to kilobytes to megabits, and the cost of following
+ * conversions, comparisons and formatting stays constant. Converting to the same unit returns
+ * the given object.
+ * </p>
+ *
  * <blockquote>
  * Example usage:
  * <pre>{@code
@@ -26,7 +36,7 @@ import java.util.Map;
  * </blockquote>
  */
 public class CachedDataSizeUnitConverter implements DataSizeConverter {
-    private static final Map<Conversion, BigDecimal> cache = new HashMap<>();
+    private static final Map<Conversion, BigDecimal> cache = new ConcurrentHashMap<>();
 
     private final DataUnit toUnit;
 
@@ -48,29 +58,73 @@ public class CachedDataSizeUnitConverter implements DataSizeConverter {
      */
     @Override
     public DataSize convert(DataSize dataSize) {
+        if (!Instrumentation.ENABLED) {
+            return convertValue(dataSize);
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+
+        try {
+            DataSize result = convertValue(dataSize);
+            failed = false;
+
+            return result;
+        } finally {
+            Instrumentation.record(Operation.UNIT_CONVERSION, start, failed);
+        }
+    }
+
+    private DataSize convertValue(DataSize dataSize) {
         BigDecimal value = dataSize.getValue();
         DataUnit fromUnit = dataSize.getUnit();
 
-        BigDecimal newValue = getRatio(fromUnit, toUnit).multiply(value);
+        if (fromUnit.equals(toUnit)) {
+            return dataSize;
+        }
+
+        BigDecimal newValue = normalize(getRatio(fromUnit, toUnit).multiply(value));
 
         return DataSize.of(newValue, toUnit);
     }
 
-    private BigDecimal getRatio(DataUnit first, DataUnit second) {
+    /* package-private */ static BigDecimal getRatio(DataUnit first, DataUnit second) {
         Conversion conversion = new Conversion(first, second);
+        BigDecimal ratio = cache.get(conversion);
 
-        if (cache.containsKey(conversion)) {
-            return cache.get(conversion);
+        if (Instrumentation.ENABLED) {
+            if (ratio == null) {
+                Instrumentation.unitCacheMiss();
+            } else {
+                Instrumentation.unitCacheHit();
+            }
         }
 
-        BigDecimal ratio = first.bytes()
-                                .divide(second.bytes(), MathContext.UNLIMITED);
+        if (ratio == null) {
+            ratio = first.bytes()
+                         .divide(second.bytes(), MathContext.UNLIMITED);
 
-        cache.put(conversion, ratio);
+            cache.put(conversion, ratio);
+        }
 
         return ratio;
     }
 
+    /* package-private */ static BigDecimal normalize(BigDecimal value) {
+        if (value.scale() <= 0) {
+            return value;
+        }
+
+        BigDecimal stripped = value.stripTrailingZeros();
+
+        // Keep whole values at scale zero rather than in exponent form, such as 1E+3
+        if (stripped.scale() < 0) {
+            return stripped.setScale(0);
+        }
+
+        return stripped;
+    }
+
     private static final class Conversion {
         private final DataUnit from;
         private final DataUnit to;
@@ -0,0 +1,360 @@
+package io.aesy.datasize.convert;
+
+import io.aesy.datasize.DataUnit;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.stream.IntStream;
+
+/**
+ * {@code DataSizeConversions} converts arrays of values from one unit to another in bulk.
+ *
+ * <p>
+ * Converting columns of values through {@code DataSize#toUnit} creates objects and looks up the
+ * ratio of the units for every element. These methods look up the ratio once, reduce it to the
+ * cheapest exact operation, such as a shift for ratios of a power of two, and apply it in simple
+ * counted loops that the JIT compiler is able to vectorize. Values are converted to either
+ * doubles, exact {@code BigDecimal} objects, or fixed-point longs of a given decimal scale.
+ * </p>
+ *
+ * <p>
+ * Values are validated by the same loops that convert them, rather than by a separate pass over
+ * the source array. Hence the destination may be partially written if an exception is thrown.
+ * </p>
+ *
+ * <p>
+ * The {@code parallelConvert} methods split arrays of more than {@literal 65536} elements into
+ * ranges converted in the common fork join pool. Smaller arrays are converted by the calling
+ * thread, as the overhead would outweigh the gain.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * long[] bytes = {1024, 1536, 1048576};
+ * double[] kibibytes = new double[bytes.length];
+ *
+ * DataSizeConversions.convert(bytes, ByteUnit.BYTE, ByteUnit.IEC.KIBIBYTE, kibibytes);
+ *
+ * assertEquals(kibibytes[1], 1.5);
+ * }</pre>
+ * </blockquote>
+ */
+public final class DataSizeConversions {
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final BigInteger LONG_MAX_VALUE = BigInteger.valueOf(Long.MAX_VALUE);
+    private static final BigInteger DOUBLE_EXACT_LIMIT = BigInteger.ONE.shiftLeft(53);
+
+    private DataSizeConversions() {}
+
+    /**
+     * Converts values to doubles of another unit. Results are correctly rounded if either the
+     * ratio of the units or its' reciprocal is a whole number, such as between bytes and any
+     * byte unit.
+     *
+     * @param src The values to convert
+     * @param from The unit of the values
+     * @param to The unit to convert to
+     * @param dst The array to store the converted values in, at the same indices
+     * @throws IllegalArgumentException If any value is less than zero, or if the destination is
+     *     shorter than the source
+     */
+    public static void convert(long[] src, DataUnit from, DataUnit to, double[] dst) {
+        run(doubleKernel(src, from, to, dst), src.length, false);
+    }
+
+    /**
+     * Converts values to exact {@code BigDecimal} objects of another unit, equal to the values of
+     * {@code DataSize.of(value, from).toUnit(to)}.
+     *
+     * @param src The values to convert
+     * @param from The unit of the values
+     * @param to The unit to convert to
+     * @param dst The array to store the converted values in, at the same indices
+     * @throws IllegalArgumentException If any value is less than zero, or if the destination is
+     *     shorter than the source
+     */
+    public static void convert(long[] src, DataUnit from, DataUnit to, BigDecimal[] dst) {
+        run(decimalKernel(src, from, to, dst), src.length, false);
+    }
+
+    /**
+     * Converts values to fixed-point longs of another unit, in units of {@code 10^-scale}.
+     * Results are rounded down. A scale of two converts {@literal 1536} bytes to {@literal 150}
+     * hundredths of a kibibyte, for instance.
+     *
+     * @param src The values to convert
+     * @param from The unit of the values
+     * @param to The unit to convert to
+     * @param scale The amount of fractional decimal digits of the converted values
+     * @param dst The array to store the converted values in, at the same indices
+     * @throws IllegalArgumentException If any value or the scale is less than zero, or if the
+     *     destination is shorter than the source
+     * @throws ArithmeticException If a converted value doesn't fit in a long
+     */
+    public static void convert(long[] src, DataUnit from, DataUnit to, int scale, long[] dst) {
+        run(scaledKernel(src, from, to, scale, dst), src.length, false);
+    }
+
+    /**
+     * Converts values to doubles of another unit, in parallel for large arrays.
+     *
+     * @param src The values to convert
+     * @param from The unit of the values
+     * @param to The unit to convert to
+     * @param dst The array to store the converted values in, at the same indices
+     * @throws IllegalArgumentException If any value is less than zero, or if the destination is
+     *     shorter than the source
+     * @see #convert(long[], DataUnit, DataUnit, double[])
+     */
+    public static void parallelConvert(long[] src, DataUnit from, DataUnit to, double[] dst) {
+        run(doubleKernel(src, from, to, dst), src.length, true);
+    }
+
+    /**
+     * Converts values to exact {@code BigDecimal} objects of another unit, in parallel for large
+     * arrays.
+     *
+     * @param src The values to convert
+     * @param from The unit of the values
+     * @param to The unit to convert to
+     * @param dst The array to store the converted values in, at the same indices
+     * @throws IllegalArgumentException If any value is less than zero, or if the destination is
+     *     shorter than the source
+     * @see #convert(long[], DataUnit, DataUnit, BigDecimal[])
+     */
+    public static void parallelConvert(long[] src, DataUnit from, DataUnit to, BigDecimal[] dst) {
+        run(decimalKernel(src, from, to, dst), src.length, true);
+    }
+
+    /**
+     * Converts values to fixed-point longs of another unit, in parallel for large arrays.
+     *
+     * @param src The values to convert
+     * @param from The unit of the values
+     * @param to The unit to convert to
+     * @param scale The amount of fractional decimal digits of the converted values
+     * @param dst The array to store the converted values in, at the same indices
+     * @throws IllegalArgumentException If any value or the scale is less than zero, or if the
+     *     destination is shorter than the source
+     * @throws ArithmeticException If a converted value doesn't fit in a long
+     * @see #convert(long[], DataUnit, DataUnit, int, long[])
+     */
+    public static void parallelConvert(long[] src, DataUnit from, DataUnit to, int scale,
+                                       long[] dst) {
+        run(scaledKernel(src, from, to, scale, dst), src.length, true);
+    }
+
+    private static Kernel doubleKernel(long[] src, DataUnit from, DataUnit to, double[] dst) {
+        checkLength(src, dst.length);
+
+        BigDecimal ratio = CachedDataSizeUnitConverter.getRatio(from, to);
+        BigInteger reciprocal = reciprocal(ratio);
+
+        // Multiplying or dividing by a whole number rounds once, multiplying by a fraction twice
+        if (!reciprocal.equals(BigInteger.ZERO) && reciprocal.compareTo(DOUBLE_EXACT_LIMIT) <= 0) {
+            double divisor = reciprocal.doubleValue();
+
+            return (start, end) -> {
+                long bits = 0;
+
+                for (int index = start; index < end; index++) {
+                    long value = src[index];
+                    bits |= value;
+                    dst[index] = value / divisor;
+                }
+
+                checkNonNegative(bits);
+            };
+        }
+
+        double factor = ratio.doubleValue();
+
+        return (start, end) -> {
+            long bits = 0;
+
+            for (int index = start; index < end; index++) {
+                long value = src[index];
+                bits |= value;
+                dst[index] = value * factor;
+            }
+
+            checkNonNegative(bits);
+        };
+    }
+
+    private static Kernel decimalKernel(long[] src, DataUnit from, DataUnit to,
+                                        BigDecimal[] dst) {
+        checkLength(src, dst.length);
+
+        BigDecimal ratio = CachedDataSizeUnitConverter.getRatio(from, to);
+
+        return (start, end) -> {
+            for (int index = start; index < end; index++) {
+                checkNonNegative(src[index]);
+                BigDecimal value = BigDecimal.valueOf(src[index]).multiply(ratio);
+                dst[index] = CachedDataSizeUnitConverter.normalize(value);
+            }
+        };
+    }
+
+    private static Kernel scaledKernel(long[] src, DataUnit from, DataUnit to, int scale,
+                                       long[] dst) {
+        if (scale < 0) {
+            throw new IllegalArgumentException("Scale must not be negative");
+        }
+
+        checkLength(src, dst.length);
+
+        // Reduce the factor to a fraction of whole numbers in lowest terms
+        BigDecimal factor = CachedDataSizeUnitConverter.getRatio(from, to)
+                                                       .scaleByPowerOfTen(scale);
+        BigInteger numerator = factor.unscaledValue();
+        BigInteger denominator = BigInteger.ONE;
+
+        if (factor.scale() < 0) {
+            numerator = numerator.multiply(BigInteger.TEN.pow(-factor.scale()));
+        } else {
+            denominator = BigInteger.TEN.pow(factor.scale());
+        }
+
+        BigInteger divisor = numerator.gcd(denominator);
+        BigInteger multiplier = numerator.divide(divisor);
+        BigInteger quotient = denominator.divide(divisor);
+        Kernel exact = (start, end) -> {
+            for (int index = start; index < end; index++) {
+                dst[index] = BigInteger.valueOf(src[index])
+                                       .multiply(multiplier)
+                                       .divide(quotient)
+                                       .longValue();
+            }
+        };
+
+        if (multiplier.compareTo(LONG_MAX_VALUE) > 0 || quotient.compareTo(LONG_MAX_VALUE) > 0) {
+            return (start, end) -> {
+                checkScaled(src, start, end, multiplier, quotient);
+                exact.apply(start, end);
+            };
+        }
+
+        Kernel fixedPoint =
+            fixedPointKernel(src, multiplier.longValue(), quotient.longValue(), dst);
+
+        // Ranges are checked on their own, such that parallel conversions check in parallel too
+        return (start, end) -> {
+            if (checkScaled(src, start, end, multiplier, quotient)) {
+                fixedPoint.apply(start, end);
+            } else {
+                exact.apply(start, end);
+            }
+        };
+    }
+
+    // Validates a range of values, and returns whether no intermediate product overflows a long
+    private static boolean checkScaled(long[] src, int start, int end, BigInteger multiplier,
+                                       BigInteger quotient) {
+        long bits = 0;
+        long max = 0;
+
+        for (int index = start; index < end; index++) {
+            long value = src[index];
+            bits |= value;
+            max = Math.max(max, value);
+        }
+
+        checkNonNegative(bits);
+
+        BigInteger largest = BigInteger.valueOf(max).multiply(multiplier);
+
+        if (largest.divide(quotient).compareTo(LONG_MAX_VALUE) > 0) {
+            throw new ArithmeticException("Converted value doesn't fit in a long");
+        }
+
+        return largest.compareTo(LONG_MAX_VALUE) <= 0;
+    }
+
+    // Picks the cheapest loop for a factor that's known to not overflow any value
+    private static Kernel fixedPointKernel(long[] src, long multiplier, long quotient,
+                                           long[] dst) {
+        boolean isShiftLeft = quotient == 1 && Long.bitCount(multiplier) == 1;
+        boolean isShiftRight = Long.bitCount(quotient) == 1;
+
+        if (isShiftLeft) {
+            int shift = Long.numberOfTrailingZeros(multiplier);
+
+            return (start, end) -> {
+                for (int index = start; index < end; index++) {
+                    dst[index] = src[index] << shift;
+                }
+            };
+        }
+
+        if (isShiftRight) {
+            int shift = Long.numberOfTrailingZeros(quotient);
+
+            return (start, end) -> {
+                for (int index = start; index < end; index++) {
+                    dst[index] = src[index] * multiplier >>> shift;
+                }
+            };
+        }
+
+        return (start, end) -> {
+            for (int index = start; index < end; index++) {
+                dst[index] = src[index] * multiplier / quotient;
+            }
+        };
+    }
+
+    // The reciprocal of the ratio if it's a whole number, otherwise zero
+    private static BigInteger reciprocal(BigDecimal ratio) {
+        if (ratio.signum() <= 0 || ratio.compareTo(BigDecimal.ONE) > 0) {
+            return BigInteger.ZERO;
+        }
+
+        BigDecimal stripped = ratio.stripTrailingZeros();
+        BigInteger power = BigInteger.TEN.pow(Math.max(stripped.scale(), 0));
+        BigInteger[] result = power.divideAndRemainder(stripped.unscaledValue());
+
+        if (result[1].signum() != 0) {
+            return BigInteger.ZERO;
+        }
+
+        return result[0];
+    }
+
+    private static void checkLength(long[] src, int length) {
+        if (length < src.length) {
+            throw new IllegalArgumentException("Destination must be at least as long as source");
+        }
+    }
+
+    // Takes either a value or the bitwise or of values, which is negative if any value is
+    private static void checkNonNegative(long bits) {
+        if (bits < 0) {
+            throw new IllegalArgumentException("Values must not be less than zero");
+        }
+    }
+
+    private static void run(Kernel kernel, int length, boolean parallel) {
+        if (!parallel || length <= PARALLEL_THRESHOLD) {
+            kernel.apply(0, length);
+
+            return;
+        }
+
+        int ranges = (length - 1) / PARALLEL_THRESHOLD + 1;
+
+        IntStream.range(0, ranges)
+                 .parallel()
+                 .forEach(range -> {
+                     int start = range * PARALLEL_THRESHOLD;
+                     kernel.apply(start, start + Math.min(length - start, PARALLEL_THRESHOLD));
+                 });
+    }
+
+    @FunctionalInterface
+    private interface Kernel {
+        void apply(int start, int end);
+    }
+}
@@ -3,7 +3,9 @@ package io.aesy.datasize.convert;
 import io.aesy.datasize.BitUnit;
 import io.aesy.datasize.ByteUnit;
 import io.aesy.datasize.DataSize;
+import io.aesy.datasize.DataSizeLibraryStats.Operation;
 import io.aesy.datasize.DataUnit;
+import io.aesy.datasize.internal.Instrumentation;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -64,6 +66,24 @@ public class SmartNaturalDataSizeConverter implements DataSizeConverter {
      */
     @Override
     public DataSize convert(DataSize dataSize) {
+        if (!Instrumentation.ENABLED) {
+            return convertValue(dataSize);
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+
+        try {
+            DataSize result = convertValue(dataSize);
+            failed = false;
+
+            return result;
+        } finally {
+            Instrumentation.record(Operation.NATURAL_CONVERSION, start, failed);
+        }
+    }
+
+    private DataSize convertValue(DataSize dataSize) {
         DataUnit originalUnit = dataSize.getUnit();
 
         if (!ALL_KNOWN_UNITS.contains(originalUnit)) {
@@ -2,6 +2,8 @@ package io.aesy.datasize.format;
 
 import io.aesy.datasize.DataSize;
 
+import java.util.Locale;
+
 /**
  * A {@code DataSizeFormatter} formats {@code DataSize} objects.
  */
@@ -15,4 +17,32 @@ public interface DataSizeFormatter {
      * @throws IllegalArgumentException If the given {@code DataSize} object is null
      */
     String format(DataSize dataSize);
+
+    /**
+     * Creates a {@code DataSizeFormatter} from a pattern, such as {@literal "#,##0.00 {abbr}"},
+     * using {@code Locale.getDefault(Locale.Category.FORMAT)}.
+     *
+     * @param pattern The pattern to use
+     * @return A new {@code DataSizeFormatter}
+     * @throws IllegalArgumentException If the pattern is null or invalid
+     * @see PatternDataSizeFormatter
+     */
+    static DataSizeFormatter ofPattern(String pattern) {
+        return new PatternDataSizeFormatter(pattern);
+    }
+
+    /**
+     * Creates a {@code DataSizeFormatter} from a pattern, such as {@literal "#,##0.00 {abbr}"},
+     * using the desired locale.
+     *
+     * @param pattern The pattern to use
+     * @param locale The locale to use
+     * @return A new {@code DataSizeFormatter}
+     * @throws IllegalArgumentException If the pattern or locale is null, or if the pattern is
+     *     invalid
+     * @see PatternDataSizeFormatter
+     */
+    static DataSizeFormatter ofPattern(String pattern, Locale locale) {
+        return new PatternDataSizeFormatter(pattern, locale);
+    }
 }
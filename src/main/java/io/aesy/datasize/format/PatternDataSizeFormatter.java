@@ -0,0 +1,492 @@
+package io.aesy.datasize.format;
+
+import io.aesy.datasize.DataSize;
+import io.aesy.datasize.DataSizeLibraryStats.Operation;
+import io.aesy.datasize.DataUnit;
+import io.aesy.datasize.internal.Instrumentation;
+import io.aesy.datasize.internal.NumberSymbols;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A {@code PatternDataSizeFormatter} formats {@code DataSize} objects according to a pattern.
+ *
+ * <p>
+ * The pattern is compiled once upon construction into an immutable sequence of rendering steps,
+ * so that formatting does not have to interpret the pattern again. Instances are thread safe.
+ * The unit of the formatted object is never converted.
+ * </p>
+ *
+ * <p>
+ * The following pattern elements are supported:
+ * </p>
+ * <ul>
+ *   <li>{@literal #,##0.00} - The value. Similar to {@code DecimalFormat}, {@literal 0} denotes a
+ *   required digit, {@literal #} an optional digit, {@literal ,} a grouping separator and
+ *   {@literal .} the decimal separator. The amount of {@literal 0} and {@literal #} characters
+ *   after the decimal separator determines the minimum and maximum amount of fraction digits.
+ *   The value is rounded using a {@code RoundingMode.HALF_UP} rounding mode.</li>
+ *   <li>{@literal *x} - Placed right before the value, pads the value with the character
+ *   {@literal x} to the length of the value pattern.</li>
+ *   <li>{@literal {abbr}} - The unit abbreviation.</li>
+ *   <li>{@literal {name}} - The unit name, in plural unless the value, as rounded by the value
+ *   element of the pattern, is exactly one.</li>
+ *   <li>{@literal {abbr:n}} and {@literal {name:n}} - As above, padded with trailing spaces to a
+ *   length of at least {@literal n}.</li>
+ *   <li>{@literal 'text'} - Quoted literal text. Two single quotes produce a single quote.</li>
+ * </ul>
+ *
+ * <p>
+ * Any other character is output as is. If no locale is provided,
+ * {@code Locale.getDefault(Locale.Category.FORMAT)} is used to determine the symbols of the value.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * DataSize dataSize = DataSize.of(1234.5, ByteUnit.IEC.KIBIBYTE);
+ * String formatted = new PatternDataSizeFormatter("#,##0.00 {name}", Locale.US).format(dataSize);
+ *
+ * assertEquals(formatted, "1,234.50 kibibytes");
+ * }</pre>
+ * </blockquote>
+ *
+ * @see DataSizeFormatter#ofPattern
+ * @see RoundingMode#HALF_UP
+ */
+public class PatternDataSizeFormatter implements DataSizeFormatter {
+    private final String pattern;
+    private final List<Element> elements;
+
+    /**
+     * Creates a {@code PatternDataSizeFormatter} with the desired pattern and
+     * {@code Locale.getDefault(Locale.Category.FORMAT)}.
+     *
+     * @param pattern The pattern to use
+     * @throws IllegalArgumentException If the pattern is null or invalid
+     */
+    public PatternDataSizeFormatter(String pattern) {
+        this(pattern, Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    /**
+     * Creates a {@code PatternDataSizeFormatter} with the desired pattern and locale.
+     *
+     * @param pattern The pattern to use
+     * @param locale The locale to use
+     * @throws IllegalArgumentException If the pattern or locale is null, or if the pattern is
+     *     invalid
+     */
+    public PatternDataSizeFormatter(String pattern, Locale locale) {
+        this.pattern = pattern;
+        this.elements = compile(pattern, NumberSymbols.of(locale));
+    }
+
+    /**
+     * Formats a {@code DataSize} object to produce a string based on the set pattern and locale.
+     *
+     * @param dataSize The DataSize to format
+     * @return The formatted {@code DataSize} string
+     * @throws IllegalArgumentException If the dataSize object is null
+     */
+    @Override
+    public String format(DataSize dataSize) {
+        if (!Instrumentation.ENABLED) {
+            return formatValue(dataSize);
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+
+        try {
+            String result = formatValue(dataSize);
+            failed = false;
+
+            return result;
+        } finally {
+            Instrumentation.record(Operation.PATTERN_FORMAT, start, failed);
+        }
+    }
+
+    private String formatValue(DataSize dataSize) {
+        StringBuilder builder = new StringBuilder(pattern.length() + 16);
+
+        for (Element element : elements) {
+            element.render(dataSize, builder);
+        }
+
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    private static List<Element> compile(String pattern, NumberSymbols symbols) {
+        List<Element> elements = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        boolean hasValue = false;
+        int valueScale = -1;
+        int index = 0;
+
+        while (index < pattern.length()) {
+            char character = pattern.charAt(index);
+
+            if (character == '\'') {
+                index = compileQuote(pattern, index, literal);
+                continue;
+            }
+
+            if (character == '{') {
+                int end = pattern.indexOf('}', index);
+
+                if (end < 0) {
+                    throw invalid(pattern, "unterminated placeholder", index);
+                }
+
+                flush(literal, elements);
+                elements.add(compileUnit(pattern, index, end));
+                index = end + 1;
+                continue;
+            }
+
+            if (character == '*' || character == '#' || character == '0') {
+                if (hasValue) {
+                    throw invalid(pattern, "multiple values", index);
+                }
+
+                char padding = 0;
+
+                if (character == '*') {
+                    if (index + 1 >= pattern.length()) {
+                        throw invalid(pattern, "missing padding character", index);
+                    }
+
+                    padding = pattern.charAt(index + 1);
+                    index += 2;
+                }
+
+                int end = index;
+
+                while (end < pattern.length() && isValueCharacter(pattern.charAt(end))) {
+                    end++;
+                }
+
+                if (end == index) {
+                    throw invalid(pattern, "missing value after padding", index);
+                }
+
+                flush(literal, elements);
+                ValueElement value = compileValue(pattern, index, end, padding, symbols);
+                elements.add(value);
+                valueScale = value.maximumFractionDigits;
+                hasValue = true;
+                index = end;
+                continue;
+            }
+
+            literal.append(character);
+            index++;
+        }
+
+        flush(literal, elements);
+
+        // Units may precede the value, so they learn how the value is rounded only at the end
+        for (int position = 0; position < elements.size(); position++) {
+            Element element = elements.get(position);
+
+            if (element instanceof UnitElement) {
+                elements.set(position, ((UnitElement) element).withScale(valueScale));
+            }
+        }
+
+        return Collections.unmodifiableList(elements);
+    }
+
+    // Appends quoted text starting at the given quote, and returns the index after its' end
+    private static int compileQuote(String pattern, int start, StringBuilder literal) {
+        if (start + 1 < pattern.length() && pattern.charAt(start + 1) == '\'') {
+            literal.append('\'');
+
+            return start + 2;
+        }
+
+        int index = start + 1;
+
+        while (true) {
+            int end = pattern.indexOf('\'', index);
+
+            if (end < 0) {
+                throw invalid(pattern, "unterminated quote", start);
+            }
+
+            literal.append(pattern, index, end);
+
+            // Two single quotes within quoted text produce a single quote as well
+            if (end + 1 < pattern.length() && pattern.charAt(end + 1) == '\'') {
+                literal.append('\'');
+                index = end + 2;
+            } else {
+                return end + 1;
+            }
+        }
+    }
+
+    private static boolean isValueCharacter(char character) {
+        return character == '#' || character == '0' || character == ',' || character == '.';
+    }
+
+    private static void flush(StringBuilder literal, List<Element> elements) {
+        if (literal.length() == 0) {
+            return;
+        }
+
+        String text = literal.toString();
+        elements.add((dataSize, builder) -> builder.append(text));
+        literal.setLength(0);
+    }
+
+    private static Element compileUnit(String pattern, int start, int end) {
+        String placeholder = pattern.substring(start + 1, end);
+        int colon = placeholder.indexOf(':');
+        String name = placeholder;
+        int width = 0;
+
+        if (colon >= 0) {
+            name = placeholder.substring(0, colon);
+
+            try {
+                width = Integer.parseInt(placeholder.substring(colon + 1));
+            } catch (NumberFormatException exception) {
+                throw invalid(pattern, "invalid width", start);
+            }
+        }
+
+        switch (name) {
+            case "abbr":
+                return new UnitElement(false, width, -1);
+            case "name":
+                return new UnitElement(true, width, -1);
+            default:
+                throw invalid(pattern, "unknown placeholder", start);
+        }
+    }
+
+    private static ValueElement compileValue(String pattern, int start, int end, char padding,
+                                        NumberSymbols symbols) {
+        int minimumIntegerDigits = 0;
+        int minimumFractionDigits = 0;
+        int maximumFractionDigits = 0;
+        int groupingSize = 0;
+        boolean hasGrouping = false;
+        boolean isFraction = false;
+
+        for (int index = start; index < end; index++) {
+            char character = pattern.charAt(index);
+
+            if (character == '.') {
+                if (isFraction) {
+                    throw invalid(pattern, "multiple decimal separators", index);
+                }
+
+                isFraction = true;
+            } else if (character == ',') {
+                if (isFraction) {
+                    throw invalid(pattern, "grouping separator in fraction", index);
+                }
+
+                hasGrouping = true;
+                groupingSize = 0;
+            } else if (isFraction) {
+                if (character == '0' && maximumFractionDigits > minimumFractionDigits) {
+                    throw invalid(pattern, "required digit after optional digit", index);
+                }
+
+                if (character == '0') {
+                    minimumFractionDigits++;
+                }
+
+                maximumFractionDigits++;
+            } else {
+                if (character == '#' && minimumIntegerDigits > 0) {
+                    throw invalid(pattern, "optional digit after required digit", index);
+                }
+
+                if (character == '0') {
+                    minimumIntegerDigits++;
+                }
+
+                groupingSize++;
+            }
+        }
+
+        if (hasGrouping && groupingSize == 0) {
+            throw invalid(pattern, "empty grouping", end);
+        }
+
+        if (!hasGrouping) {
+            groupingSize = 0;
+        }
+
+        // Like DecimalFormat, at least one integer digit is always shown
+        minimumIntegerDigits = Math.max(1, minimumIntegerDigits);
+
+        int width = 0;
+
+        if (padding != 0) {
+            width = end - start;
+        }
+
+        return new ValueElement(minimumIntegerDigits, minimumFractionDigits, maximumFractionDigits,
+                                groupingSize, padding, width, symbols);
+    }
+
+    private static IllegalArgumentException invalid(String pattern, String reason, int index) {
+        return new IllegalArgumentException(
+            String.format("Invalid pattern \"%s\": %s at index %d", pattern, reason, index));
+    }
+
+    @FunctionalInterface
+    private interface Element {
+        void render(DataSize dataSize, StringBuilder builder);
+    }
+
+    private static final class UnitElement implements Element {
+        private final boolean isName;
+        private final int width;
+        private final int scale;
+
+        private UnitElement(boolean isName, int width, int scale) {
+            this.isName = isName;
+            this.width = width;
+            this.scale = scale;
+        }
+
+        private UnitElement withScale(int scale) {
+            return new UnitElement(isName, width, scale);
+        }
+
+        @Override
+        public void render(DataSize dataSize, StringBuilder builder) {
+            int start = builder.length();
+            DataUnit unit = dataSize.getUnit();
+
+            if (isName) {
+                builder.append(unit.getName());
+
+                if (!isOne(dataSize.getValue())) {
+                    builder.append('s');
+                }
+            } else {
+                builder.append(unit.getAbbreviation());
+            }
+
+            for (int length = builder.length() - start; length < width; length++) {
+                builder.append(' ');
+            }
+        }
+
+        // Whether the value reads as one, as rendered by the value element if there is one
+        private boolean isOne(BigDecimal value) {
+            if (scale < 0) {
+                return value.compareTo(BigDecimal.ONE) == 0;
+            }
+
+            return value.setScale(scale, RoundingMode.HALF_UP).compareTo(BigDecimal.ONE) == 0;
+        }
+    }
+
+    private static final class ValueElement implements Element {
+        private final int minimumIntegerDigits;
+        private final int minimumFractionDigits;
+        private final int maximumFractionDigits;
+        private final int groupingSize;
+        private final char padding;
+        private final int width;
+        private final char zeroDigit;
+        private final char decimalSeparator;
+        private final char groupingSeparator;
+
+        private ValueElement(int minimumIntegerDigits, int minimumFractionDigits,
+                             int maximumFractionDigits, int groupingSize, char padding, int width,
+                             NumberSymbols symbols) {
+            this.minimumIntegerDigits = minimumIntegerDigits;
+            this.minimumFractionDigits = minimumFractionDigits;
+            this.maximumFractionDigits = maximumFractionDigits;
+            this.groupingSize = groupingSize;
+            this.padding = padding;
+            this.width = width;
+            this.zeroDigit = symbols.getZeroDigit();
+            this.decimalSeparator = symbols.getDecimalSeparator();
+            this.groupingSeparator = symbols.getGroupingSeparator();
+        }
+
+        @Override
+        public void render(DataSize dataSize, StringBuilder builder) {
+            BigDecimal rounded = dataSize.getValue()
+                                         .setScale(maximumFractionDigits, RoundingMode.HALF_UP);
+            String digits = rounded.unscaledValue().toString();
+            int fractionDigits = maximumFractionDigits;
+            int end = digits.length();
+
+            while (fractionDigits > minimumFractionDigits &&
+                   digitAt(digits, end - 1) == zeroDigit) {
+                // Optional trailing zeroes are omitted
+                fractionDigits--;
+                end--;
+            }
+
+            int integerDigits = Math.max(0, digits.length() - maximumFractionDigits);
+            int shownIntegerDigits = Math.max(integerDigits, minimumIntegerDigits);
+
+            int start = builder.length();
+
+            for (int position = shownIntegerDigits; position > 0; position--) {
+                int index = integerDigits - position;
+                builder.append(digitAt(digits, index));
+
+                if (groupingSize > 0 && position > 1 && (position - 1) % groupingSize == 0) {
+                    builder.append(groupingSeparator);
+                }
+            }
+
+            if (fractionDigits > 0) {
+                builder.append(decimalSeparator);
+
+                for (int position = 0; position < fractionDigits; position++) {
+                    int index = digits.length() - maximumFractionDigits + position;
+                    builder.append(digitAt(digits, index));
+                }
+            }
+
+            int missing = width - (builder.length() - start);
+
+            if (missing > 0) {
+                builder.insert(start, padding(missing));
+            }
+        }
+
+        private char digitAt(String digits, int index) {
+            if (index < 0) {
+                // Digits to the left of the unscaled value are implicit zeroes
+                return zeroDigit;
+            }
+
+            return (char) (zeroDigit + (digits.charAt(index) - '0'));
+        }
+
+        private char[] padding(int count) {
+            char[] characters = new char[count];
+            Arrays.fill(characters, padding);
+
+            return characters;
+        }
+    }
+}
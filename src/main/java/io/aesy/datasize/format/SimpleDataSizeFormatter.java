@@ -1,6 +1,9 @@
 package io.aesy.datasize.format;
 
 import io.aesy.datasize.DataSize;
+import io.aesy.datasize.DataSizeLibraryStats.Operation;
+import io.aesy.datasize.internal.Instrumentation;
+import io.aesy.datasize.internal.NumberSymbols;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -98,24 +101,72 @@ public class SimpleDataSizeFormatter implements DataSizeFormatter {
      */
     @Override
     public String format(DataSize dataSize) {
-        BigDecimal value = dataSize.getValue();
-        int scale = value.stripTrailingZeros().scale();
+        if (!Instrumentation.ENABLED) {
+            return formatValue(dataSize);
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+
+        try {
+            String result = formatValue(dataSize);
+            failed = false;
+
+            return result;
+        } finally {
+            Instrumentation.record(Operation.SIMPLE_FORMAT, start, failed);
+        }
+    }
 
-        NumberFormat formatter = NumberFormat.getNumberInstance(locale);
-        formatter.setRoundingMode(RoundingMode.HALF_UP);
+    private String formatValue(DataSize dataSize) {
+        StringBuilder builder = new StringBuilder();
+        formatTo(dataSize, createNumberFormat(), builder);
+
+        return builder.toString();
+    }
+
+    /**
+     * Creates a {@code NumberFormat} configured with the set locale and precision.
+     *
+     * <p>
+     * The returned instance is not thread safe, but may be reused for any number of sequential
+     * calls to {@code SimpleDataSizeFormatter#formatTo}.
+     * </p>
+     *
+     * @return A new {@code NumberFormat} instance
+     */
+    /* package-private */ NumberFormat createNumberFormat() {
+        int maximumFractionDigits = precision;
 
         if (precision < 0) {
             // We want to show ALL decimal digits but we are limited to 2147483647 as
             // there is no way to tell the NumberFormat instance to disable all rounding.
-            formatter.setMaximumFractionDigits(Integer.MAX_VALUE);
-        } else {
-            formatter.setMinimumFractionDigits(Math.max(0, Math.min(precision, scale)));
-            formatter.setMaximumFractionDigits(precision);
+            maximumFractionDigits = Integer.MAX_VALUE;
         }
 
-        String formattedValue = formatter.format(value);
-        String unitAbbreviation = dataSize.getUnit().getAbbreviation();
+        return NumberSymbols.of(locale, RoundingMode.HALF_UP, true, maximumFractionDigits)
+                            .newNumberFormat();
+    }
+
+    /**
+     * Formats a {@code DataSize} object using a {@code NumberFormat} previously created by
+     * {@code SimpleDataSizeFormatter#createNumberFormat} and appends the result to a builder.
+     *
+     * @param dataSize The DataSize to format
+     * @param formatter The number format to use
+     * @param builder The builder to append to
+     */
+    /* package-private */ void formatTo(DataSize dataSize, NumberFormat formatter,
+                                        StringBuilder builder) {
+        BigDecimal value = dataSize.getValue();
+
+        if (precision >= 0) {
+            int scale = value.stripTrailingZeros().scale();
+            formatter.setMinimumFractionDigits(Math.max(0, Math.min(precision, scale)));
+        }
 
-        return String.format("%s %s", formattedValue, unitAbbreviation);
+        builder.append(formatter.format(value))
+               .append(' ')
+               .append(dataSize.getUnit().getAbbreviation());
     }
 }
@@ -1,11 +1,24 @@
 package io.aesy.datasize.format;
 
+import io.aesy.datasize.ByteUnit;
 import io.aesy.datasize.DataSize;
+import io.aesy.datasize.DataSizeLibraryStats.Operation;
 import io.aesy.datasize.convert.DataSizeConverter;
 import io.aesy.datasize.convert.SmartNaturalDataSizeConverter;
+import io.aesy.datasize.internal.Instrumentation;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.math.RoundingMode;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
 
 /**
  * A {@code SmartDataSizeFormatter} formats {@code DataSize} objects.
@@ -39,15 +52,25 @@ import java.util.Locale;
  * }</pre>
  * </blockquote>
  *
+ * <p>
+ * Large amounts of values may be formatted in bulk using {@code SmartDataSizeFormatter#formatAll},
+ * which reuses the number rendering state between values and may optionally split the work across
+ * a {@code ForkJoinPool}. The output order always matches the input order. Sequential output is
+ * appended in pieces of bounded size as it's produced, while parallel output is buffered per chunk.
+ * </p>
+ *
  * @see SimpleDataSizeFormatter
  * @see SmartNaturalDataSizeConverter
  * @see RoundingMode#HALF_UP
  */
 public class SmartDataSizeFormatter implements DataSizeFormatter {
     private static final int DEFAULT_PRECISION = 2;
-    private static final DataSizeConverter humanReadableConverter = new SmartNaturalDataSizeConverter();
+    private static final int MIN_CHUNK_SIZE = 1024;
+    private static final int BUFFER_SIZE = 8192;
+    private static final DataSizeConverter humanReadableConverter =
+        new SmartNaturalDataSizeConverter();
 
-    private final DataSizeFormatter formatter;
+    private final SimpleDataSizeFormatter formatter;
 
     /**
      * Creates a {@code SmartDataSizeFormatter} with
@@ -107,6 +130,189 @@ public class SmartDataSizeFormatter implements DataSizeFormatter {
      */
     @Override
     public String format(DataSize dataSize) {
+        if (!Instrumentation.ENABLED) {
+            return formatValue(dataSize);
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+
+        try {
+            String result = formatValue(dataSize);
+            failed = false;
+
+            return result;
+        } finally {
+            Instrumentation.record(Operation.SMART_FORMAT, start, failed);
+        }
+    }
+
+    private String formatValue(DataSize dataSize) {
         return formatter.format(humanReadableConverter.convert(dataSize));
     }
+
+    /**
+     * Formats a number of byte counts and appends them, separated by the given separator, to the
+     * given output.
+     *
+     * <p>
+     * The values are formatted exactly as if each one had been passed to
+     * {@code SmartDataSizeFormatter#format} as a {@code ByteUnit.BYTE} object, but the number
+     * rendering state is shared between all values.
+     * </p>
+     *
+     * @param bytes The byte counts to format
+     * @param out The output to append to
+     * @param separator The separator to put between each formatted value
+     * @throws IOException If appending to the output fails
+     * @throws IllegalArgumentException If any byte count is less than zero
+     */
+    public void formatAll(long[] bytes, Appendable out, CharSequence separator)
+        throws IOException {
+        render(index -> DataSize.of(bytes[index], ByteUnit.BYTE), separator, 0, bytes.length, out);
+    }
+
+    /**
+     * Formats a number of {@code DataSize} objects and appends them, separated by the given
+     * separator, to the given output.
+     *
+     * <p>
+     * The values are formatted exactly as if each one had been passed to
+     * {@code SmartDataSizeFormatter#format}, but the number rendering state is shared between all
+     * values.
+     * </p>
+     *
+     * @param sizes The {@code DataSize} objects to format
+     * @param out The output to append to
+     * @param separator The separator to put between each formatted value
+     * @throws IOException If appending to the output fails
+     */
+    public void formatAll(DataSize[] sizes, Appendable out, CharSequence separator)
+        throws IOException {
+        render(index -> sizes[index], separator, 0, sizes.length, out);
+    }
+
+    /**
+     * Formats a number of byte counts in parallel and appends them, separated by the given
+     * separator, to the given output.
+     *
+     * <p>
+     * The work is split into chunks that are formatted by the given pool. The output is identical
+     * to that of {@code SmartDataSizeFormatter#formatAll(long[], Appendable, CharSequence)}.
+     * </p>
+     *
+     * @param bytes The byte counts to format
+     * @param out The output to append to
+     * @param separator The separator to put between each formatted value
+     * @param pool The pool to perform the formatting in
+     * @throws IOException If appending to the output fails or the calling thread is interrupted
+     * @throws IllegalArgumentException If any byte count is less than zero
+     */
+    public void formatAll(long[] bytes, Appendable out, CharSequence separator, ForkJoinPool pool)
+        throws IOException {
+        renderParallel(bytes.length, index -> DataSize.of(bytes[index], ByteUnit.BYTE),
+                       out, separator, pool);
+    }
+
+    /**
+     * Formats a number of {@code DataSize} objects in parallel and appends them, separated by the
+     * given separator, to the given output.
+     *
+     * <p>
+     * The work is split into chunks that are formatted by the given pool. The output is identical
+     * to that of {@code SmartDataSizeFormatter#formatAll(DataSize[], Appendable, CharSequence)}.
+     * </p>
+     *
+     * @param sizes The {@code DataSize} objects to format
+     * @param out The output to append to
+     * @param separator The separator to put between each formatted value
+     * @param pool The pool to perform the formatting in
+     * @throws IOException If appending to the output fails or the calling thread is interrupted
+     */
+    public void formatAll(DataSize[] sizes, Appendable out, CharSequence separator,
+                          ForkJoinPool pool)
+        throws IOException {
+        renderParallel(sizes.length, index -> sizes[index], out, separator, pool);
+    }
+
+    private void renderParallel(int length, IntFunction<DataSize> source, Appendable out,
+                                CharSequence separator, ForkJoinPool pool)
+        throws IOException {
+        int chunks = Math.max(1, Math.min(pool.getParallelism() * 4, length / MIN_CHUNK_SIZE));
+
+        if (chunks == 1) {
+            render(source, separator, 0, length, out);
+
+            return;
+        }
+
+        List<Callable<StringBuilder>> tasks = new ArrayList<>(chunks);
+
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int start = (int) ((long) length * chunk / chunks);
+            int end = (int) ((long) length * (chunk + 1) / chunks);
+
+            tasks.add(() -> {
+                StringBuilder builder = new StringBuilder((end - start) * 12);
+                render(source, separator, start, end, builder);
+
+                return builder;
+            });
+        }
+
+        try {
+            // Futures are returned in the same order as the tasks, which keeps output deterministic
+            for (Future<StringBuilder> future : pool.invokeAll(tasks)) {
+                out.append(future.get());
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted while formatting");
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    // Renders through a bounded buffer, such that the output is streamed rather than copied
+    private void render(IntFunction<DataSize> source, CharSequence separator, int start, int end,
+                        Appendable out)
+        throws IOException {
+        NumberFormat numberFormat = formatter.createNumberFormat();
+        StringBuilder buffer = new StringBuilder(BUFFER_SIZE + 64);
+        StringBuilder rendered = new StringBuilder();
+        DataSize previous = null;
+
+        for (int index = start; index < end; index++) {
+            if (index > 0) {
+                buffer.append(separator);
+            }
+
+            DataSize dataSize = source.apply(index);
+
+            // Tables commonly repeat values, so reuse the previously rendered text
+            if (previous == null || !previous.getUnit().equals(dataSize.getUnit()) ||
+                !previous.getValue().equals(dataSize.getValue())) {
+                previous = dataSize;
+                rendered.setLength(0);
+                formatter.formatTo(humanReadableConverter.convert(dataSize), numberFormat,
+                                   rendered);
+            }
+
+            buffer.append(rendered);
+
+            if (buffer.length() >= BUFFER_SIZE) {
+                out.append(buffer);
+                buffer.setLength(0);
+            }
+        }
+
+        out.append(buffer);
+    }
 }
@@ -0,0 +1,137 @@
+package io.aesy.datasize.internal;
+
+import io.aesy.datasize.DataSizeLibraryStats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code Instrumentation} records statistics of the hot paths of this library.
+ *
+ * <p>
+ * Instrumentation is disabled unless the system property
+ * {@literal "io.aesy.datasize.instrumentation"} is set to {@literal "true"} when this class is
+ * loaded. The flag is a constant, so when disabled the JIT compiler removes the instrumentation
+ * entirely. This class is used internally by the library and is not part of its' public API;
+ * statistics are read through {@code DataSizeLibraryStats}.
+ * </p>
+ *
+ * @see DataSizeLibraryStats
+ */
+public final class Instrumentation {
+    /**
+     * Whether instrumentation is enabled.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("io.aesy.datasize.instrumentation");
+
+    private static final LongAdder[] calls = adders();
+    private static final LongAdder[] failures = adders();
+    private static final LongAdder[] nanos = adders();
+    private static final LongAdder unitCacheHits = new LongAdder();
+    private static final LongAdder unitCacheMisses = new LongAdder();
+
+    private Instrumentation() {}
+
+    /**
+     * Records a call to an operation.
+     *
+     * @param operation The operation that was called
+     * @param start The value of {@code System.nanoTime} when the call started
+     * @param failed Whether the call failed by throwing an exception
+     */
+    public static void record(DataSizeLibraryStats.Operation operation, long start,
+                              boolean failed) {
+        int index = operation.ordinal();
+        nanos[index].add(System.nanoTime() - start);
+        calls[index].increment();
+
+        if (failed) {
+            failures[index].increment();
+        }
+    }
+
+    /**
+     * Records a hit in the unit conversion ratio cache.
+     */
+    public static void unitCacheHit() {
+        unitCacheHits.increment();
+    }
+
+    /**
+     * Records a miss in the unit conversion ratio cache.
+     */
+    public static void unitCacheMiss() {
+        unitCacheMisses.increment();
+    }
+
+    /**
+     * Gets the amount of calls to an operation.
+     *
+     * @param operation The operation
+     * @return The amount of calls
+     */
+    public static long getCalls(DataSizeLibraryStats.Operation operation) {
+        return calls[operation.ordinal()].sum();
+    }
+
+    /**
+     * Gets the amount of failed calls to an operation.
+     *
+     * @param operation The operation
+     * @return The amount of failed calls
+     */
+    public static long getFailures(DataSizeLibraryStats.Operation operation) {
+        return failures[operation.ordinal()].sum();
+    }
+
+    /**
+     * Gets the total time spent in an operation.
+     *
+     * @param operation The operation
+     * @return The time in nanoseconds
+     */
+    public static long getNanos(DataSizeLibraryStats.Operation operation) {
+        return nanos[operation.ordinal()].sum();
+    }
+
+    /**
+     * Gets the amount of hits in the unit conversion ratio cache.
+     *
+     * @return The amount of cache hits
+     */
+    public static long getUnitCacheHits() {
+        return unitCacheHits.sum();
+    }
+
+    /**
+     * Gets the amount of misses in the unit conversion ratio cache.
+     *
+     * @return The amount of cache misses
+     */
+    public static long getUnitCacheMisses() {
+        return unitCacheMisses.sum();
+    }
+
+    /**
+     * Resets all statistics.
+     */
+    public static void reset() {
+        for (int index = 0; index < calls.length; index++) {
+            calls[index].reset();
+            failures[index].reset();
+            nanos[index].reset();
+        }
+
+        unitCacheHits.reset();
+        unitCacheMisses.reset();
+    }
+
+    private static LongAdder[] adders() {
+        LongAdder[] adders = new LongAdder[DataSizeLibraryStats.Operation.values().length];
+
+        for (int index = 0; index < adders.length; index++) {
+            adders[index] = new LongAdder();
+        }
+
+        return adders;
+    }
+}
@@ -0,0 +1,308 @@
+package io.aesy.datasize.internal;
+
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@code NumberSymbols} object holds the number rendering metadata of a locale, along with a
+ * prototype {@code NumberFormat} configured for a particular use.
+ *
+ * <p>
+ * Resolving locale data through {@code NumberFormat.getNumberInstance} is comparatively
+ * expensive, so instances are globally cached per locale and number format settings, and shared
+ * by all formatters and parsers of this library. The settings are part of the key, hence the
+ * number formats handed out are ready to use without being reconfigured. The cache is bounded to
+ * {@value #MAXIMUM_SIZE} entries, beyond which an arbitrary entry is evicted upon every insertion.
+ * Instances are immutable and thread safe.
+ * </p>
+ *
+ * <p>
+ * This class is used internally by the library and is not part of its' public API.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * NumberSymbols symbols = NumberSymbols.of(Locale.GERMANY);
+ *
+ * assertEquals(symbols.getDecimalSeparator(), ',');
+ * assertEquals(symbols.getGroupingSeparator(), '.');
+ * }</pre>
+ * </blockquote>
+ */
+public final class NumberSymbols {
+    /**
+     * The maximum amount of entries to cache.
+     */
+    public static final int MAXIMUM_SIZE = 512;
+
+    private static final Map<Key, NumberSymbols> cache = new ConcurrentHashMap<>();
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    private final Locale locale;
+    private final NumberFormat prototype;
+    private final char decimalSeparator;
+    private final char groupingSeparator;
+    private final char zeroDigit;
+    private final char minusSign;
+    private final int groupingSize;
+
+    private NumberSymbols(Key key) {
+        NumberFormat format = NumberFormat.getNumberInstance(key.locale);
+        DecimalFormatSymbols symbols;
+        int grouping;
+
+        if (format instanceof DecimalFormat) {
+            DecimalFormat decimalFormat = (DecimalFormat) format;
+            decimalFormat.setParseBigDecimal(key.isParseBigDecimal);
+            symbols = decimalFormat.getDecimalFormatSymbols();
+            grouping = decimalFormat.getGroupingSize();
+        } else {
+            // Only possible with custom locale service providers
+            symbols = DecimalFormatSymbols.getInstance(key.locale);
+            grouping = 3;
+        }
+
+        if (key.maximumFractionDigits >= 0) {
+            format.setRoundingMode(key.roundingMode);
+            format.setGroupingUsed(key.isGroupingUsed);
+            format.setMaximumFractionDigits(key.maximumFractionDigits);
+        }
+
+        this.locale = key.locale;
+        this.prototype = format;
+        this.decimalSeparator = symbols.getDecimalSeparator();
+        this.groupingSeparator = symbols.getGroupingSeparator();
+        this.zeroDigit = symbols.getZeroDigit();
+        this.minusSign = symbols.getMinusSign();
+        this.groupingSize = grouping;
+    }
+
+    /**
+     * Gets the number symbols of a locale, with a number format of the default settings of the
+     * locale, resolving them if not already cached.
+     *
+     * @param locale The locale
+     * @return The number symbols of the locale
+     * @throws IllegalArgumentException If the locale is null
+     */
+    public static NumberSymbols of(Locale locale) {
+        return lookup(new Key(locale, RoundingMode.HALF_EVEN, true, -1, false));
+    }
+
+    /**
+     * Gets the number symbols of a locale, with a number format of the given settings, resolving
+     * them if not already cached.
+     *
+     * @param locale The locale
+     * @param roundingMode The rounding mode of the number format
+     * @param isGroupingUsed Whether the number format uses grouping separators
+     * @param maximumFractionDigits The maximum amount of fraction digits of the number format
+     * @return The number symbols of the locale
+     * @throws IllegalArgumentException If the locale or rounding mode is null, or if the maximum
+     *     amount of fraction digits is negative
+     */
+    public static NumberSymbols of(Locale locale, RoundingMode roundingMode,
+                                   boolean isGroupingUsed, int maximumFractionDigits) {
+        if (maximumFractionDigits < 0) {
+            throw new IllegalArgumentException("Maximum fraction digits must not be negative");
+        }
+
+        return lookup(new Key(locale, roundingMode, isGroupingUsed, maximumFractionDigits, false));
+    }
+
+    /**
+     * Gets the number symbols of a locale, with a number format that parses numbers as
+     * {@code BigDecimal} objects, resolving them if not already cached.
+     *
+     * @param locale The locale
+     * @return The number symbols of the locale
+     * @throws IllegalArgumentException If the locale is null
+     */
+    public static NumberSymbols forParsing(Locale locale) {
+        return lookup(new Key(locale, RoundingMode.HALF_EVEN, true, -1, true));
+    }
+
+    /**
+     * Resolves and caches the number symbols of the given locales, such that later calls to
+     * {@code NumberSymbols#of(Locale)} for these locales are cache hits.
+     *
+     * @param locales The locales to resolve
+     * @throws IllegalArgumentException If any of the locales is null
+     */
+    public static void prewarm(Locale... locales) {
+        for (Locale locale : locales) {
+            of(locale);
+        }
+    }
+
+    /**
+     * Gets the amount of lookups that were served from the cache.
+     *
+     * @return The amount of cache hits
+     */
+    public static long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the amount of lookups that had to resolve the locale data.
+     *
+     * @return The amount of cache misses
+     */
+    public static long getMissCount() {
+        return misses.sum();
+    }
+
+    private static NumberSymbols lookup(Key key) {
+        NumberSymbols symbols = cache.get(key);
+
+        if (symbols != null) {
+            hits.increment();
+
+            return symbols;
+        }
+
+        misses.increment();
+        symbols = new NumberSymbols(key);
+
+        // Evict on insert, such that the cache stays bounded without ever refusing new entries
+        Iterator<Key> iterator = cache.keySet().iterator();
+
+        while (cache.size() >= MAXIMUM_SIZE && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        NumberSymbols existing = cache.putIfAbsent(key, symbols);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        return symbols;
+    }
+
+    /**
+     * Creates a new {@code NumberFormat} for the locale and settings of this object.
+     *
+     * <p>
+     * The returned instance is a copy of a cached instance and may be freely configured.
+     * </p>
+     *
+     * @return A new {@code NumberFormat} instance
+     */
+    public NumberFormat newNumberFormat() {
+        return (NumberFormat) prototype.clone();
+    }
+
+    /**
+     * Gets the locale of this object.
+     *
+     * @return The locale
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * Gets the character used as decimal separator.
+     *
+     * @return The decimal separator
+     */
+    public char getDecimalSeparator() {
+        return decimalSeparator;
+    }
+
+    /**
+     * Gets the character used as grouping separator.
+     *
+     * @return The grouping separator
+     */
+    public char getGroupingSeparator() {
+        return groupingSeparator;
+    }
+
+    /**
+     * Gets the character used for zero. The other digits follow it in consecutive order.
+     *
+     * @return The zero digit
+     */
+    public char getZeroDigit() {
+        return zeroDigit;
+    }
+
+    /**
+     * Gets the character used as minus sign.
+     *
+     * @return The minus sign
+     */
+    public char getMinusSign() {
+        return minusSign;
+    }
+
+    /**
+     * Gets the amount of integer digits between grouping separators.
+     *
+     * @return The grouping size
+     */
+    public int getGroupingSize() {
+        return groupingSize;
+    }
+
+    @Override
+    public String toString() {
+        return locale.toString();
+    }
+
+    private static final class Key {
+        private final Locale locale;
+        private final RoundingMode roundingMode;
+        private final boolean isGroupingUsed;
+        private final int maximumFractionDigits;
+        private final boolean isParseBigDecimal;
+
+        // A negative maximum of fraction digits denotes the default settings of the locale
+        private Key(Locale locale, RoundingMode roundingMode, boolean isGroupingUsed,
+                    int maximumFractionDigits, boolean isParseBigDecimal) {
+            this.locale = locale;
+            this.roundingMode = roundingMode;
+            this.isGroupingUsed = isGroupingUsed;
+            this.maximumFractionDigits = maximumFractionDigits;
+            this.isParseBigDecimal = isParseBigDecimal;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            Key other = (Key) obj;
+
+            return locale.equals(other.locale) && roundingMode == other.roundingMode &&
+                isGroupingUsed == other.isGroupingUsed &&
+                maximumFractionDigits == other.maximumFractionDigits &&
+                isParseBigDecimal == other.isParseBigDecimal;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(locale, roundingMode, isGroupingUsed, maximumFractionDigits,
+                                isParseBigDecimal);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package io.aesy.datasize.io;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/* package-private */ interface ByteCounter {
+    static ByteCounter create(boolean concurrent) {
+        if (concurrent) {
+            return new Striped();
+        }
+
+        return new Plain();
+    }
+
+    void add(long bytes);
+
+    long get();
+
+    final class Plain implements ByteCounter {
+        private long count;
+
+        @Override
+        public void add(long bytes) {
+            count += bytes;
+        }
+
+        @Override
+        public long get() {
+            return count;
+        }
+    }
+
+    final class Striped implements ByteCounter {
+        private final LongAdder count = new LongAdder();
+
+        @Override
+        public void add(long bytes) {
+            count.add(bytes);
+        }
+
+        @Override
+        public long get() {
+            return count.sum();
+        }
+    }
+}
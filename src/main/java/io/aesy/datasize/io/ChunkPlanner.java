@@ -0,0 +1,336 @@
+package io.aesy.datasize.io;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@code ChunkPlanner} splits a total amount of data into aligned chunks, such as the parts of a
+ * multipart upload or the reads of direct I/O.
+ *
+ * <p>
+ * Every chunk starts at a multiple of the alignment, and every chunk but the last has the same
+ * aligned size, between the minimum and maximum part size. The part size is chosen such that as
+ * few chunks as possible are needed and the chunks are as even as possible, which avoids a tiny
+ * trailing chunk. Only the last chunk may be smaller than the minimum part size.
+ * </p>
+ *
+ * <p>
+ * Plans are computed in constant time and hold no list of chunks. Chunks are read as primitive
+ * {@code long} offsets and lengths, either by index or by a cursor, hence iterating a plan
+ * allocates nothing per chunk. Instances are immutable and thread safe.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * ChunkPlanner planner = new ChunkPlanner(DataSize.of(4, ByteUnit.IEC.KIBIBYTE),
+ *     DataSize.of(5, ByteUnit.IEC.MEBIBYTE), DataSize.of(64, ByteUnit.IEC.MEBIBYTE));
+ *
+ * ChunkPlanner.Cursor cursor = planner.plan(file.size()).cursor();
+ * while (cursor.next()) {
+ *     file.transferTo(cursor.getOffset(), cursor.getLength(), upload(cursor.getIndex()));
+ * }
+ * }</pre>
+ * </blockquote>
+ */
+public class ChunkPlanner {
+    private final long alignment;
+    private final long minimumPart;
+    private final long maximumPart;
+
+    /**
+     * Creates a {@code ChunkPlanner}.
+     *
+     * @param alignment The alignment of every chunk, rounded up to a whole amount of bytes
+     * @param minimumPart The smallest size of every chunk but the last, rounded up to the
+     *     alignment
+     * @param maximumPart The largest size of every chunk, rounded down to the alignment
+     * @throws IllegalArgumentException If the alignment is zero, or if the aligned maximum part
+     *     size is less than the aligned minimum part size or the alignment
+     */
+    public ChunkPlanner(DataSize alignment, DataSize minimumPart, DataSize maximumPart) {
+        this.alignment = toBytes(alignment);
+
+        if (this.alignment == 0) {
+            throw new IllegalArgumentException("Alignment must not be zero");
+        }
+
+        this.minimumPart = Math.max(this.alignment, alignUp(toBytes(minimumPart), this.alignment));
+        this.maximumPart = toBytes(maximumPart) / this.alignment * this.alignment;
+
+        if (this.maximumPart < this.minimumPart) {
+            throw new IllegalArgumentException("Maximum part size must not be less than minimum");
+        }
+    }
+
+    /**
+     * Plans the chunks of a total amount of data.
+     *
+     * @param total The total amount, rounded up to a whole amount of bytes
+     * @return A plan
+     * @throws IllegalArgumentException If the total doesn't fit in a {@code long} amount of bytes
+     */
+    public Plan plan(DataSize total) {
+        return plan(toBytes(total));
+    }
+
+    /**
+     * Plans the chunks of a total amount of bytes.
+     *
+     * @param totalBytes The total amount of bytes
+     * @return A plan
+     * @throws IllegalArgumentException If the total is negative
+     */
+    public Plan plan(long totalBytes) {
+        if (totalBytes < 0) {
+            throw new IllegalArgumentException("Total must not be negative");
+        }
+
+        if (totalBytes == 0) {
+            return new Plan(0, maximumPart, 0);
+        }
+
+        long count = ceilDiv(totalBytes, maximumPart);
+        // Spread evenly over the fewest chunks, then align, which never exceeds the maximum
+        long part = alignUp(ceilDiv(totalBytes, count), alignment);
+        part = Math.min(maximumPart, Math.max(minimumPart, part));
+        count = ceilDiv(totalBytes, part);
+
+        return new Plan(totalBytes, part, count);
+    }
+
+    /**
+     * Gets the alignment of every chunk.
+     *
+     * @return The alignment
+     */
+    public DataSize getAlignment() {
+        return DataSize.of(alignment, ByteUnit.BYTE);
+    }
+
+    /**
+     * Gets the smallest size of every chunk but the last.
+     *
+     * @return The minimum part size
+     */
+    public DataSize getMinimumPart() {
+        return DataSize.of(minimumPart, ByteUnit.BYTE);
+    }
+
+    /**
+     * Gets the largest size of every chunk.
+     *
+     * @return The maximum part size
+     */
+    public DataSize getMaximumPart() {
+        return DataSize.of(maximumPart, ByteUnit.BYTE);
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        long result = dividend / divisor;
+
+        if (dividend % divisor != 0) {
+            result++;
+        }
+
+        return result;
+    }
+
+    private static long alignUp(long value, long alignment) {
+        long remainder = value % alignment;
+
+        if (remainder == 0) {
+            return value;
+        }
+
+        return Math.addExact(value, alignment - remainder);
+    }
+
+    private static long toBytes(DataSize dataSize) {
+        BigDecimal bytes = dataSize.toUnit(ByteUnit.BYTE)
+                                   .getValue()
+                                   .setScale(0, RoundingMode.CEILING);
+
+        if (bytes.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0) {
+            throw new IllegalArgumentException("Size must not exceed Long.MAX_VALUE bytes");
+        }
+
+        return bytes.longValue();
+    }
+
+    /**
+     * The chunks of a total amount of data, as planned by a {@code ChunkPlanner}.
+     */
+    public static final class Plan {
+        private final long totalBytes;
+        private final long partBytes;
+        private final long count;
+
+        private Plan(long totalBytes, long partBytes, long count) {
+            this.totalBytes = totalBytes;
+            this.partBytes = partBytes;
+            this.count = count;
+        }
+
+        /**
+         * Gets the total amount of bytes.
+         *
+         * @return The total amount of bytes
+         */
+        public long getTotalBytes() {
+            return totalBytes;
+        }
+
+        /**
+         * Gets the size of every chunk but the last, in bytes.
+         *
+         * @return The part size in bytes
+         */
+        public long getPartBytes() {
+            return partBytes;
+        }
+
+        /**
+         * Gets the size of every chunk but the last.
+         *
+         * @return The part size
+         */
+        public DataSize getPartSize() {
+            return DataSize.of(partBytes, ByteUnit.BYTE);
+        }
+
+        /**
+         * Gets the amount of chunks.
+         *
+         * @return The amount of chunks
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the offset of a chunk.
+         *
+         * @param index The index of the chunk
+         * @return The offset in bytes
+         * @throws IndexOutOfBoundsException If there's no chunk of the given index
+         */
+        public long getOffset(long index) {
+            checkIndex(index);
+
+            return index * partBytes;
+        }
+
+        /**
+         * Gets the length of a chunk.
+         *
+         * @param index The index of the chunk
+         * @return The length in bytes
+         * @throws IndexOutOfBoundsException If there's no chunk of the given index
+         */
+        public long getLength(long index) {
+            checkIndex(index);
+
+            return Math.min(partBytes, totalBytes - index * partBytes);
+        }
+
+        /**
+         * Creates a cursor positioned before the first chunk.
+         *
+         * @return A new cursor
+         */
+        public Cursor cursor() {
+            return new Cursor(this);
+        }
+
+        @Override
+        public String toString() {
+            return count + " x " + getPartSize() + " of " + DataSize.of(totalBytes, ByteUnit.BYTE);
+        }
+
+        private void checkIndex(long index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", count: " + count);
+            }
+        }
+    }
+
+    /**
+     * A cursor over the chunks of a {@code Plan}, reusing its' fields for every chunk. Instances
+     * are not thread safe.
+     */
+    public static final class Cursor {
+        private final Plan plan;
+        private long index;
+        private long offset;
+        private long length;
+
+        private Cursor(Plan plan) {
+            this.plan = plan;
+            this.index = -1;
+        }
+
+        /**
+         * Advances to the next chunk.
+         *
+         * @return True if advanced, false if there are no more chunks
+         */
+        public boolean next() {
+            if (index + 1 >= plan.count) {
+                return false;
+            }
+
+            index++;
+            offset = index * plan.partBytes;
+            length = Math.min(plan.partBytes, plan.totalBytes - offset);
+
+            return true;
+        }
+
+        /**
+         * Gets the index of the current chunk.
+         *
+         * @return The index
+         * @throws NoSuchElementException If not positioned at a chunk
+         */
+        public long getIndex() {
+            checkPositioned();
+
+            return index;
+        }
+
+        /**
+         * Gets the offset of the current chunk.
+         *
+         * @return The offset in bytes
+         * @throws NoSuchElementException If not positioned at a chunk
+         */
+        public long getOffset() {
+            checkPositioned();
+
+            return offset;
+        }
+
+        /**
+         * Gets the length of the current chunk.
+         *
+         * @return The length in bytes
+         * @throws NoSuchElementException If not positioned at a chunk
+         */
+        public long getLength() {
+            checkPositioned();
+
+            return length;
+        }
+
+        private void checkPositioned() {
+            if (index < 0) {
+                throw new NoSuchElementException("Cursor is before the first chunk");
+            }
+        }
+    }
+}
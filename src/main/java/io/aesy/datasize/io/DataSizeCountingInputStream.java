@@ -0,0 +1,123 @@
+package io.aesy.datasize.io;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataRate;
+import io.aesy.datasize.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A {@code DataSizeCountingInputStream} counts the bytes read from an underlying input stream.
+ *
+ * <p>
+ * Skipped bytes are counted as read. If the stream is reset to a mark, the count is reset to the
+ * count at the time of the mark. Counting adds no allocation to any read. Instances are not
+ * thread safe.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * DataSizeCountingInputStream input = new DataSizeCountingInputStream(socket.getInputStream());
+ * consume(input);
+ *
+ * log.info("Read {} at {}", input.getDataSize(), input.getRate());
+ * }</pre>
+ * </blockquote>
+ */
+public class DataSizeCountingInputStream extends FilterInputStream {
+    private final long created;
+    private long count;
+    private long mark;
+
+    /**
+     * Creates a {@code DataSizeCountingInputStream} wrapping the given input stream.
+     *
+     * @param input The input stream to wrap
+     */
+    public DataSizeCountingInputStream(InputStream input) {
+        super(input);
+
+        this.created = System.nanoTime();
+        this.mark = -1;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int result = in.read();
+
+        if (result != -1) {
+            count++;
+        }
+
+        return result;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int result = in.read(buffer, offset, length);
+
+        if (result != -1) {
+            count += result;
+        }
+
+        return result;
+    }
+
+    @Override
+    public long skip(long length) throws IOException {
+        long result = in.skip(length);
+        count += result;
+
+        return result;
+    }
+
+    @Override
+    public synchronized void mark(int limit) {
+        in.mark(limit);
+        mark = count;
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        if (!in.markSupported()) {
+            throw new IOException("Mark not supported");
+        }
+
+        if (mark == -1) {
+            throw new IOException("Mark not set");
+        }
+
+        in.reset();
+        count = mark;
+    }
+
+    /**
+     * Gets the amount of bytes read so far.
+     *
+     * @return The amount of bytes
+     */
+    public long getByteCount() {
+        return count;
+    }
+
+    /**
+     * Gets the amount of data read so far.
+     *
+     * @return The amount of data
+     */
+    public DataSize getDataSize() {
+        return DataSize.of(count, ByteUnit.BYTE);
+    }
+
+    /**
+     * Gets the average rate at which data has been read since this stream was created.
+     *
+     * @return The average rate
+     */
+    public DataRate getRate() {
+        return DataRate.ofBytes(count, Math.max(1, System.nanoTime() - created));
+    }
+}
@@ -0,0 +1,94 @@
+package io.aesy.datasize.io;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataRate;
+import io.aesy.datasize.DataSize;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A {@code DataSizeCountingOutputStream} counts the bytes written to an underlying output stream.
+ *
+ * <p>
+ * Unlike {@code FilterOutputStream}, arrays are written to the underlying stream in one call
+ * rather than byte by byte. Counting adds no allocation to any write. Instances are not thread
+ * safe.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * DataSizeCountingOutputStream output =
+ *     new DataSizeCountingOutputStream(response.getOutputStream());
+ * produce(output);
+ *
+ * log.info("Wrote {} at {}", output.getDataSize(), output.getRate());
+ * }</pre>
+ * </blockquote>
+ */
+public class DataSizeCountingOutputStream extends FilterOutputStream {
+    private final long created;
+    private long count;
+
+    /**
+     * Creates a {@code DataSizeCountingOutputStream} wrapping the given output stream.
+     *
+     * @param output The output stream to wrap
+     */
+    public DataSizeCountingOutputStream(OutputStream output) {
+        super(output);
+
+        this.created = System.nanoTime();
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        out.write(value);
+        count++;
+    }
+
+    @Override
+    public void write(byte[] buffer, int offset, int length) throws IOException {
+        out.write(buffer, offset, length);
+        count += length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Avoid FilterOutputStream swallowing exceptions thrown when flushing
+        try {
+            out.flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Gets the amount of bytes written so far.
+     *
+     * @return The amount of bytes
+     */
+    public long getByteCount() {
+        return count;
+    }
+
+    /**
+     * Gets the amount of data written so far.
+     *
+     * @return The amount of data
+     */
+    public DataSize getDataSize() {
+        return DataSize.of(count, ByteUnit.BYTE);
+    }
+
+    /**
+     * Gets the average rate at which data has been written since this stream was created.
+     *
+     * @return The average rate
+     */
+    public DataRate getRate() {
+        return DataRate.ofBytes(count, Math.max(1, System.nanoTime() - created));
+    }
+}
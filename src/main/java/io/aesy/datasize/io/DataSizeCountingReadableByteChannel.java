@@ -0,0 +1,128 @@
+package io.aesy.datasize.io;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataRate;
+import io.aesy.datasize.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * A {@code DataSizeCountingReadableByteChannel} counts the bytes read from an underlying channel.
+ *
+ * <p>
+ * By default the count is kept in a plain field, which is only suitable for channels used by one
+ * thread at a time. Channels shared between threads should be created as concurrent, which keeps
+ * the count in a striped counter. Counting adds no allocation to any read.
+ * </p>
+ *
+ * <p>
+ * Wrapping a channel hides it from the zero-copy paths of {@code FileChannel}. Use
+ * {@code DataSizeCountingReadableByteChannel#transferTo} to transfer data to a file without
+ * copying through user space while still counting it.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * DataSizeCountingReadableByteChannel channel =
+ *     new DataSizeCountingReadableByteChannel(socketChannel);
+ * channel.transferTo(fileChannel, 0, length);
+ *
+ * log.info("Received {} at {}", channel.getDataSize(), channel.getRate());
+ * }</pre>
+ * </blockquote>
+ */
+public class DataSizeCountingReadableByteChannel implements ReadableByteChannel {
+    private final ReadableByteChannel channel;
+    private final ByteCounter counter;
+    private final long created;
+
+    /**
+     * Creates a {@code DataSizeCountingReadableByteChannel} for use by one thread at a time.
+     *
+     * @param channel The channel to wrap
+     */
+    public DataSizeCountingReadableByteChannel(ReadableByteChannel channel) {
+        this(channel, false);
+    }
+
+    /**
+     * Creates a {@code DataSizeCountingReadableByteChannel}.
+     *
+     * @param channel The channel to wrap
+     * @param concurrent Whether the channel is used by multiple threads concurrently
+     */
+    public DataSizeCountingReadableByteChannel(ReadableByteChannel channel, boolean concurrent) {
+        this.channel = channel;
+        this.counter = ByteCounter.create(concurrent);
+        this.created = System.nanoTime();
+    }
+
+    @Override
+    public int read(ByteBuffer buffer) throws IOException {
+        int result = channel.read(buffer);
+
+        if (result > 0) {
+            counter.add(result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Transfers bytes from this channel to a file, using {@code FileChannel#transferFrom} on the
+     * underlying channel so that zero-copy transfer remains possible.
+     *
+     * @param target The file channel to transfer to
+     * @param position The position in the file to start at
+     * @param count The maximum amount of bytes to transfer
+     * @return The amount of bytes transferred
+     * @throws IOException If an I/O error occurs
+     */
+    public long transferTo(FileChannel target, long position, long count) throws IOException {
+        long result = target.transferFrom(channel, position, count);
+        counter.add(result);
+
+        return result;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Gets the amount of bytes read so far.
+     *
+     * @return The amount of bytes
+     */
+    public long getByteCount() {
+        return counter.get();
+    }
+
+    /**
+     * Gets the amount of data read so far.
+     *
+     * @return The amount of data
+     */
+    public DataSize getDataSize() {
+        return DataSize.of(counter.get(), ByteUnit.BYTE);
+    }
+
+    /**
+     * Gets the average rate at which data has been read since this channel was created.
+     *
+     * @return The average rate
+     */
+    public DataRate getRate() {
+        return DataRate.ofBytes(counter.get(), Math.max(1, System.nanoTime() - created));
+    }
+}
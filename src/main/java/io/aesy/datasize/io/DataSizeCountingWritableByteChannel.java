@@ -0,0 +1,125 @@
+package io.aesy.datasize.io;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataRate;
+import io.aesy.datasize.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A {@code DataSizeCountingWritableByteChannel} counts the bytes written to an underlying channel.
+ *
+ * <p>
+ * By default the count is kept in a plain field, which is only suitable for channels used by one
+ * thread at a time. Channels shared between threads should be created as concurrent, which keeps
+ * the count in a striped counter. Counting adds no allocation to any write.
+ * </p>
+ *
+ * <p>
+ * Wrapping a channel hides it from the zero-copy paths of {@code FileChannel}. Use
+ * {@code DataSizeCountingWritableByteChannel#transferFrom} to transfer data from a file without
+ * copying through user space while still counting it.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * DataSizeCountingWritableByteChannel channel =
+ *     new DataSizeCountingWritableByteChannel(socketChannel);
+ * channel.transferFrom(fileChannel, 0, fileChannel.size());
+ *
+ * log.info("Sent {} at {}", channel.getDataSize(), channel.getRate());
+ * }</pre>
+ * </blockquote>
+ */
+public class DataSizeCountingWritableByteChannel implements WritableByteChannel {
+    private final WritableByteChannel channel;
+    private final ByteCounter counter;
+    private final long created;
+
+    /**
+     * Creates a {@code DataSizeCountingWritableByteChannel} for use by one thread at a time.
+     *
+     * @param channel The channel to wrap
+     */
+    public DataSizeCountingWritableByteChannel(WritableByteChannel channel) {
+        this(channel, false);
+    }
+
+    /**
+     * Creates a {@code DataSizeCountingWritableByteChannel}.
+     *
+     * @param channel The channel to wrap
+     * @param concurrent Whether the channel is used by multiple threads concurrently
+     */
+    public DataSizeCountingWritableByteChannel(WritableByteChannel channel, boolean concurrent) {
+        this.channel = channel;
+        this.counter = ByteCounter.create(concurrent);
+        this.created = System.nanoTime();
+    }
+
+    @Override
+    public int write(ByteBuffer buffer) throws IOException {
+        int result = channel.write(buffer);
+        counter.add(result);
+
+        return result;
+    }
+
+    /**
+     * Transfers bytes from a file to this channel, using {@code FileChannel#transferTo} with the
+     * underlying channel so that zero-copy transfer remains possible.
+     *
+     * @param source The file channel to transfer from
+     * @param position The position in the file to start at
+     * @param count The maximum amount of bytes to transfer
+     * @return The amount of bytes transferred
+     * @throws IOException If an I/O error occurs
+     */
+    public long transferFrom(FileChannel source, long position, long count) throws IOException {
+        long result = source.transferTo(position, count, channel);
+        counter.add(result);
+
+        return result;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Gets the amount of bytes written so far.
+     *
+     * @return The amount of bytes
+     */
+    public long getByteCount() {
+        return counter.get();
+    }
+
+    /**
+     * Gets the amount of data written so far.
+     *
+     * @return The amount of data
+     */
+    public DataSize getDataSize() {
+        return DataSize.of(counter.get(), ByteUnit.BYTE);
+    }
+
+    /**
+     * Gets the average rate at which data has been written since this channel was created.
+     *
+     * @return The average rate
+     */
+    public DataRate getRate() {
+        return DataRate.ofBytes(counter.get(), Math.max(1, System.nanoTime() - created));
+    }
+}
@@ -0,0 +1,293 @@
+package io.aesy.datasize.io;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.RoundingMode;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A {@code DiskUsage} object holds the size of a directory tree, along with a breakdown per
+ * directory.
+ *
+ * <p>
+ * Directory trees are scanned using {@code Files#walkFileTree}, taking sizes from the attributes
+ * read during the walk rather than querying each file separately. Subdirectories are scanned in
+ * parallel using fork-join. Symbolic links are not followed, and hard links are counted once per
+ * link. Entries that can't be read are skipped.
+ * </p>
+ *
+ * <p>
+ * The apparent size is the sum of the sizes of all files. The allocated size estimates the space
+ * used on disk by rounding the size of each file up to a whole amount of allocation units, which
+ * is typically the block size of the file system. It does not account for sparse or compressed
+ * files. If no allocation unit is given, the allocated size equals the apparent size.
+ * </p>
+ *
+ * <p>
+ * Instances are immutable and thread safe.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * DataSize blockSize = DataSize.of(4, ByteUnit.IEC.KIBIBYTE);
+ * DiskUsage usage = DiskUsage.scan(Paths.get("/var/log"), blockSize);
+ *
+ * for (DiskUsage directory : usage.getDirectories()) {
+ *     System.out.println(directory.getPath() + ": " + directory.getAllocatedSize());
+ * }
+ * }</pre>
+ * </blockquote>
+ */
+public final class DiskUsage {
+    private final Path path;
+    private final long apparentBytes;
+    private final long allocatedBytes;
+    private final long fileCount;
+    private final List<DiskUsage> directories;
+
+    /* package-private */ DiskUsage(Path path, long apparentBytes, long allocatedBytes,
+                                    long fileCount, List<DiskUsage> directories) {
+        this.path = path;
+        this.apparentBytes = apparentBytes;
+        this.allocatedBytes = allocatedBytes;
+        this.fileCount = fileCount;
+        this.directories = directories;
+    }
+
+    /**
+     * Scans a directory tree using the common fork-join pool.
+     *
+     * @param root The root of the directory tree, or a single file
+     * @return The disk usage of the directory tree
+     * @throws IOException If the root can't be read
+     */
+    public static DiskUsage scan(Path root) throws IOException {
+        return scan(root, DataSize.of(1, ByteUnit.BYTE), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Scans a directory tree using the common fork-join pool.
+     *
+     * @param root The root of the directory tree, or a single file
+     * @param allocationUnit The unit of allocation to round the size of each file up to
+     * @return The disk usage of the directory tree
+     * @throws IOException If the root can't be read
+     * @throws IllegalArgumentException If the allocation unit is less than one byte
+     */
+    public static DiskUsage scan(Path root, DataSize allocationUnit) throws IOException {
+        return scan(root, allocationUnit, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Scans a directory tree using the given fork-join pool.
+     *
+     * @param root The root of the directory tree, or a single file
+     * @param allocationUnit The unit of allocation to round the size of each file up to
+     * @param pool The pool to scan subdirectories in
+     * @return The disk usage of the directory tree
+     * @throws IOException If the root can't be read
+     * @throws IllegalArgumentException If the allocation unit is less than one byte
+     */
+    public static DiskUsage scan(Path root, DataSize allocationUnit, ForkJoinPool pool)
+        throws IOException {
+        long unit = toBytes(allocationUnit);
+
+        if (unit < 1) {
+            throw new IllegalArgumentException("Allocation unit must not be less than one byte");
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(root, BasicFileAttributes.class,
+            LinkOption.NOFOLLOW_LINKS);
+
+        if (!attributes.isDirectory()) {
+            long size = attributes.size();
+
+            return new DiskUsage(root, size, allocated(size, unit), 1, Collections.emptyList());
+        }
+
+        try {
+            return pool.invoke(new ScanTask(root, unit));
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    /**
+     * Gets the path of the scanned directory or file.
+     *
+     * @return The path
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the sum of the sizes of all files in the directory tree.
+     *
+     * @return The apparent size
+     */
+    public DataSize getApparentSize() {
+        return DataSize.of(apparentBytes, ByteUnit.BYTE);
+    }
+
+    /**
+     * Gets the sum of the sizes of all files in the directory tree, in bytes.
+     *
+     * @return The apparent size in bytes
+     */
+    public long getApparentBytes() {
+        return apparentBytes;
+    }
+
+    /**
+     * Gets the estimated space used on disk by all files in the directory tree.
+     *
+     * @return The allocated size
+     */
+    public DataSize getAllocatedSize() {
+        return DataSize.of(allocatedBytes, ByteUnit.BYTE);
+    }
+
+    /**
+     * Gets the estimated space used on disk by all files in the directory tree, in bytes.
+     *
+     * @return The allocated size in bytes
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Gets the amount of files in the directory tree, excluding directories.
+     *
+     * @return The amount of files
+     */
+    public long getFileCount() {
+        return fileCount;
+    }
+
+    /**
+     * Gets the disk usage of each immediate subdirectory, ordered by path.
+     *
+     * @return An immutable list of disk usages
+     */
+    public List<DiskUsage> getDirectories() {
+        return directories;
+    }
+
+    @Override
+    public String toString() {
+        return path + ": " + getApparentSize();
+    }
+
+    /* package-private */ static long toBytes(DataSize dataSize) {
+        return dataSize.toUnit(ByteUnit.BYTE)
+                       .getValue()
+                       .setScale(0, RoundingMode.CEILING)
+                       .longValueExact();
+    }
+
+    /* package-private */ static long allocated(long size, long unit) {
+        if (unit == 1) {
+            return size;
+        }
+
+        return (size + unit - 1) / unit * unit;
+    }
+
+    /* package-private */ static List<DiskUsage> sorted(List<DiskUsage> directories) {
+        if (directories.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        directories.sort(Comparator.comparing(DiskUsage::getPath));
+
+        return Collections.unmodifiableList(directories);
+    }
+
+    /* package-private */ static void list(Path directory, long unit, List<Path> subdirectories,
+                                           long[] totals) throws IOException {
+        // A depth of one visits the entries of this directory only, subdirectories included,
+        // each with the attributes read while listing them
+        Files.walkFileTree(directory, EnumSet.noneOf(FileVisitOption.class), 1,
+            new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isDirectory()) {
+                        subdirectories.add(file);
+                    } else {
+                        totals[0] += attrs.size();
+                        totals[1] += allocated(attrs.size(), unit);
+                        totals[2]++;
+                    }
+
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exception) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+    }
+
+    private static final class ScanTask extends RecursiveTask<DiskUsage> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Path directory;
+        private final long unit;
+
+        private ScanTask(Path directory, long unit) {
+            this.directory = directory;
+            this.unit = unit;
+        }
+
+        @Override
+        protected DiskUsage compute() {
+            List<Path> subdirectories = new ArrayList<>();
+            long[] totals = new long[3];
+
+            try {
+                list(directory, unit, subdirectories, totals);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+
+            List<ScanTask> subtasks = new ArrayList<>(subdirectories.size());
+
+            for (Path subdirectory : subdirectories) {
+                subtasks.add(new ScanTask(subdirectory, unit));
+            }
+
+            List<DiskUsage> directories = new ArrayList<>(subtasks.size());
+
+            for (ScanTask subtask : ForkJoinTask.invokeAll(subtasks)) {
+                DiskUsage usage = subtask.join();
+                totals[0] += usage.apparentBytes;
+                totals[1] += usage.allocatedBytes;
+                totals[2] += usage.fileCount;
+                directories.add(usage);
+            }
+
+            return new DiskUsage(directory, totals[0], totals[1], totals[2], sorted(directories));
+        }
+    }
+}
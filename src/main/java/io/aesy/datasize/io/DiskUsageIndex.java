@@ -0,0 +1,461 @@
+package io.aesy.datasize.io;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code DiskUsageIndex} keeps the disk usage of a directory tree up to date incrementally.
+ *
+ * <p>
+ * The index caches the size of the files directly within each directory, keyed by the path and
+ * last modified time of the directory. On refresh, only directories that were modified, or that
+ * were reported as changed by a {@code WatchService}, are listed again. All other directories are
+ * merely checked for a changed last modified time. The last modified time of a directory only
+ * changes when entries are added, removed or renamed, so the watch service is what detects files
+ * that grow or shrink in place. Directories that can't be watched, for example due to operating
+ * system limits, rely on their last modified time only. Like {@code DiskUsage#scan}, directories
+ * are refreshed in parallel using fork-join.
+ * </p>
+ *
+ * <p>
+ * The index may be saved to a compact binary file and loaded again, such that a restarted
+ * application doesn't have to list every directory. Files modified in place while the index was
+ * not running are not detected until their directory is modified.
+ * </p>
+ *
+ * <p>
+ * Instances are thread safe. An index should be closed when no longer used, to release the watch
+ * service.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * try (DiskUsageIndex index = new DiskUsageIndex(Paths.get("/srv/storage"))) {
+ *     index.load(indexFile);
+ *
+ *     while (running) {
+ *         DiskUsage usage = index.refresh();
+ *         display(usage.getApparentSize());
+ *         Thread.sleep(5000);
+ *     }
+ *
+ *     index.save(indexFile);
+ * }
+ * }</pre>
+ * </blockquote>
+ */
+public class DiskUsageIndex implements Closeable {
+    private static final int MAGIC = 0x44535849;
+    private static final int VERSION = 1;
+
+    private final Path root;
+    private final long unit;
+    private final Map<Path, Entry> entries;
+    private final Map<Path, WatchKey> keys;
+    private final Set<Path> changed;
+    private WatchService watchService;
+
+    /**
+     * Creates a {@code DiskUsageIndex} that watches the directory tree for changes.
+     *
+     * @param root The root of the directory tree
+     * @throws IOException If a watch service can't be created
+     */
+    public DiskUsageIndex(Path root) throws IOException {
+        this(root, DataSize.of(1, ByteUnit.BYTE), true);
+    }
+
+    /**
+     * Creates a {@code DiskUsageIndex}.
+     *
+     * @param root The root of the directory tree
+     * @param allocationUnit The unit of allocation to round the size of each file up to
+     * @param watch Whether to watch the directory tree for changes
+     * @throws IOException If a watch service can't be created
+     * @throws IllegalArgumentException If the allocation unit is less than one byte
+     */
+    public DiskUsageIndex(Path root, DataSize allocationUnit, boolean watch) throws IOException {
+        long bytes = DiskUsage.toBytes(allocationUnit);
+
+        if (bytes < 1) {
+            throw new IllegalArgumentException("Allocation unit must not be less than one byte");
+        }
+
+        this.root = root;
+        this.unit = bytes;
+        this.entries = new ConcurrentHashMap<>();
+        this.keys = new HashMap<>();
+        this.changed = new HashSet<>();
+
+        if (watch) {
+            this.watchService = root.getFileSystem().newWatchService();
+        }
+    }
+
+    /**
+     * Brings the index up to date and gets the disk usage of the directory tree, refreshing
+     * subdirectories in the common fork-join pool.
+     *
+     * @return The disk usage of the directory tree
+     * @throws IOException If the root can't be read
+     */
+    public DiskUsage refresh() throws IOException {
+        return refresh(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Brings the index up to date and gets the disk usage of the directory tree, refreshing
+     * subdirectories in the given fork-join pool.
+     *
+     * @param pool The pool to refresh subdirectories in
+     * @return The disk usage of the directory tree
+     * @throws IOException If the root can't be read
+     */
+    public synchronized DiskUsage refresh(ForkJoinPool pool) throws IOException {
+        poll();
+
+        Set<Path> visited = ConcurrentHashMap.newKeySet();
+        RefreshTask task = new RefreshTask(root, visited);
+        DiskUsage usage;
+
+        try {
+            usage = pool.invoke(task);
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+
+        if (task.missing != null) {
+            throw task.missing;
+        }
+
+        // Registering is cheap for directories already watched, and keeps the keys single threaded
+        for (Path directory : visited) {
+            watch(directory);
+        }
+
+        // Forget directories that no longer exist
+        Iterator<Path> iterator = entries.keySet().iterator();
+
+        while (iterator.hasNext()) {
+            Path directory = iterator.next();
+
+            if (!visited.contains(directory)) {
+                iterator.remove();
+                unwatch(directory);
+            }
+        }
+
+        changed.clear();
+
+        return usage;
+    }
+
+    /**
+     * Marks a directory as changed, such that it is listed again on the next refresh.
+     *
+     * @param directory The directory that changed
+     */
+    public synchronized void invalidate(Path directory) {
+        changed.add(directory);
+    }
+
+    /**
+     * Gets the amount of directories in the index.
+     *
+     * @return The amount of directories
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Saves the index to a file. The file is replaced atomically, if supported.
+     *
+     * @param file The file to save to
+     * @throws IOException If the file can't be written
+     */
+    public synchronized void save(Path file) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (DataOutputStream output = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(unit);
+            output.writeInt(entries.size());
+
+            for (Map.Entry<Path, Entry> pair : entries.entrySet()) {
+                Entry entry = pair.getValue();
+                output.writeUTF(root.relativize(pair.getKey()).toString());
+                output.writeLong(entry.modified);
+                output.writeLong(entry.apparentBytes);
+                output.writeLong(entry.allocatedBytes);
+                output.writeLong(entry.fileCount);
+                output.writeInt(entry.subdirectories.size());
+
+                for (Path subdirectory : entry.subdirectories) {
+                    output.writeUTF(subdirectory.getFileName().toString());
+                }
+            }
+        }
+
+        try {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException exception) {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Loads the index from a file, replacing the current contents of the index.
+     *
+     * <p>
+     * Nothing is loaded if the file does not exist or was saved with a different allocation unit.
+     * </p>
+     *
+     * @param file The file to load from
+     * @return True if the index was loaded, false otherwise
+     * @throws IOException If the file can't be read or is not an index file
+     */
+    public synchronized boolean load(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return false;
+        }
+
+        try (DataInputStream input = new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                throw new IOException("Not a disk usage index file: " + file);
+            }
+
+            if (input.readLong() != unit) {
+                return false;
+            }
+
+            int count = input.readInt();
+            Map<Path, Entry> loaded = new HashMap<>();
+
+            for (int index = 0; index < count; index++) {
+                Path directory = root.resolve(input.readUTF());
+                long modified = input.readLong();
+                long apparentBytes = input.readLong();
+                long allocatedBytes = input.readLong();
+                long fileCount = input.readLong();
+                int subdirectoryCount = input.readInt();
+                List<Path> subdirectories = new ArrayList<>(subdirectoryCount);
+
+                for (int subdirectory = 0; subdirectory < subdirectoryCount; subdirectory++) {
+                    subdirectories.add(directory.resolve(input.readUTF()));
+                }
+
+                loaded.put(directory, new Entry(modified, apparentBytes, allocatedBytes,
+                    fileCount, subdirectories));
+            }
+
+            for (Path directory : new ArrayList<>(keys.keySet())) {
+                unwatch(directory);
+            }
+
+            entries.clear();
+            entries.putAll(loaded);
+            changed.clear();
+        }
+
+        return true;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+        }
+
+        keys.clear();
+    }
+
+    private void poll() {
+        if (watchService == null) {
+            return;
+        }
+
+        try {
+            WatchKey key = watchService.poll();
+
+            while (key != null) {
+                Path directory = (Path) key.watchable();
+
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // Events were lost, every directory has to be listed again
+                        changed.addAll(entries.keySet());
+                    }
+                }
+
+                changed.add(directory);
+
+                if (!key.reset()) {
+                    keys.remove(directory);
+                }
+
+                key = watchService.poll();
+            }
+        } catch (ClosedWatchServiceException exception) {
+            watchService = null;
+        }
+    }
+
+    private void watch(Path directory) {
+        if (watchService == null || keys.containsKey(directory)) {
+            return;
+        }
+
+        try {
+            keys.put(directory, directory.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE,
+                StandardWatchEventKinds.ENTRY_MODIFY));
+        } catch (IOException exception) {
+            // Typically due to a limit on the amount of watches, fall back to modification times
+            keys.put(directory, null);
+        }
+    }
+
+    private void unwatch(Path directory) {
+        WatchKey key = keys.remove(directory);
+
+        if (key != null) {
+            key.cancel();
+        }
+    }
+
+    private final class RefreshTask extends RecursiveTask<DiskUsage> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Path directory;
+        private final transient Set<Path> visited;
+        // Set if the directory was removed since its' parent was listed
+        private transient NoSuchFileException missing;
+
+        private RefreshTask(Path directory, Set<Path> visited) {
+            this.directory = directory;
+            this.visited = visited;
+        }
+
+        @Override
+        protected DiskUsage compute() {
+            Entry entry;
+
+            try {
+                entry = refreshEntry();
+            } catch (NoSuchFileException exception) {
+                missing = exception;
+
+                return new DiskUsage(directory, 0, 0, 0, Collections.emptyList());
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+
+            visited.add(directory);
+
+            List<RefreshTask> subtasks = new ArrayList<>(entry.subdirectories.size());
+
+            for (Path subdirectory : entry.subdirectories) {
+                subtasks.add(new RefreshTask(subdirectory, visited));
+            }
+
+            long apparentBytes = entry.apparentBytes;
+            long allocatedBytes = entry.allocatedBytes;
+            long fileCount = entry.fileCount;
+            List<DiskUsage> directories = new ArrayList<>(subtasks.size());
+
+            for (RefreshTask subtask : ForkJoinTask.invokeAll(subtasks)) {
+                DiskUsage usage = subtask.join();
+
+                if (subtask.missing != null) {
+                    // Removed since listed, the parent is picked up as modified by the next refresh
+                    continue;
+                }
+
+                apparentBytes += usage.getApparentBytes();
+                allocatedBytes += usage.getAllocatedBytes();
+                fileCount += usage.getFileCount();
+                directories.add(usage);
+            }
+
+            return new DiskUsage(directory, apparentBytes, allocatedBytes, fileCount,
+                DiskUsage.sorted(directories));
+        }
+
+        private Entry refreshEntry() throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(directory,
+                BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            long modified = attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+            Entry entry = entries.get(directory);
+
+            if (entry == null || entry.modified != modified || changed.contains(directory)) {
+                // The last modified time is read before listing, such that changes made while
+                // listing are picked up by the next refresh
+                List<Path> subdirectories = new ArrayList<>();
+                long[] totals = new long[3];
+                DiskUsage.list(directory, unit, subdirectories, totals);
+                entry = new Entry(modified, totals[0], totals[1], totals[2], subdirectories);
+                entries.put(directory, entry);
+            }
+
+            return entry;
+        }
+    }
+
+    private static final class Entry {
+        private final long modified;
+        private final long apparentBytes;
+        private final long allocatedBytes;
+        private final long fileCount;
+        private final List<Path> subdirectories;
+
+        private Entry(long modified, long apparentBytes, long allocatedBytes, long fileCount,
+                      List<Path> subdirectories) {
+            this.modified = modified;
+            this.apparentBytes = apparentBytes;
+            this.allocatedBytes = allocatedBytes;
+            this.fileCount = fileCount;
+            this.subdirectories = subdirectories;
+        }
+    }
+}
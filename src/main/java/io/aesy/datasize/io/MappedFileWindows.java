@@ -0,0 +1,313 @@
+package io.aesy.datasize.io;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@code MappedFileWindows} maps a file into memory as a sequence of read-only windows of a
+ * fixed size, which lifts the {@literal 2 GiB} limit of a single {@code MappedByteBuffer}.
+ *
+ * <p>
+ * Windows are mapped on first access and kept in a small least recently used cache, such that both
+ * sequential scans and random access within a few regions map each window only once. Windows
+ * evicted from the cache are unmapped once they and all views of them are garbage collected, and
+ * count as released until then. Each access returns an independent view of the window, hence
+ * positions and limits are never shared between callers. Reads may span multiple windows.
+ * </p>
+ *
+ * <p>
+ * Instances are thread safe.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * try (MappedFileWindows windows = new MappedFileWindows(path, DataSize.parse("256 MiB"))) {
+ *     for (long index = 0; index < windows.getWindowCount(); index++) {
+ *         digest.update(windows.getWindow(index));
+ *     }
+ *
+ *     log.info("Mapped {}", windows.getMappedSize());
+ * }
+ * }</pre>
+ * </blockquote>
+ */
+public class MappedFileWindows implements Closeable {
+    private static final int DEFAULT_CACHE_SIZE = 4;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowBytes;
+    private final Map<Long, MappedByteBuffer> windows;
+    private final Map<Reference<MappedByteBuffer>, Long> released;
+    private final ReferenceQueue<MappedByteBuffer> unmapped;
+    private long cachedBytes;
+    private long releasedBytes;
+
+    /**
+     * Opens a file and maps it in windows of the given size, keeping at most four windows mapped.
+     *
+     * @param path The file to map
+     * @param windowSize The size of each window, rounded down to a whole amount of bytes
+     * @throws IOException If the file couldn't be opened
+     * @throws IllegalArgumentException If the window size is less than one byte or exceeds
+     *     {@code Integer.MAX_VALUE} bytes
+     */
+    public MappedFileWindows(Path path, DataSize windowSize) throws IOException {
+        this(path, windowSize, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Opens a file and maps it in windows of the given size.
+     *
+     * @param path The file to map
+     * @param windowSize The size of each window, rounded down to a whole amount of bytes
+     * @param cacheSize The largest amount of windows kept mapped
+     * @throws IOException If the file couldn't be opened
+     * @throws IllegalArgumentException If the window size is less than one byte or exceeds
+     *     {@code Integer.MAX_VALUE} bytes, or if the cache size isn't positive
+     */
+    public MappedFileWindows(Path path, DataSize windowSize, int cacheSize) throws IOException {
+        BigDecimal bytes = windowSize.toUnit(ByteUnit.BYTE)
+                                     .getValue()
+                                     .setScale(0, RoundingMode.DOWN);
+
+        if (bytes.signum() <= 0 || bytes.compareTo(BigDecimal.valueOf(Integer.MAX_VALUE)) > 0) {
+            throw new IllegalArgumentException(
+                "Window size must be between one byte and Integer.MAX_VALUE bytes");
+        }
+
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+
+        this.windowBytes = bytes.longValue();
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.released = new HashMap<>();
+        this.unmapped = new ReferenceQueue<>();
+        this.windows = new LinkedHashMap<Long, MappedByteBuffer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, MappedByteBuffer> eldest) {
+                if (size() <= cacheSize) {
+                    return false;
+                }
+
+                release(eldest.getValue());
+
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Gets the size of the file, as it was when opened.
+     *
+     * @return The size in bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Gets the amount of windows covering the file.
+     *
+     * @return The amount of windows
+     */
+    public long getWindowCount() {
+        long count = size / windowBytes;
+
+        if (size % windowBytes != 0) {
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the size of each window. The last window may be smaller.
+     *
+     * @return The window size
+     */
+    public DataSize getWindowSize() {
+        return DataSize.of(windowBytes, ByteUnit.BYTE);
+    }
+
+    /**
+     * Gets a window, mapping it if not already mapped.
+     *
+     * @param index The index of the window
+     * @return A read-only view of the window, positioned at its' start
+     * @throws IndexOutOfBoundsException If there's no window of the given index
+     * @throws UncheckedIOException If the window couldn't be mapped
+     */
+    public synchronized ByteBuffer getWindow(long index) {
+        if (index < 0 || index >= getWindowCount()) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+
+        MappedByteBuffer window = windows.get(index);
+
+        if (window == null) {
+            long position = index * windowBytes;
+            long length = Math.min(windowBytes, size - position);
+
+            try {
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+
+            cachedBytes += window.capacity();
+            windows.put(index, window);
+        }
+
+        return window.asReadOnlyBuffer();
+    }
+
+    /**
+     * Gets the window containing a position of the file, mapping it if not already mapped.
+     *
+     * @param position The position in the file
+     * @return A read-only view of the window, positioned at the given position
+     * @throws IndexOutOfBoundsException If the position is outside of the file
+     * @throws UncheckedIOException If the window couldn't be mapped
+     */
+    public ByteBuffer getWindowAt(long position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position: " + position);
+        }
+
+        ByteBuffer window = getWindow(position / windowBytes);
+        window.position((int) (position % windowBytes));
+
+        return window;
+    }
+
+    /**
+     * Reads bytes starting at a position of the file into a buffer, spanning windows as needed.
+     *
+     * @param position The position in the file
+     * @param target The buffer to read into
+     * @return The amount of bytes read, or -1 if the position is at or beyond the end of the file
+     * @throws IllegalArgumentException If the position is negative
+     * @throws UncheckedIOException If a window couldn't be mapped
+     */
+    public int read(long position, ByteBuffer target) {
+        if (position < 0) {
+            throw new IllegalArgumentException("Position must not be negative");
+        }
+
+        if (position >= size) {
+            return -1;
+        }
+
+        int read = 0;
+        long current = position;
+
+        while (target.hasRemaining() && current < size) {
+            ByteBuffer window = getWindowAt(current);
+            int length = Math.min(window.remaining(), target.remaining());
+            window.limit(window.position() + length);
+            target.put(window);
+            read += length;
+            current += length;
+        }
+
+        return read;
+    }
+
+    /**
+     * Gets the combined size of the windows currently mapped, including those released but not
+     * yet unmapped.
+     *
+     * @return The mapped size
+     */
+    public DataSize getMappedSize() {
+        return DataSize.of(getMappedBytes(), ByteUnit.BYTE);
+    }
+
+    /**
+     * Gets the combined size of the windows currently mapped, including those released but not
+     * yet unmapped, in bytes.
+     *
+     * @return The mapped size in bytes
+     */
+    public synchronized long getMappedBytes() {
+        expunge();
+
+        return cachedBytes + releasedBytes;
+    }
+
+    /**
+     * Gets the combined size of the windows evicted from the cache or released by closing, which
+     * remain mapped until they and all views of them are garbage collected.
+     *
+     * @return The released size
+     */
+    public DataSize getReleasedSize() {
+        return DataSize.of(getReleasedBytes(), ByteUnit.BYTE);
+    }
+
+    /**
+     * Gets the combined size of the windows evicted from the cache or released by closing, which
+     * remain mapped until they and all views of them are garbage collected, in bytes.
+     *
+     * @return The released size in bytes
+     */
+    public synchronized long getReleasedBytes() {
+        expunge();
+
+        return releasedBytes;
+    }
+
+    /**
+     * Closes the file and releases all windows. Views already handed out remain readable until
+     * garbage collected.
+     *
+     * @throws IOException If the file couldn't be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        for (MappedByteBuffer window : windows.values()) {
+            release(window);
+        }
+
+        windows.clear();
+        channel.close();
+    }
+
+    // Tracks a window dropped from the cache until the garbage collector unmaps it
+    private void release(MappedByteBuffer window) {
+        long bytes = window.capacity();
+        cachedBytes -= bytes;
+        releasedBytes += bytes;
+        released.put(new PhantomReference<>(window, unmapped), bytes);
+    }
+
+    private void expunge() {
+        Reference<? extends MappedByteBuffer> reference = unmapped.poll();
+
+        while (reference != null) {
+            releasedBytes -= released.remove(reference);
+            reference = unmapped.poll();
+        }
+    }
+}
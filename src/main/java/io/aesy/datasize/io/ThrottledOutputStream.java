@@ -0,0 +1,93 @@
+package io.aesy.datasize.io;
+
+import io.aesy.datasize.limit.BandwidthLimiter;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+
+/**
+ * A {@code ThrottledOutputStream} limits the rate at which bytes are written to an underlying
+ * output stream using a {@code BandwidthLimiter}.
+ *
+ * <p>
+ * Writes wait until the limiter allows them. Large arrays are written in chunks of at most the
+ * burst size of the limiter, such that data flows evenly rather than in large bursts. Instances
+ * are not thread safe, but the limiter may be shared between streams to limit their combined rate.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * BandwidthLimiter limiter = new BandwidthLimiter(DataRate.parse("50 MiB/s"));
+ *
+ * try (OutputStream output = new ThrottledOutputStream(socket.getOutputStream(), limiter)) {
+ *     backup.writeTo(output);
+ * }
+ * }</pre>
+ * </blockquote>
+ */
+public class ThrottledOutputStream extends FilterOutputStream {
+    private final BandwidthLimiter limiter;
+
+    /**
+     * Creates a {@code ThrottledOutputStream} wrapping the given output stream.
+     *
+     * @param output The output stream to wrap
+     * @param limiter The limiter to acquire written bytes from
+     */
+    public ThrottledOutputStream(OutputStream output, BandwidthLimiter limiter) {
+        super(output);
+
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        acquire(1);
+        out.write(value);
+    }
+
+    @Override
+    public void write(byte[] buffer, int offset, int length) throws IOException {
+        long chunk = limiter.getBurstBytes();
+        int written = 0;
+
+        while (written < length) {
+            int size = (int) Math.min(chunk, length - written);
+            acquire(size);
+            out.write(buffer, offset + written, size);
+            written += size;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Avoid FilterOutputStream swallowing exceptions thrown when flushing
+        try {
+            out.flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Gets the limiter of this stream.
+     *
+     * @return The limiter
+     */
+    public BandwidthLimiter getLimiter() {
+        return limiter;
+    }
+
+    private void acquire(long bytes) throws InterruptedIOException {
+        try {
+            limiter.acquire(bytes);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted while throttled");
+        }
+    }
+}
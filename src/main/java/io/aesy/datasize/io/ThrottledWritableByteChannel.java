@@ -0,0 +1,96 @@
+package io.aesy.datasize.io;
+
+import io.aesy.datasize.limit.BandwidthLimiter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@code ThrottledWritableByteChannel} limits the rate at which bytes are written to an
+ * underlying channel using a {@code BandwidthLimiter}.
+ *
+ * <p>
+ * Each write passes at most the burst size of the limiter to the underlying channel, after
+ * waiting until the limiter allows these bytes, such that no bytes are written ahead of the
+ * limited rate. Bytes acquired but not accepted by a non-blocking channel are credited to the
+ * next write rather than acquired again. Instances are thread safe if the underlying channel is.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * BandwidthLimiter limiter = new BandwidthLimiter(DataRate.parse("50 MiB/s"));
+ * WritableByteChannel channel = new ThrottledWritableByteChannel(socketChannel, limiter);
+ *
+ * while (buffer.hasRemaining()) {
+ *     channel.write(buffer);
+ * }
+ * }</pre>
+ * </blockquote>
+ */
+public class ThrottledWritableByteChannel implements WritableByteChannel {
+    private final WritableByteChannel channel;
+    private final BandwidthLimiter limiter;
+    private final AtomicLong credit;
+
+    /**
+     * Creates a {@code ThrottledWritableByteChannel}.
+     *
+     * @param channel The channel to wrap
+     * @param limiter The limiter to acquire written bytes from
+     */
+    public ThrottledWritableByteChannel(WritableByteChannel channel, BandwidthLimiter limiter) {
+        this.channel = channel;
+        this.limiter = limiter;
+        this.credit = new AtomicLong();
+    }
+
+    @Override
+    public int write(ByteBuffer buffer) throws IOException {
+        int limit = buffer.limit();
+        int size = (int) Math.min(buffer.remaining(), limiter.getBurstBytes());
+        long credited = credit.getAndSet(0);
+        long prepaid = Math.min(credited, size);
+        int written = 0;
+
+        try {
+            limiter.acquire(size - prepaid);
+
+            // Restrict the write to the acquired bytes without allocating a slice
+            buffer.limit(buffer.position() + size);
+            written = channel.write(buffer);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted while throttled");
+        } finally {
+            buffer.limit(limit);
+            // Acquired bytes remain acquired even if interrupted or not accepted by the channel
+            credit.addAndGet(credited - prepaid + size - written);
+        }
+
+        return written;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Gets the limiter of this channel.
+     *
+     * @return The limiter
+     */
+    public BandwidthLimiter getLimiter() {
+        return limiter;
+    }
+}
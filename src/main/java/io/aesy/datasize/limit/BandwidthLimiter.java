@@ -0,0 +1,271 @@
+package io.aesy.datasize.limit;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataRate;
+import io.aesy.datasize.DataSize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@code BandwidthLimiter} limits the rate at which data is transferred, such as the bandwidth
+ * used by backups or replication.
+ *
+ * <p>
+ * The limiter behaves like a token bucket that fills at the given rate, up to a burst size. It is
+ * implemented as a virtual scheduling algorithm, which keeps the whole state in a single atomic
+ * long amount of nanoseconds. Every acquisition is a lock-free compare-and-set involving only
+ * {@code long} arithmetic, no matter the units of the rate. The bucket starts full.
+ * </p>
+ *
+ * <p>
+ * Bytes may be acquired in three ways. {@code BandwidthLimiter#tryAcquire} never waits, and
+ * rejects acquisitions that don't fit in the bucket right away. {@code BandwidthLimiter#acquire}
+ * waits until the bytes are available, parking the calling thread rather than holding any lock or
+ * monitor, which also makes it suitable for virtual threads. {@code BandwidthLimiter#reserve}
+ * doesn't wait either, but instead returns how long the caller must wait, for callers that
+ * schedule their own continuations. Acquisitions larger than the burst size are allowed, except
+ * by {@code BandwidthLimiter#tryAcquire}, but take correspondingly longer to become available.
+ * </p>
+ *
+ * <p>
+ * Streams and channels may be throttled using {@code ThrottledOutputStream} and
+ * {@code ThrottledWritableByteChannel}. Instances are thread safe, and may be shared to limit the
+ * combined rate of multiple transfers.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * BandwidthLimiter limiter = new BandwidthLimiter(DataRate.parse("50 MiB/s"));
+ *
+ * try (OutputStream output = new ThrottledOutputStream(socket.getOutputStream(), limiter)) {
+ *     backup.writeTo(output);
+ * }
+ * }</pre>
+ * </blockquote>
+ *
+ * @see io.aesy.datasize.io.ThrottledOutputStream
+ * @see io.aesy.datasize.io.ThrottledWritableByteChannel
+ */
+public class BandwidthLimiter {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final DataRate rate;
+    private final long burstBytes;
+    private final long burstNanos;
+    private final LongSupplier nanoTime;
+    private final long origin;
+    private final AtomicLong next;
+
+    /**
+     * Creates a {@code BandwidthLimiter} with a burst size of one second worth of data.
+     *
+     * @param rate The rate to limit to
+     * @throws IllegalArgumentException If the rate is less than one byte per second
+     */
+    public BandwidthLimiter(DataRate rate) {
+        this(rate, DataSize.of(Math.max(1, rate.getBytesPerSecond()), ByteUnit.BYTE));
+    }
+
+    /**
+     * Creates a {@code BandwidthLimiter}.
+     *
+     * @param rate The rate to limit to
+     * @param burst The largest amount of data that may be transferred at once, rounded down to a
+     *     whole amount of bytes
+     * @throws IllegalArgumentException If the rate is less than one byte per second, or if the
+     *     burst size is less than one byte
+     */
+    public BandwidthLimiter(DataRate rate, DataSize burst) {
+        this(rate, burst, System::nanoTime);
+    }
+
+    // Allows tests to control the passage of time
+    /* package-private */ BandwidthLimiter(DataRate rate, DataSize burst, LongSupplier nanoTime) {
+        if (rate.getBytesPerSecond() < 1) {
+            throw new IllegalArgumentException("Rate must be at least one byte per second");
+        }
+
+        if (burst.toUnit(ByteUnit.BYTE).getValue().compareTo(BigDecimal.ONE) < 0) {
+            throw new IllegalArgumentException("Burst must be at least one byte");
+        }
+
+        this.rate = rate;
+        this.burstBytes = burst.toUnit(ByteUnit.BYTE)
+                               .getValue()
+                               .min(BigDecimal.valueOf(Long.MAX_VALUE))
+                               .setScale(0, RoundingMode.DOWN)
+                               .longValueExact();
+        this.burstNanos = rate.nanosFor(burstBytes);
+        this.nanoTime = nanoTime;
+        this.origin = nanoTime.getAsLong();
+        this.next = new AtomicLong();
+    }
+
+    /**
+     * Acquires an amount of bytes if immediately available.
+     *
+     * @param bytes The amount of bytes to acquire
+     * @return True if acquired, false otherwise
+     * @throws IllegalArgumentException If the amount of bytes is negative
+     */
+    public boolean tryAcquire(long bytes) {
+        return reserveWithin(bytes, 0) >= 0;
+    }
+
+    /**
+     * Acquires an amount of bytes if available within a timeout, waiting if necessary. The bytes
+     * are not acquired at all if they won't be available within the timeout.
+     *
+     * @param bytes The amount of bytes to acquire
+     * @param timeout The longest time to wait
+     * @param unit The unit of the timeout
+     * @return True if acquired, false otherwise
+     * @throws IllegalArgumentException If the amount of bytes is negative
+     * @throws InterruptedException If interrupted while waiting, in which case the bytes remain
+     *     acquired
+     */
+    public boolean tryAcquire(long bytes, long timeout, TimeUnit unit)
+        throws InterruptedException {
+        long wait = reserveWithin(bytes, unit.toNanos(Math.max(0, timeout)));
+
+        if (wait < 0) {
+            return false;
+        }
+
+        if (wait > 0) {
+            waitUntil(now() + wait);
+        }
+
+        return true;
+    }
+
+    /**
+     * Acquires an amount of bytes, waiting until they are available.
+     *
+     * @param bytes The amount of bytes to acquire
+     * @throws IllegalArgumentException If the amount of bytes is negative
+     * @throws InterruptedException If interrupted while waiting, in which case the bytes remain
+     *     acquired
+     */
+    public void acquire(long bytes) throws InterruptedException {
+        long wait = reserve(bytes);
+
+        if (wait > 0) {
+            waitUntil(now() + wait);
+        }
+    }
+
+    /**
+     * Acquires an amount of bytes without waiting, and returns the amount of nanoseconds until
+     * they are available. The caller is responsible for waiting before transferring them.
+     *
+     * @param bytes The amount of bytes to acquire
+     * @return The amount of nanoseconds to wait, or zero if available immediately
+     * @throws IllegalArgumentException If the amount of bytes is negative
+     */
+    public long reserve(long bytes) {
+        return reserveWithin(bytes, Long.MAX_VALUE);
+    }
+
+    /**
+     * Gets the rate this limiter limits to.
+     *
+     * @return The rate
+     */
+    public DataRate getRate() {
+        return rate;
+    }
+
+    /**
+     * Gets the largest amount of data that may be transferred at once.
+     *
+     * @return The burst size
+     */
+    public DataSize getBurst() {
+        return DataSize.of(burstBytes, ByteUnit.BYTE);
+    }
+
+    /**
+     * Gets the largest amount of bytes that may be transferred at once.
+     *
+     * @return The burst size in bytes
+     */
+    public long getBurstBytes() {
+        return burstBytes;
+    }
+
+    /**
+     * Gets the amount of bytes that are available immediately.
+     *
+     * @return The amount of bytes
+     */
+    public long getAvailableBytes() {
+        long debt = Math.max(0, next.get() - now());
+
+        return Math.max(0, burstBytes - rate.bytesIn(Math.min(debt, burstNanos)));
+    }
+
+    @Override
+    public String toString() {
+        return rate + " (burst " + getBurst() + ")";
+    }
+
+    private long reserveWithin(long bytes, long allowance) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Bytes must not be negative");
+        }
+
+        long cost = rate.nanosFor(bytes);
+        long now;
+        long current;
+        long updated;
+        long wait;
+
+        do {
+            now = now();
+            current = next.get();
+            // The bucket is full once the schedule has fallen behind the current time
+            updated = saturatedAdd(Math.max(current, now), cost);
+            wait = updated - now - burstNanos;
+
+            if (wait > allowance) {
+                return -1;
+            }
+        } while (!next.compareAndSet(current, updated));
+
+        return Math.max(0, wait);
+    }
+
+    private long now() {
+        // Relative to creation, such that the state never overflows in practice
+        return nanoTime.getAsLong() - origin;
+    }
+
+    private void waitUntil(long deadline) throws InterruptedException {
+        long remaining = deadline - now();
+
+        while (remaining > 0) {
+            LockSupport.parkNanos(this, Math.min(remaining, NANOS_PER_SECOND));
+
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+
+            remaining = deadline - now();
+        }
+    }
+
+    private static long saturatedAdd(long value, long addend) {
+        if (value > Long.MAX_VALUE - addend) {
+            return Long.MAX_VALUE;
+        }
+
+        return value + addend;
+    }
+}
@@ -0,0 +1,324 @@
+package io.aesy.datasize.limit;
+
+import io.aesy.datasize.BitUnit;
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A {@code DataSizeQuota} enforces a limit on the amount of data in use, such as the storage of a
+ * user or the body of a request.
+ *
+ * <p>
+ * Usage is counted in bits in a single atomic long, hence the limit must not exceed
+ * {@code Long.MAX_VALUE} bits, about {@literal 1 EiB}. Reservations and releases are lock-free
+ * and involve no conversions or allocations, which makes them cheap enough to be made for every
+ * chunk of an upload stream. A reservation either fits within the hard limit entirely or is
+ * rejected without changing usage.
+ * </p>
+ *
+ * <p>
+ * An optional soft limit, below the hard limit, triggers listeners once usage reaches it, for
+ * example to warn users that they are running out of space. Listeners are also notified of
+ * rejected reservations. A listener that throws neither prevents the other listeners from being
+ * notified nor changes the outcome of the reservation or release; its' exception is passed to the
+ * uncaught exception handler of the calling thread instead. Instances are thread safe.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * DataSizeQuota quota = new DataSizeQuota(DataSize.parse("10 GiB"), DataSize.parse("9 GiB"));
+ *
+ * int read;
+ * while ((read = input.read(buffer)) != -1) {
+ *     if (!quota.tryReserve(read)) {
+ *         throw new QuotaExceededException(quota.getRemaining());
+ *     }
+ *
+ *     output.write(buffer, 0, read);
+ * }
+ * }</pre>
+ * </blockquote>
+ *
+ * @see DataSizeQuotaListener
+ */
+public class DataSizeQuota {
+    private static final BigDecimal LONG_MAX_VALUE = BigDecimal.valueOf(Long.MAX_VALUE);
+    private static final long NO_SOFT_LIMIT = -1;
+
+    private final long limit;
+    private final long softLimit;
+    private final AtomicLong usage;
+    private final List<DataSizeQuotaListener> listeners;
+
+    /**
+     * Creates a {@code DataSizeQuota} without a soft limit, hence listeners are only notified of
+     * rejected reservations.
+     *
+     * @param limit The hard limit
+     * @throws IllegalArgumentException If the limit is negative or exceeds
+     *     {@code Long.MAX_VALUE} bits
+     */
+    public DataSizeQuota(DataSize limit) {
+        this(toBits(limit), NO_SOFT_LIMIT);
+    }
+
+    /**
+     * Creates a {@code DataSizeQuota}.
+     *
+     * @param limit The hard limit
+     * @param softLimit The soft limit, at which listeners are notified
+     * @throws IllegalArgumentException If either limit is negative, if the soft limit exceeds the
+     *     hard limit, or if the limit exceeds {@code Long.MAX_VALUE} bits
+     */
+    public DataSizeQuota(DataSize limit, DataSize softLimit) {
+        this(toBits(limit), toBits(softLimit));
+
+        if (this.softLimit > this.limit) {
+            throw new IllegalArgumentException("Soft limit must not exceed limit");
+        }
+    }
+
+    private DataSizeQuota(long limit, long softLimit) {
+        this.limit = limit;
+        this.softLimit = softLimit;
+        this.usage = new AtomicLong();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Adds a listener to be notified of threshold events.
+     *
+     * @param listener The listener to add
+     */
+    public void addListener(DataSizeQuotaListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a previously added listener.
+     *
+     * @param listener The listener to remove
+     */
+    public void removeListener(DataSizeQuotaListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Attempts to reserve an amount of bytes.
+     *
+     * @param bytes The amount of bytes to reserve
+     * @return True if reserved, false if the reservation would exceed the limit
+     * @throws IllegalArgumentException If the amount of bytes is negative
+     */
+    public boolean tryReserve(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Bytes must not be negative");
+        }
+
+        if (bytes > Long.MAX_VALUE / Byte.SIZE) {
+            return reject(DataSize.of(bytes, ByteUnit.BYTE));
+        }
+
+        return tryReserveBits(bytes * Byte.SIZE);
+    }
+
+    /**
+     * Attempts to reserve a {@code DataSize}, rounded up to a whole amount of bits.
+     *
+     * @param dataSize The {@code DataSize} to reserve
+     * @return True if reserved, false if the reservation would exceed the limit
+     * @throws IllegalArgumentException If the {@code DataSize} is negative
+     */
+    public boolean tryReserve(DataSize dataSize) {
+        BigDecimal bits = dataSize.toUnit(BitUnit.BIT)
+                                  .getValue()
+                                  .setScale(0, RoundingMode.CEILING);
+
+        if (bits.signum() < 0) {
+            throw new IllegalArgumentException("DataSize must not be negative");
+        }
+
+        if (bits.compareTo(LONG_MAX_VALUE) > 0) {
+            return reject(dataSize);
+        }
+
+        return tryReserveBits(bits.longValue());
+    }
+
+    /**
+     * Releases an amount of bytes previously reserved.
+     *
+     * @param bytes The amount of bytes to release
+     * @throws IllegalArgumentException If the amount of bytes is negative or exceeds the usage
+     */
+    public void release(long bytes) {
+        if (bytes < 0 || bytes > Long.MAX_VALUE / Byte.SIZE) {
+            throw new IllegalArgumentException("Bytes must not be negative or exceed usage");
+        }
+
+        releaseBits(bytes * Byte.SIZE);
+    }
+
+    /**
+     * Releases a {@code DataSize} previously reserved, rounded up to a whole amount of bits.
+     *
+     * @param dataSize The {@code DataSize} to release
+     * @throws IllegalArgumentException If the {@code DataSize} is negative or exceeds the usage
+     */
+    public void release(DataSize dataSize) {
+        releaseBits(toBits(dataSize));
+    }
+
+    /**
+     * Gets the hard limit.
+     *
+     * @return The hard limit
+     */
+    public DataSize getLimit() {
+        return toDataSize(limit);
+    }
+
+    /**
+     * Gets the soft limit. Equals the hard limit if no soft limit was given.
+     *
+     * @return The soft limit
+     */
+    public DataSize getSoftLimit() {
+        if (softLimit == NO_SOFT_LIMIT) {
+            return toDataSize(limit);
+        }
+
+        return toDataSize(softLimit);
+    }
+
+    /**
+     * Gets the amount currently reserved.
+     *
+     * @return The usage
+     */
+    public DataSize getUsage() {
+        return toDataSize(usage.get());
+    }
+
+    /**
+     * Gets the amount that may still be reserved.
+     *
+     * @return The remaining capacity
+     */
+    public DataSize getRemaining() {
+        return toDataSize(limit - usage.get());
+    }
+
+    /**
+     * Gets the amount of whole bytes that may still be reserved, which is cheaper than
+     * {@code DataSizeQuota#getRemaining}.
+     *
+     * @return The remaining capacity in bytes
+     */
+    public long getRemainingBytes() {
+        return (limit - usage.get()) / Byte.SIZE;
+    }
+
+    @Override
+    public String toString() {
+        return getUsage() + " / " + getLimit();
+    }
+
+    private boolean tryReserveBits(long bits) {
+        long current;
+        long next;
+
+        do {
+            current = usage.get();
+
+            // Both are non-negative, hence the subtraction can't overflow
+            if (bits > limit - current) {
+                if (listeners.isEmpty()) {
+                    return false;
+                }
+
+                return reject(toDataSize(bits));
+            }
+
+            next = current + bits;
+        } while (!usage.compareAndSet(current, next));
+
+        if (softLimit == NO_SOFT_LIMIT || listeners.isEmpty()) {
+            return true;
+        }
+
+        if (current < softLimit && next >= softLimit && bits > 0) {
+            DataSize dataSize = toDataSize(next);
+            notifyListeners(listener -> listener.onSoftLimitExceeded(this, dataSize));
+        }
+
+        return true;
+    }
+
+    private void releaseBits(long bits) {
+        long current;
+        long next;
+
+        do {
+            current = usage.get();
+            next = current - bits;
+
+            if (next < 0) {
+                throw new IllegalArgumentException("Bytes must not be negative or exceed usage");
+            }
+        } while (!usage.compareAndSet(current, next));
+
+        if (softLimit == NO_SOFT_LIMIT || listeners.isEmpty()) {
+            return;
+        }
+
+        if (current >= softLimit && next < softLimit) {
+            DataSize dataSize = toDataSize(next);
+            notifyListeners(listener -> listener.onSoftLimitRecovered(this, dataSize));
+        }
+    }
+
+    private boolean reject(DataSize requested) {
+        notifyListeners(listener -> listener.onHardLimitRejected(this, requested));
+
+        return false;
+    }
+
+    // The usage has already been updated, hence the outcome must stand whatever listeners do
+    @SuppressWarnings("illegalCatch")
+    private void notifyListeners(Consumer<DataSizeQuotaListener> event) {
+        for (DataSizeQuotaListener listener : listeners) {
+            try {
+                event.accept(listener);
+            } catch (RuntimeException exception) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, exception);
+            }
+        }
+    }
+
+    private static long toBits(DataSize dataSize) {
+        BigDecimal bits = dataSize.toUnit(BitUnit.BIT)
+                                  .getValue()
+                                  .setScale(0, RoundingMode.CEILING);
+
+        if (bits.signum() < 0 || bits.compareTo(LONG_MAX_VALUE) > 0) {
+            throw new IllegalArgumentException(
+                "DataSize must not be negative or exceed Long.MAX_VALUE bits");
+        }
+
+        return bits.longValue();
+    }
+
+    private static DataSize toDataSize(long bits) {
+        return DataSize.of(bits, BitUnit.BIT).toUnit(ByteUnit.BYTE);
+    }
+}
@@ -0,0 +1,40 @@
+package io.aesy.datasize.limit;
+
+import io.aesy.datasize.DataSize;
+
+/**
+ * A {@code DataSizeQuotaListener} is notified of threshold events of a {@code DataSizeQuota}.
+ *
+ * <p>
+ * Listeners are called on the thread that caused the event, after the usage of the quota has been
+ * updated, and should therefore return quickly. Events are edge triggered; crossing the soft
+ * limit is only reported again after usage has dropped below it.
+ * </p>
+ *
+ * @see DataSizeQuota
+ */
+public interface DataSizeQuotaListener {
+    /**
+     * Called when a reservation makes usage reach or exceed the soft limit.
+     *
+     * @param quota The quota
+     * @param usage The usage after the reservation
+     */
+    default void onSoftLimitExceeded(DataSizeQuota quota, DataSize usage) {}
+
+    /**
+     * Called when a release makes usage drop below the soft limit again.
+     *
+     * @param quota The quota
+     * @param usage The usage after the release
+     */
+    default void onSoftLimitRecovered(DataSizeQuota quota, DataSize usage) {}
+
+    /**
+     * Called when a reservation is rejected because it would exceed the hard limit.
+     *
+     * @param quota The quota
+     * @param requested The amount that was requested
+     */
+    default void onHardLimitRejected(DataSizeQuota quota, DataSize requested) {}
+}
@@ -0,0 +1,424 @@
+package io.aesy.datasize.memory;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@code DataSizeBufferPool} pools {@code ByteBuffer} objects in size classes aligned to the
+ * IEC units, such as {@literal 4 KiB}, {@literal 8 KiB} and so on up to {@literal 1 MiB}.
+ *
+ * <p>
+ * Requests are rounded up to the nearest size class, and the returned buffer has its' limit set to
+ * the requested size. Requests larger than the largest size class are allocated without pooling.
+ * Released buffers are first kept in a small cache of the releasing thread, which requires no
+ * synchronization beyond reserving room for them, and then in a lock-free free list shared by all
+ * threads. The amount of memory retained by the pool, including the caches of threads, never
+ * exceeds its' capacity; buffers released beyond it are left to the garbage collector. Buffers
+ * cached by threads that have terminated are moved to the shared free list once another thread
+ * first uses the pool.
+ * </p>
+ *
+ * <p>
+ * Buffers must not be used after being released, and must be released at most once. Ownership of
+ * buffers isn't tracked. Instead, a buffer of a size class of this pool is only taken back while
+ * buffers of that size class are outstanding, such that the outstanding amount never becomes
+ * negative. Instances are thread safe.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * DataSizeBufferPool pool = new DataSizeBufferPool(DataSize.parse("4 KiB"),
+ *     DataSize.parse("1 MiB"), DataSize.parse("256 MiB"), true);
+ *
+ * ByteBuffer buffer = pool.acquire(DataSize.parse("64 KiB"));
+ * try {
+ *     channel.read(buffer);
+ * } finally {
+ *     pool.release(buffer);
+ * }
+ * }</pre>
+ * </blockquote>
+ */
+public class DataSizeBufferPool {
+    private static final int THREAD_CACHE_SIZE = 4;
+    private static final int MAX_CLASS_SHIFT = 30;
+
+    private final int minimumShift;
+    private final int maximumShift;
+    private final long capacity;
+    private final boolean direct;
+    private final Queue<ByteBuffer>[] shared;
+    private final ThreadLocal<ThreadCache> caches;
+    private final Queue<ThreadCache> threadCaches;
+    private final AtomicLong pooledBytes;
+    private final AtomicLongArray outstanding;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    /**
+     * Creates a {@code DataSizeBufferPool} of direct buffers in size classes from
+     * {@literal 4 KiB} to {@literal 1 MiB}.
+     *
+     * @param capacity The largest amount of memory retained by the pool
+     * @throws IllegalArgumentException If the capacity is negative
+     */
+    public DataSizeBufferPool(DataSize capacity) {
+        this(DataSize.of(4, ByteUnit.IEC.KIBIBYTE), DataSize.of(1, ByteUnit.IEC.MEBIBYTE),
+            capacity, true);
+    }
+
+    /**
+     * Creates a {@code DataSizeBufferPool}.
+     *
+     * @param minimumClass The smallest size class, rounded up to a power of two bytes
+     * @param maximumClass The largest size class, rounded up to a power of two bytes
+     * @param capacity The largest amount of memory retained by the pool
+     * @param direct Whether to allocate direct buffers rather than heap buffers
+     * @throws IllegalArgumentException If the capacity is negative, if the smallest size class
+     *     exceeds the largest, or if the largest exceeds {@literal 1 GiB}
+     */
+    @SuppressWarnings("unchecked")
+    public DataSizeBufferPool(DataSize minimumClass, DataSize maximumClass, DataSize capacity,
+                              boolean direct) {
+        this.minimumShift = shiftOf(toBytes(minimumClass));
+        this.maximumShift = shiftOf(toBytes(maximumClass));
+        this.capacity = toBytes(capacity);
+        this.direct = direct;
+
+        if (minimumShift > maximumShift) {
+            throw new IllegalArgumentException("Minimum class must not exceed maximum class");
+        }
+
+        if (maximumShift > MAX_CLASS_SHIFT) {
+            throw new IllegalArgumentException("Maximum class must not exceed 1 GiB");
+        }
+
+        int classes = maximumShift - minimumShift + 1;
+
+        this.shared = new Queue[classes];
+        this.caches = ThreadLocal.withInitial(() -> register(classes));
+        this.threadCaches = new ConcurrentLinkedQueue<>();
+        this.pooledBytes = new AtomicLong();
+        this.outstanding = new AtomicLongArray(classes);
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+
+        for (int index = 0; index < classes; index++) {
+            shared[index] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /**
+     * Acquires a buffer of at least the given size.
+     *
+     * @param bytes The size in bytes
+     * @return A cleared buffer, with its' limit set to the given size
+     * @throws IllegalArgumentException If the size is negative
+     */
+    public ByteBuffer acquire(int bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Size must not be negative");
+        }
+
+        int shift = Math.max(minimumShift, shiftOf(bytes));
+
+        if (shift > maximumShift) {
+            misses.increment();
+
+            return allocate(bytes);
+        }
+
+        int index = shift - minimumShift;
+        ByteBuffer[] cache = caches.get().buffers[index];
+        ByteBuffer buffer = null;
+
+        for (int slot = 0; slot < cache.length && buffer == null; slot++) {
+            buffer = cache[slot];
+            cache[slot] = null;
+        }
+
+        if (buffer == null) {
+            buffer = shared[index].poll();
+        }
+
+        if (buffer == null) {
+            misses.increment();
+            buffer = allocate(1 << shift);
+        } else {
+            hits.increment();
+            pooledBytes.addAndGet(-buffer.capacity());
+        }
+
+        outstanding.incrementAndGet(index);
+        buffer.limit(bytes);
+
+        return buffer;
+    }
+
+    /**
+     * Acquires a buffer of at least the given size.
+     *
+     * @param size The size, rounded up to a whole amount of bytes
+     * @return A cleared buffer, with its' limit set to the given size
+     * @throws IllegalArgumentException If the size is negative or exceeds
+     *     {@code Integer.MAX_VALUE} bytes
+     */
+    public ByteBuffer acquire(DataSize size) {
+        long bytes = toBytes(size);
+
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Size must not exceed Integer.MAX_VALUE bytes");
+        }
+
+        return acquire((int) bytes);
+    }
+
+    /**
+     * Returns a buffer to the pool. Buffers not of a size class of this pool, buffers of a size
+     * class without outstanding buffers, and buffers beyond the capacity of the pool are left to
+     * the garbage collector.
+     *
+     * @param buffer The buffer to release
+     */
+    public void release(ByteBuffer buffer) {
+        int size = buffer.capacity();
+        int shift = shiftOf(size);
+
+        if (buffer.isDirect() != direct || size != 1 << shift || shift < minimumShift ||
+            shift > maximumShift) {
+            return;
+        }
+
+        int index = shift - minimumShift;
+        long count;
+
+        do {
+            count = outstanding.get(index);
+
+            if (count == 0) {
+                // Not acquired from this pool, or released more than once
+                return;
+            }
+        } while (!outstanding.compareAndSet(index, count, count - 1));
+
+        long current;
+
+        // Reserve room for the buffer whether cached by the thread or shared
+        do {
+            current = pooledBytes.get();
+
+            if (current + size > capacity) {
+                return;
+            }
+        } while (!pooledBytes.compareAndSet(current, current + size));
+
+        buffer.clear();
+
+        ByteBuffer[] cache = caches.get().buffers[index];
+
+        for (int slot = 0; slot < cache.length; slot++) {
+            if (cache[slot] == null) {
+                cache[slot] = buffer;
+
+                return;
+            }
+        }
+
+        shared[index].offer(buffer);
+    }
+
+    /**
+     * Gets the size classes of this pool, from smallest to largest.
+     *
+     * @return The size classes
+     */
+    public List<DataSize> getSizeClasses() {
+        List<DataSize> classes = new ArrayList<>();
+
+        for (int shift = minimumShift; shift <= maximumShift; shift++) {
+            classes.add(DataSize.of(1L << shift, ByteUnit.BYTE));
+        }
+
+        return Collections.unmodifiableList(classes);
+    }
+
+    /**
+     * Gets the largest amount of memory retained by the pool.
+     *
+     * @return The capacity
+     */
+    public DataSize getCapacity() {
+        return DataSize.of(capacity, ByteUnit.BYTE);
+    }
+
+    /**
+     * Takes a snapshot of the statistics of this pool.
+     *
+     * @return A snapshot
+     */
+    public Stats getStats() {
+        long outstandingBytes = 0;
+
+        for (int index = 0; index < outstanding.length(); index++) {
+            outstandingBytes += outstanding.get(index) << (minimumShift + index);
+        }
+
+        return new Stats(outstandingBytes, pooledBytes.get(), hits.sum(), misses.sum());
+    }
+
+    private ThreadCache register(int classes) {
+        // Threads are commonly replaced as they terminate, which makes this a good time to reclaim
+        reclaim();
+
+        ThreadCache cache = new ThreadCache(Thread.currentThread(), classes);
+        threadCaches.offer(cache);
+
+        return cache;
+    }
+
+    // Moves the buffers cached by terminated threads to the shared free list
+    private void reclaim() {
+        synchronized (threadCaches) {
+            Iterator<ThreadCache> iterator = threadCaches.iterator();
+
+            while (iterator.hasNext()) {
+                ThreadCache cache = iterator.next();
+
+                // Detecting termination makes the writes of the thread visible
+                if (cache.owner.isAlive()) {
+                    continue;
+                }
+
+                iterator.remove();
+
+                for (int index = 0; index < cache.buffers.length; index++) {
+                    for (ByteBuffer buffer : cache.buffers[index]) {
+                        if (buffer != null) {
+                            // Room was reserved when cached
+                            shared[index].offer(buffer);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private ByteBuffer allocate(int bytes) {
+        if (direct) {
+            return ByteBuffer.allocateDirect(bytes);
+        }
+
+        return ByteBuffer.allocate(bytes);
+    }
+
+    private static int shiftOf(long bytes) {
+        if (bytes > 1L << MAX_CLASS_SHIFT) {
+            // Larger than any size class
+            return MAX_CLASS_SHIFT + 1;
+        }
+
+        if (bytes <= 1) {
+            return 0;
+        }
+
+        return Long.SIZE - Long.numberOfLeadingZeros(bytes - 1);
+    }
+
+    private static long toBytes(DataSize size) {
+        BigDecimal bytes = size.toUnit(ByteUnit.BYTE).getValue().setScale(0, RoundingMode.CEILING);
+
+        if (bytes.signum() < 0) {
+            throw new IllegalArgumentException("Size must not be negative");
+        }
+
+        return bytes.min(BigDecimal.valueOf(Long.MAX_VALUE)).longValueExact();
+    }
+
+    /**
+     * A snapshot of the statistics of a {@code DataSizeBufferPool}.
+     */
+    public static final class Stats {
+        private final long outstandingBytes;
+        private final long pooledBytes;
+        private final long hitCount;
+        private final long missCount;
+
+        private Stats(long outstandingBytes, long pooledBytes, long hitCount, long missCount) {
+            this.outstandingBytes = outstandingBytes;
+            this.pooledBytes = pooledBytes;
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+        }
+
+        /**
+         * Gets the combined capacity of pooled buffers that have been acquired but not released.
+         *
+         * @return The outstanding amount
+         */
+        public DataSize getOutstanding() {
+            return DataSize.of(outstandingBytes, ByteUnit.BYTE);
+        }
+
+        /**
+         * Gets the combined capacity of the buffers retained by the pool, including those cached
+         * by threads.
+         *
+         * @return The pooled amount
+         */
+        public DataSize getPooled() {
+            return DataSize.of(pooledBytes, ByteUnit.BYTE);
+        }
+
+        /**
+         * Gets the amount of acquisitions served by a pooled buffer.
+         *
+         * @return The amount of hits
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * Gets the amount of acquisitions that allocated a new buffer.
+         *
+         * @return The amount of misses
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" +
+                "outstanding=" + getOutstanding() +
+                ", pooled=" + getPooled() +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                '}';
+        }
+    }
+
+    private static final class ThreadCache {
+        private final Thread owner;
+        private final ByteBuffer[][] buffers;
+
+        private ThreadCache(Thread owner, int classes) {
+            this.owner = owner;
+            this.buffers = new ByteBuffer[classes][THREAD_CACHE_SIZE];
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package io.aesy.datasize.memory;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+
+import java.io.Closeable;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code MemorySampler} periodically takes {@code MemoryStats} snapshots and notifies
+ * listeners when usage crosses thresholds.
+ *
+ * <p>
+ * Sampling runs on a single daemon thread. The latest sample may be read at any time without
+ * taking a new snapshot, which makes it suitable for frequent checks on hot paths, such as cache
+ * admission. Thresholds are compared on long amounts of bytes. Instances are thread safe.
+ * </p>
+ *
+ * <p>
+ * A listener that throws doesn't prevent the other listeners from being notified. Exceptions are
+ * rethrown by {@code MemorySampler#sample}, and passed to the uncaught exception handler of the
+ * sampling thread when sampling periodically, which carries on sampling regardless.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * MemorySampler sampler = new MemorySampler(Duration.ofSeconds(1));
+ * DataSize threshold = sampler.getLatest().fractionOfMaxHeap(0.9);
+ *
+ * sampler.addListener(MemoryStats.Area.HEAP, threshold, new MemoryThresholdListener() {
+ *     public void onThresholdExceeded(MemoryStats stats) {
+ *         cache.shrink();
+ *     }
+ * });
+ * sampler.start();
+ * }</pre>
+ * </blockquote>
+ *
+ * @see MemoryStats
+ */
+public class MemorySampler implements Closeable {
+    private final Duration interval;
+    private final List<Threshold> thresholds;
+    private volatile MemoryStats latest;
+    private ScheduledExecutorService executor;
+
+    /**
+     * Creates a {@code MemorySampler}. Sampling doesn't begin until started.
+     *
+     * @param interval The interval between samples
+     * @throws IllegalArgumentException If the interval isn't positive
+     */
+    public MemorySampler(Duration interval) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Interval must be positive");
+        }
+
+        this.interval = interval;
+        this.thresholds = new CopyOnWriteArrayList<>();
+        this.latest = MemoryStats.snapshot();
+    }
+
+    /**
+     * Adds a listener to be notified when the usage of an area crosses a threshold.
+     *
+     * @param area The area to watch
+     * @param threshold The threshold, rounded up to a whole amount of bytes
+     * @param listener The listener to notify
+     */
+    public void addListener(MemoryStats.Area area, DataSize threshold,
+                            MemoryThresholdListener listener) {
+        long bytes = threshold.toUnit(ByteUnit.BYTE)
+                              .getValue()
+                              .setScale(0, RoundingMode.CEILING)
+                              .longValueExact();
+
+        thresholds.add(new Threshold(area, bytes, listener));
+    }
+
+    /**
+     * Removes a previously added listener from all thresholds it was added to.
+     *
+     * @param listener The listener to remove
+     */
+    public void removeListener(MemoryThresholdListener listener) {
+        thresholds.removeIf(threshold -> threshold.listener == listener);
+    }
+
+    /**
+     * Starts sampling periodically. Does nothing if already started.
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "datasize-memory-sampler");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        long nanos = interval.toNanos();
+        executor.scheduleAtFixedRate(this::sampleScheduled, nanos, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Takes a sample right away and notifies listeners of any crossed thresholds.
+     *
+     * @return The sample
+     * @throws RuntimeException If any listener throws, after all other listeners have been
+     *     notified. Exceptions of further listeners are added as suppressed exceptions
+     */
+    @SuppressWarnings("illegalCatch")
+    public MemoryStats sample() {
+        MemoryStats stats = MemoryStats.snapshot();
+        RuntimeException failure = null;
+        latest = stats;
+
+        for (Threshold threshold : thresholds) {
+            try {
+                threshold.check(stats);
+            } catch (RuntimeException exception) {
+                // The threshold has been crossed regardless, so carry on with the other listeners
+                if (failure == null) {
+                    failure = exception;
+                } else {
+                    failure.addSuppressed(exception);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+
+        return stats;
+    }
+
+    /**
+     * Gets the latest sample.
+     *
+     * @return The latest sample
+     */
+    public MemoryStats getLatest() {
+        return latest;
+    }
+
+    /**
+     * Stops sampling.
+     */
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    // An exception escaping a periodic task would cancel all of its' later runs
+    @SuppressWarnings("illegalCatch")
+    private void sampleScheduled() {
+        try {
+            sample();
+        } catch (RuntimeException exception) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, exception);
+        }
+    }
+
+    private static final class Threshold {
+        private final MemoryStats.Area area;
+        private final long bytes;
+        private final MemoryThresholdListener listener;
+        private boolean exceeded;
+
+        private Threshold(MemoryStats.Area area, long bytes, MemoryThresholdListener listener) {
+            this.area = area;
+            this.bytes = bytes;
+            this.listener = listener;
+        }
+
+        private synchronized void check(MemoryStats stats) {
+            boolean exceeds = stats.getUsedBytes(area) >= bytes;
+
+            if (exceeds == exceeded) {
+                return;
+            }
+
+            exceeded = exceeds;
+
+            if (exceeds) {
+                listener.onThresholdExceeded(stats);
+            } else {
+                listener.onThresholdRecovered(stats);
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package io.aesy.datasize.memory;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@code MemoryStats} object is a snapshot of the memory usage of the JVM, expressed as
+ * {@code DataSize} objects.
+ *
+ * <p>
+ * Usage is reported for the heap, non-heap memory, the direct and mapped buffer pools, and each
+ * memory pool, such as the eden space of the garbage collector. The management beans are looked
+ * up once, amounts are kept as longs, and {@code DataSize} objects are only created when read,
+ * which makes snapshots cheap enough to take frequently. Amounts that the JVM doesn't report are
+ * zero.
+ * </p>
+ *
+ * <p>
+ * Caches may size themselves as a fraction of the heap using
+ * {@code MemoryStats#fractionOfMaxHeap}. Usage may be polled and watched using a
+ * {@code MemorySampler}.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * MemoryStats stats = MemoryStats.snapshot();
+ * DataSize cacheSize = stats.fractionOfMaxHeap(0.25);
+ *
+ * log.info("Heap: {} of {}", stats.getUsed(MemoryStats.Area.HEAP), stats.getHeapMax());
+ * }</pre>
+ * </blockquote>
+ *
+ * @see MemorySampler
+ */
+public final class MemoryStats {
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+    private static final List<MemoryPoolMXBean> MEMORY_POOLS =
+        ManagementFactory.getMemoryPoolMXBeans();
+    private static final List<BufferPoolMXBean> BUFFER_POOLS =
+        ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class);
+    private static final String DIRECT_POOL = "direct";
+    private static final String MAPPED_POOL = "mapped";
+
+    private final long[] used;
+    private final long[] committed;
+    private final long heapMax;
+    private final Map<String, Long> pools;
+
+    private MemoryStats() {
+        int areas = Area.values().length;
+
+        this.used = new long[areas];
+        this.committed = new long[areas];
+
+        MemoryUsage heap = MEMORY.getHeapMemoryUsage();
+        MemoryUsage nonHeap = MEMORY.getNonHeapMemoryUsage();
+
+        used[Area.HEAP.ordinal()] = heap.getUsed();
+        committed[Area.HEAP.ordinal()] = heap.getCommitted();
+        used[Area.NON_HEAP.ordinal()] = nonHeap.getUsed();
+        committed[Area.NON_HEAP.ordinal()] = nonHeap.getCommitted();
+
+        // The JVM reports undefined maximums as -1
+        this.heapMax = Math.max(heap.getMax(), heap.getCommitted());
+
+        for (BufferPoolMXBean pool : BUFFER_POOLS) {
+            Area area = null;
+
+            if (DIRECT_POOL.equals(pool.getName())) {
+                area = Area.DIRECT;
+            } else if (MAPPED_POOL.equals(pool.getName())) {
+                area = Area.MAPPED;
+            }
+
+            if (area != null) {
+                used[area.ordinal()] = Math.max(0, pool.getMemoryUsed());
+                committed[area.ordinal()] = Math.max(0, pool.getTotalCapacity());
+            }
+        }
+
+        Map<String, Long> poolUsage = new LinkedHashMap<>();
+
+        for (MemoryPoolMXBean pool : MEMORY_POOLS) {
+            MemoryUsage usage = pool.getUsage();
+
+            if (usage != null) {
+                poolUsage.put(pool.getName(), usage.getUsed());
+            }
+        }
+
+        this.pools = Collections.unmodifiableMap(poolUsage);
+    }
+
+    /**
+     * Takes a snapshot of the current memory usage.
+     *
+     * @return A snapshot
+     */
+    public static MemoryStats snapshot() {
+        return new MemoryStats();
+    }
+
+    /**
+     * Gets the amount of memory used in an area.
+     *
+     * @param area The area
+     * @return The amount used
+     */
+    public DataSize getUsed(Area area) {
+        return toDataSize(used[area.ordinal()]);
+    }
+
+    /**
+     * Gets the amount of bytes used in an area.
+     *
+     * @param area The area
+     * @return The amount of bytes used
+     */
+    public long getUsedBytes(Area area) {
+        return used[area.ordinal()];
+    }
+
+    /**
+     * Gets the amount of memory committed in an area. For buffer pools, this is their total
+     * capacity.
+     *
+     * @param area The area
+     * @return The amount committed
+     */
+    public DataSize getCommitted(Area area) {
+        return toDataSize(committed[area.ordinal()]);
+    }
+
+    /**
+     * Gets the largest amount of memory the heap may grow to. If the JVM doesn't define a
+     * maximum, this is the amount currently committed.
+     *
+     * @return The maximum heap size
+     */
+    public DataSize getHeapMax() {
+        return toDataSize(heapMax);
+    }
+
+    /**
+     * Gets the amount of heap memory that may still be used before the heap is exhausted,
+     * including garbage that hasn't been collected yet.
+     *
+     * @return The available heap size
+     */
+    public DataSize getHeapAvailable() {
+        return toDataSize(Math.max(0, heapMax - used[Area.HEAP.ordinal()]));
+    }
+
+    /**
+     * Calculates a fraction of the maximum heap size, rounded down to a whole amount of bytes.
+     *
+     * @param fraction The fraction, between 0 and 1
+     * @return The fraction of the maximum heap size
+     * @throws IllegalArgumentException If the fraction is not between 0 and 1
+     */
+    public DataSize fractionOfMaxHeap(double fraction) {
+        if (!(fraction >= 0 && fraction <= 1)) {
+            throw new IllegalArgumentException("Fraction must be between 0 and 1");
+        }
+
+        return toDataSize((long) (heapMax * fraction));
+    }
+
+    /**
+     * Gets the amount of memory used by each memory pool, such as the spaces of the garbage
+     * collector and the code cache, by pool name.
+     *
+     * @return The usage by pool name
+     */
+    public Map<String, DataSize> getPools() {
+        Map<String, DataSize> result = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Long> entry : pools.entrySet()) {
+            result.put(entry.getKey(), toDataSize(entry.getValue()));
+        }
+
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("MemoryStats{");
+
+        for (Area area : Area.values()) {
+            builder.append(area)
+                   .append("={used=").append(getUsed(area))
+                   .append(", committed=").append(getCommitted(area))
+                   .append("}, ");
+        }
+
+        return builder.append("heapMax=").append(getHeapMax())
+                      .append('}')
+                      .toString();
+    }
+
+    private static DataSize toDataSize(long bytes) {
+        return DataSize.of(bytes, ByteUnit.BYTE);
+    }
+
+    /**
+     * An area of memory used by the JVM.
+     */
+    public enum Area {
+        /**
+         * The heap, where objects are allocated.
+         */
+        HEAP,
+
+        /**
+         * Non-heap memory, such as the metaspace and the code cache.
+         */
+        NON_HEAP,
+
+        /**
+         * The pool of direct buffers, allocated using {@code ByteBuffer#allocateDirect}.
+         */
+        DIRECT,
+
+        /**
+         * The pool of mapped buffers, created using {@code FileChannel#map}.
+         */
+        MAPPED
+    }
+}
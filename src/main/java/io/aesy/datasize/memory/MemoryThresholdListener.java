@@ -0,0 +1,28 @@
+package io.aesy.datasize.memory;
+
+/**
+ * A {@code MemoryThresholdListener} is notified when the memory usage sampled by a
+ * {@code MemorySampler} crosses a threshold.
+ *
+ * <p>
+ * Listeners are called on the sampling thread and should therefore return quickly. Events are
+ * edge triggered; exceeding a threshold is only reported again after usage has dropped below it.
+ * </p>
+ *
+ * @see MemorySampler
+ */
+public interface MemoryThresholdListener {
+    /**
+     * Called when usage reaches or exceeds the threshold.
+     *
+     * @param stats The sample that exceeded the threshold
+     */
+    default void onThresholdExceeded(MemoryStats stats) {}
+
+    /**
+     * Called when usage drops below the threshold again.
+     *
+     * @param stats The sample that dropped below the threshold
+     */
+    default void onThresholdRecovered(MemoryStats stats) {}
+}
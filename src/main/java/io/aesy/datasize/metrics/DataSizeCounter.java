@@ -0,0 +1,32 @@
+package io.aesy.datasize.metrics;
+
+import io.aesy.datasize.DataSize;
+
+/**
+ * A {@code DataSizeCounter} is a metric that sums amounts of data, such as bytes sent.
+ */
+public interface DataSizeCounter extends DataSizeMetric {
+    /**
+     * Adds an amount of bytes to the counter.
+     *
+     * @param bytes The amount of bytes
+     * @throws IllegalArgumentException If the amount of bytes is negative
+     */
+    void add(long bytes);
+
+    /**
+     * Adds a {@code DataSize} to the counter, rounded up to a whole amount of bytes.
+     *
+     * @param dataSize The {@code DataSize} to add
+     * @throws IllegalArgumentException If the {@code DataSize} is negative
+     * @throws ArithmeticException If the {@code DataSize} doesn't fit in a long amount of bytes
+     */
+    void add(DataSize dataSize);
+
+    /**
+     * Gets the sum of all added amounts, in bytes.
+     *
+     * @return The amount of bytes
+     */
+    long getBytes();
+}
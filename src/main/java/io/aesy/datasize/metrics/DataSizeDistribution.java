@@ -0,0 +1,22 @@
+package io.aesy.datasize.metrics;
+
+/**
+ * A {@code DataSizeDistribution} is a metric that records the distribution of amounts of data,
+ * such as the sizes of responses.
+ */
+public interface DataSizeDistribution extends DataSizeMetric {
+    /**
+     * Records an amount of bytes.
+     *
+     * @param bytes The amount of bytes
+     * @throws IllegalArgumentException If the amount of bytes is negative
+     */
+    void record(long bytes);
+
+    /**
+     * Takes a snapshot of the distribution.
+     *
+     * @return A snapshot
+     */
+    DataSizeHistogram.Snapshot getSnapshot();
+}
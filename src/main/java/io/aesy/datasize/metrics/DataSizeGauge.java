@@ -0,0 +1,14 @@
+package io.aesy.datasize.metrics;
+
+/**
+ * A {@code DataSizeGauge} is a metric that samples an amount of data that may go up and down,
+ * such as the size of a cache.
+ */
+public interface DataSizeGauge extends DataSizeMetric {
+    /**
+     * Gets the current amount, in bytes.
+     *
+     * @return The amount of bytes
+     */
+    long getBytes();
+}
@@ -0,0 +1,409 @@
+package io.aesy.datasize.metrics;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+import io.aesy.datasize.DataUnit;
+import io.aesy.datasize.format.DataSizeFormatter;
+import io.aesy.datasize.format.SimpleDataSizeFormatter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@code DataSizeHistogram} records the distribution of amounts of bytes in logarithmic
+ * buckets.
+ *
+ * <p>
+ * Bucket boundaries are aligned to either the IEC units, where each bucket spans a power of two,
+ * or the SI units, where each bucket spans a power of ten. The first bucket holds zero only, and
+ * each following bucket holds the amounts from its' lower bound, inclusive, up to its' upper
+ * bound, exclusive. Hence, with IEC alignment, {@literal 1 KiB} up to but not including
+ * {@literal 2 KiB} ends up in the same bucket.
+ * </p>
+ *
+ * <p>
+ * Recording is lock-free and allocation free. Queries are made on snapshots, which are immutable
+ * and may be merged with snapshots of other histograms of the same scale. Bucket bounds are
+ * expressed in the largest unit of the scale that doesn't exceed them, such that labels read as
+ * {@literal "1 kB - 10 kB"} rather than {@literal "1 kB - 9.77 KiB"}.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * DataSizeHistogram histogram = new DataSizeHistogram(DataSizeHistogram.Scale.IEC);
+ * histogram.record(object.length);
+ *
+ * DataSizeHistogram.Snapshot snapshot = histogram.getSnapshot();
+ * DataSize median = snapshot.getPercentile(50);
+ *
+ * for (int bucket = 0; bucket < snapshot.getBucketCount(); bucket++) {
+ *     System.out.println(snapshot.getLabel(bucket) + ": " + snapshot.getCount(bucket));
+ * }
+ * }</pre>
+ * </blockquote>
+ */
+public class DataSizeHistogram {
+    private final Scale scale;
+    private final AtomicLongArray counts;
+    private final LongAdder total;
+
+    /**
+     * Creates a {@code DataSizeHistogram} with buckets aligned to the IEC units.
+     */
+    public DataSizeHistogram() {
+        this(Scale.IEC);
+    }
+
+    /**
+     * Creates a {@code DataSizeHistogram} with buckets aligned to the desired units.
+     *
+     * @param scale The scale of the buckets
+     */
+    public DataSizeHistogram(Scale scale) {
+        this.scale = scale;
+        this.counts = new AtomicLongArray(scale.bucketCount());
+        this.total = new LongAdder();
+    }
+
+    /**
+     * Records an amount of bytes.
+     *
+     * @param bytes The amount of bytes
+     * @throws IllegalArgumentException If the amount of bytes is negative
+     */
+    public void record(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Bytes must not be negative");
+        }
+
+        counts.incrementAndGet(scale.indexOf(bytes));
+        total.add(bytes);
+    }
+
+    /**
+     * Records a {@code DataSize}, rounded up to a whole amount of bytes.
+     *
+     * @param dataSize The {@code DataSize} to record
+     * @throws IllegalArgumentException If the {@code DataSize} is negative
+     * @throws ArithmeticException If the {@code DataSize} doesn't fit in a long amount of bytes
+     */
+    public void record(DataSize dataSize) {
+        record(dataSize.toUnit(ByteUnit.BYTE)
+                       .getValue()
+                       .setScale(0, RoundingMode.CEILING)
+                       .longValueExact());
+    }
+
+    /**
+     * Gets the scale of the buckets.
+     *
+     * @return The scale
+     */
+    public Scale getScale() {
+        return scale;
+    }
+
+    /**
+     * Takes a snapshot of the histogram.
+     *
+     * <p>
+     * Amounts recorded while the snapshot is taken may or may not be included.
+     * </p>
+     *
+     * @return A snapshot
+     */
+    public Snapshot getSnapshot() {
+        long[] snapshot = new long[counts.length()];
+
+        for (int index = 0; index < snapshot.length; index++) {
+            snapshot[index] = counts.get(index);
+        }
+
+        return new Snapshot(scale, snapshot, total.sum());
+    }
+
+    /**
+     * The alignment of the buckets of a histogram.
+     */
+    public enum Scale {
+        /**
+         * Buckets spanning powers of two, aligned to {@code ByteUnit.IEC} units.
+         */
+        IEC(2, ByteUnit.IEC.values()),
+
+        /**
+         * Buckets spanning powers of ten, aligned to {@code ByteUnit.SI} units.
+         */
+        SI(10, ByteUnit.SI.values());
+
+        private final BigInteger base;
+        private final long[] bounds;
+        private final List<DataUnit> units;
+
+        Scale(int base, List<DataUnit> units) {
+            long[] powers = new long[64];
+            int count = 0;
+
+            // The lower bound of each bucket, the first bucket holds zero only
+            powers[count++] = 0;
+
+            for (long power = 1; power > 0; power *= base) {
+                powers[count++] = power;
+
+                if (power > Long.MAX_VALUE / base) {
+                    break;
+                }
+            }
+
+            this.base = BigInteger.valueOf(base);
+            this.bounds = Arrays.copyOf(powers, count);
+            this.units = units;
+        }
+
+        private int bucketCount() {
+            return bounds.length;
+        }
+
+        private int indexOf(long bytes) {
+            int bits = 64 - Long.numberOfLeadingZeros(bytes);
+
+            if (this == IEC) {
+                return bits;
+            }
+
+            // Approximates the amount of decimal digits from the amount of bits, the estimate is
+            // either exact or one too low
+            int digits = (bits * 1233) >>> 12;
+
+            if (bytes >= bounds[digits + 1]) {
+                digits++;
+            }
+
+            return digits;
+        }
+
+        private DataSize align(BigInteger bytes) {
+            BigDecimal value = new BigDecimal(bytes);
+            DataUnit aligned = ByteUnit.BYTE;
+
+            for (DataUnit unit : units) {
+                if (unit.bytes().compareTo(value) <= 0 &&
+                    unit.bytes().compareTo(aligned.bytes()) > 0) {
+                    aligned = unit;
+                }
+            }
+
+            return DataSize.of(value, ByteUnit.BYTE).toUnit(aligned);
+        }
+
+        private BigInteger upperBoundOf(int bucket) {
+            if (bucket == 0) {
+                return BigInteger.ONE;
+            }
+
+            return BigInteger.valueOf(bounds[bucket]).multiply(base);
+        }
+    }
+
+    /**
+     * An immutable snapshot of a {@code DataSizeHistogram}.
+     */
+    public static final class Snapshot {
+        private final Scale scale;
+        private final long[] counts;
+        private final long total;
+        private final long count;
+
+        private Snapshot(Scale scale, long[] counts, long total) {
+            long sum = 0;
+
+            for (long value : counts) {
+                sum += value;
+            }
+
+            this.scale = scale;
+            this.counts = counts;
+            this.total = total;
+            this.count = sum;
+        }
+
+        /**
+         * Merges this snapshot with another snapshot of the same scale.
+         *
+         * @param other The snapshot to merge with
+         * @return A new snapshot holding the recordings of both snapshots
+         * @throws IllegalArgumentException If the snapshots are of different scales
+         */
+        public Snapshot merge(Snapshot other) {
+            if (scale != other.scale) {
+                throw new IllegalArgumentException("Snapshots must be of the same scale");
+            }
+
+            long[] merged = new long[counts.length];
+
+            for (int index = 0; index < merged.length; index++) {
+                merged[index] = counts[index] + other.counts[index];
+            }
+
+            return new Snapshot(scale, merged, total + other.total);
+        }
+
+        /**
+         * Gets the scale of the buckets.
+         *
+         * @return The scale
+         */
+        public Scale getScale() {
+            return scale;
+        }
+
+        /**
+         * Gets the amount of recordings.
+         *
+         * @return The amount of recordings
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the amount of recordings in a bucket.
+         *
+         * @param bucket The index of the bucket
+         * @return The amount of recordings
+         * @throws IndexOutOfBoundsException If there is no such bucket
+         */
+        public long getCount(int bucket) {
+            return counts[bucket];
+        }
+
+        /**
+         * Gets the sum of all recordings.
+         *
+         * @return The sum of all recordings
+         */
+        public DataSize getTotal() {
+            return DataSize.of(total, ByteUnit.BYTE);
+        }
+
+        /* package-private */ long getTotalBytes() {
+            return total;
+        }
+
+        /**
+         * Gets the amount of buckets.
+         *
+         * @return The amount of buckets
+         */
+        public int getBucketCount() {
+            return counts.length;
+        }
+
+        /**
+         * Gets the inclusive lower bound of a bucket, in the largest unit of the scale that
+         * doesn't exceed it.
+         *
+         * @param bucket The index of the bucket
+         * @return The lower bound
+         * @throws IndexOutOfBoundsException If there is no such bucket
+         */
+        public DataSize getLowerBound(int bucket) {
+            return scale.align(BigInteger.valueOf(scale.bounds[bucket]));
+        }
+
+        /* package-private */ long getLowerBoundBytes(int bucket) {
+            return scale.bounds[bucket];
+        }
+
+        /**
+         * Gets the exclusive upper bound of a bucket, in the largest unit of the scale that
+         * doesn't exceed it.
+         *
+         * @param bucket The index of the bucket
+         * @return The upper bound
+         * @throws IndexOutOfBoundsException If there is no such bucket
+         */
+        public DataSize getUpperBound(int bucket) {
+            return scale.align(scale.upperBoundOf(bucket));
+        }
+
+        /**
+         * Estimates the amount below which the given percentage of recordings fall.
+         *
+         * <p>
+         * The estimate is interpolated linearly within the bucket holding the percentile, hence
+         * its' error is bounded by the width of that bucket. If the snapshot is empty, zero is
+         * returned.
+         * </p>
+         *
+         * @param percentile The percentile, between 0 and 100
+         * @return The estimated amount, rounded down to a whole amount of bytes
+         * @throws IllegalArgumentException If the percentile is not between 0 and 100
+         */
+        public DataSize getPercentile(double percentile) {
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100");
+            }
+
+            double rank = Math.max(1, Math.ceil(percentile / 100 * count));
+            long cumulative = 0;
+
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                if (counts[bucket] == 0 || cumulative + counts[bucket] < rank) {
+                    cumulative += counts[bucket];
+                    continue;
+                }
+
+                double lower = scale.bounds[bucket];
+                double upper = scale.upperBoundOf(bucket).doubleValue();
+                double fraction = (rank - cumulative) / counts[bucket];
+                // Saturates at Long.MAX_VALUE in the last bucket
+                long bytes = (long) Math.min(upper - 1, lower + (upper - lower) * fraction);
+
+                return DataSize.of(Math.max(scale.bounds[bucket], bytes), ByteUnit.BYTE);
+            }
+
+            return DataSize.of(0, ByteUnit.BYTE);
+        }
+
+        /**
+         * Renders a label for a bucket using a {@code SimpleDataSizeFormatter} with the default
+         * locale, such as {@literal "1 KiB - 2 KiB"}.
+         *
+         * @param bucket The index of the bucket
+         * @return The label
+         * @throws IndexOutOfBoundsException If there is no such bucket
+         */
+        public String getLabel(int bucket) {
+            return getLabel(bucket, new SimpleDataSizeFormatter());
+        }
+
+        /**
+         * Renders a label for a bucket using the given formatter.
+         *
+         * <p>
+         * Note that a {@code SmartDataSizeFormatter} may convert bounds of the SI scale to IEC
+         * units.
+         * </p>
+         *
+         * @param bucket The index of the bucket
+         * @param formatter The formatter to render the bounds with
+         * @return The label
+         * @throws IndexOutOfBoundsException If there is no such bucket
+         */
+        public String getLabel(int bucket, DataSizeFormatter formatter) {
+            if (bucket == 0) {
+                return formatter.format(getLowerBound(bucket));
+            }
+
+            return formatter.format(getLowerBound(bucket)) + " - " +
+                formatter.format(getUpperBound(bucket));
+        }
+    }
+}
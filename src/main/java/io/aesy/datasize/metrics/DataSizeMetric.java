@@ -0,0 +1,33 @@
+package io.aesy.datasize.metrics;
+
+import io.aesy.datasize.DataSize;
+
+/**
+ * A {@code DataSizeMetric} is a named measurement of amounts of data.
+ *
+ * @see DataSizeCounter
+ * @see DataSizeGauge
+ * @see DataSizeDistribution
+ */
+public interface DataSizeMetric {
+    /**
+     * Gets the name of the metric, such as {@literal "http_response_size"}.
+     *
+     * @return The name
+     */
+    String getName();
+
+    /**
+     * Gets the human-readable description of the metric.
+     *
+     * @return The description
+     */
+    String getDescription();
+
+    /**
+     * Gets the current value of the metric. For distributions, this is the sum of all recordings.
+     *
+     * @return The current value
+     */
+    DataSize getValue();
+}
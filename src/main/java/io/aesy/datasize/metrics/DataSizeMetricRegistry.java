@@ -0,0 +1,54 @@
+package io.aesy.datasize.metrics;
+
+import java.util.Collection;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@code DataSizeMetricRegistry} creates and holds {@code DataSizeMetric} objects by name.
+ *
+ * <p>
+ * Implementations may bridge to any metrics system. Names must consist of letters, digits and
+ * underscores only, and must not start with a digit.
+ * </p>
+ *
+ * @see InMemoryDataSizeMetricRegistry
+ */
+public interface DataSizeMetricRegistry {
+    /**
+     * Gets the counter of the given name, creating it if it doesn't exist.
+     *
+     * @param name The name of the counter
+     * @param description The description of the counter, ignored if it already exists
+     * @return The counter
+     * @throws IllegalArgumentException If the name is invalid or used by another kind of metric
+     */
+    DataSizeCounter counter(String name, String description);
+
+    /**
+     * Gets the gauge of the given name, creating it if it doesn't exist.
+     *
+     * @param name The name of the gauge
+     * @param description The description of the gauge, ignored if it already exists
+     * @param bytes The source of the amount of bytes, ignored if it already exists
+     * @return The gauge
+     * @throws IllegalArgumentException If the name is invalid or used by another kind of metric
+     */
+    DataSizeGauge gauge(String name, String description, LongSupplier bytes);
+
+    /**
+     * Gets the distribution of the given name, creating it if it doesn't exist.
+     *
+     * @param name The name of the distribution
+     * @param description The description of the distribution, ignored if it already exists
+     * @return The distribution
+     * @throws IllegalArgumentException If the name is invalid or used by another kind of metric
+     */
+    DataSizeDistribution distribution(String name, String description);
+
+    /**
+     * Gets all metrics of this registry, in order of creation.
+     *
+     * @return An unmodifiable view of the metrics
+     */
+    Collection<DataSizeMetric> getMetrics();
+}
@@ -0,0 +1,318 @@
+package io.aesy.datasize.metrics;
+
+import io.aesy.datasize.BitUnit;
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+
+import java.io.Serializable;
+import java.math.RoundingMode;
+import java.util.stream.Collector;
+
+/**
+ * A {@code DataSizeSketch} estimates quantiles of a distribution of {@code DataSize} objects in
+ * bounded memory.
+ *
+ * <p>
+ * Amounts are counted in logarithmic buckets, such that every estimated quantile is within a
+ * configurable relative accuracy of an amount that was actually added. Amounts are counted in
+ * whole bits, hence amounts of fractions of bits are rounded up. Memory usage grows with the
+ * logarithm of the range of amounts only, to at most a few thousand buckets at the default
+ * relative accuracy of {@literal 1%}, no matter how many amounts are added.
+ * </p>
+ *
+ * <p>
+ * Sketches of the same relative accuracy may be merged, without loss of accuracy, for example to
+ * combine sketches serialized on different nodes. Sketches can be collected from streams of
+ * {@code DataSize} objects using {@code DataSizeSketch#toSketch}.
+ * </p>
+ *
+ * <p>
+ * Instances are not thread safe.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * DataSizeSketch sketch = responses.stream()
+ *                                  .map(Response::getSize)
+ *                                  .collect(DataSizeSketch.toSketch());
+ *
+ * DataSize p99 = sketch.getQuantile(0.99);
+ * }</pre>
+ * </blockquote>
+ */
+public final class DataSizeSketch implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+    private static final int GROWTH = 32;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private long[] counts;
+    private int offset;
+    private long zeroCount;
+    private long count;
+    private long min;
+    private long max;
+
+    /**
+     * Creates a {@code DataSizeSketch} with a relative accuracy of {@literal 1%}.
+     */
+    public DataSizeSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * Creates a {@code DataSizeSketch} with the desired relative accuracy.
+     *
+     * @param relativeAccuracy The relative accuracy, such as {@literal 0.01} for {@literal 1%}
+     * @throws IllegalArgumentException If the relative accuracy is not between 0 and 1, exclusive
+     */
+    public DataSizeSketch(double relativeAccuracy) {
+        checkRelativeAccuracy(relativeAccuracy);
+
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.counts = new long[0];
+        this.min = Long.MAX_VALUE;
+        this.max = 0;
+    }
+
+    /**
+     * Creates a {@code Collector} that adds {@code DataSize} objects to a sketch with a relative
+     * accuracy of {@literal 1%}.
+     *
+     * @return A collector
+     */
+    public static Collector<DataSize, ?, DataSizeSketch> toSketch() {
+        return toSketch(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * Creates a {@code Collector} that adds {@code DataSize} objects to a sketch with the desired
+     * relative accuracy.
+     *
+     * @param relativeAccuracy The relative accuracy, such as {@literal 0.01} for {@literal 1%}
+     * @return A collector
+     * @throws IllegalArgumentException If the relative accuracy is not between 0 and 1, exclusive
+     */
+    public static Collector<DataSize, ?, DataSizeSketch> toSketch(double relativeAccuracy) {
+        checkRelativeAccuracy(relativeAccuracy);
+
+        return Collector.of(() -> new DataSizeSketch(relativeAccuracy), DataSizeSketch::add,
+            DataSizeSketch::merge, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Adds a {@code DataSize}, rounded up to a whole amount of bits.
+     *
+     * @param dataSize The {@code DataSize} to add
+     * @throws IllegalArgumentException If the {@code DataSize} is negative
+     * @throws ArithmeticException If the {@code DataSize} doesn't fit in a long amount of bits
+     */
+    public void add(DataSize dataSize) {
+        addBits(dataSize.toUnit(BitUnit.BIT)
+                        .getValue()
+                        .setScale(0, RoundingMode.CEILING)
+                        .longValueExact());
+    }
+
+    /**
+     * Adds an amount of bytes.
+     *
+     * @param bytes The amount of bytes
+     * @throws IllegalArgumentException If the amount of bytes is negative
+     * @throws ArithmeticException If the amount doesn't fit in a long amount of bits
+     */
+    public void addBytes(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Bytes must not be negative");
+        }
+
+        addBits(Math.multiplyExact(bytes, 8));
+    }
+
+    /**
+     * Adds an amount of bits.
+     *
+     * @param bits The amount of bits
+     * @throws IllegalArgumentException If the amount of bits is negative
+     */
+    public void addBits(long bits) {
+        if (bits < 0) {
+            throw new IllegalArgumentException("Bits must not be negative");
+        }
+
+        if (bits == 0) {
+            zeroCount++;
+        } else {
+            int index = indexOf(bits);
+            ensureCapacity(index, index);
+            counts[index - offset]++;
+        }
+
+        count++;
+        min = Math.min(min, bits);
+        max = Math.max(max, bits);
+    }
+
+    /**
+     * Merges another sketch into this sketch. The other sketch is not modified.
+     *
+     * @param other The sketch to merge
+     * @return This sketch
+     * @throws IllegalArgumentException If the sketches are of different relative accuracies
+     */
+    public DataSizeSketch merge(DataSizeSketch other) {
+        if (Double.compare(relativeAccuracy, other.relativeAccuracy) != 0) {
+            throw new IllegalArgumentException("Sketches must be of the same relative accuracy");
+        }
+
+        if (other.counts.length > 0) {
+            ensureCapacity(other.offset, other.offset + other.counts.length - 1);
+
+            for (int index = 0; index < other.counts.length; index++) {
+                counts[other.offset + index - offset] += other.counts[index];
+            }
+        }
+
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+
+        return this;
+    }
+
+    /**
+     * Gets the relative accuracy of this sketch.
+     *
+     * @return The relative accuracy
+     */
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * Gets the amount of added amounts.
+     *
+     * @return The amount of added amounts
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the smallest added amount, or zero if the sketch is empty.
+     *
+     * @return The smallest amount
+     */
+    public DataSize getMin() {
+        if (count == 0) {
+            return toDataSize(0);
+        }
+
+        return toDataSize(min);
+    }
+
+    /**
+     * Gets the largest added amount, or zero if the sketch is empty.
+     *
+     * @return The largest amount
+     */
+    public DataSize getMax() {
+        return toDataSize(max);
+    }
+
+    /**
+     * Estimates a quantile, within the relative accuracy of this sketch.
+     *
+     * <p>
+     * If the sketch is empty, zero is returned.
+     * </p>
+     *
+     * @param quantile The quantile, between 0 and 1
+     * @return The estimated amount, in bytes
+     * @throws IllegalArgumentException If the quantile is not between 0 and 1
+     */
+    public DataSize getQuantile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+
+        if (count == 0) {
+            return toDataSize(0);
+        }
+
+        double rank = quantile * (count - 1);
+        long cumulative = zeroCount;
+
+        if (cumulative > rank) {
+            return toDataSize(0);
+        }
+
+        for (int index = 0; index < counts.length; index++) {
+            cumulative += counts[index];
+
+            if (cumulative > rank) {
+                // The midpoint of the bucket, in terms of relative error
+                double estimate = 2 * Math.pow(gamma, offset + index) / (gamma + 1);
+                long bits = Math.max(min, Math.min(max, Math.round(estimate)));
+
+                return toDataSize(bits);
+            }
+        }
+
+        return toDataSize(max);
+    }
+
+    private int indexOf(long bits) {
+        // Bucket i holds the amounts in (gamma^(i-1), gamma^i]
+        return (int) Math.ceil(Math.log(bits) / logGamma);
+    }
+
+    private void ensureCapacity(int from, int to) {
+        if (counts.length == 0) {
+            counts = new long[to - from + 1];
+            offset = from;
+
+            return;
+        }
+
+        int end = offset + counts.length;
+
+        if (from >= offset && to < end) {
+            return;
+        }
+
+        // Grow with some slack, such that neighbouring amounts don't cause repeated copies
+        int newOffset = offset;
+        int newEnd = end;
+
+        if (from < offset) {
+            newOffset = Math.max(0, from - GROWTH);
+        }
+
+        if (to >= end) {
+            newEnd = to + 1 + GROWTH;
+        }
+
+        long[] grown = new long[newEnd - newOffset];
+        System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+
+        counts = grown;
+        offset = newOffset;
+    }
+
+    private static void checkRelativeAccuracy(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1");
+        }
+    }
+
+    private static DataSize toDataSize(long bits) {
+        return DataSize.of(bits, BitUnit.BIT).toUnit(ByteUnit.BYTE);
+    }
+}
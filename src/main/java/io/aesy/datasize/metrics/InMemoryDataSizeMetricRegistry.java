@@ -0,0 +1,202 @@
+package io.aesy.datasize.metrics;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+import io.aesy.datasize.format.SmartDataSizeFormatter;
+
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * An {@code InMemoryDataSizeMetricRegistry} holds {@code DataSizeMetric} objects in memory.
+ *
+ * <p>
+ * Counters and distributions are updated lock-free on long amounts of bytes. Gauges sample their
+ * source whenever read. The string representation of each metric renders its' value using a
+ * {@code SmartDataSizeFormatter}, such as {@literal "cache_size: 1.5 GiB"}. Metrics may be exported
+ * using a {@code PrometheusTextWriter}. Instances are thread safe.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * DataSizeMetricRegistry registry = new InMemoryDataSizeMetricRegistry();
+ * DataSizeCounter sent = registry.counter("http_sent", "Bytes sent in response bodies");
+ * sent.add(body.length);
+ * }</pre>
+ * </blockquote>
+ *
+ * @see PrometheusTextWriter
+ */
+public class InMemoryDataSizeMetricRegistry implements DataSizeMetricRegistry {
+    private static final Pattern NAME = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+
+    private final Map<String, DataSizeMetric> metrics;
+    private final List<DataSizeMetric> ordered;
+
+    /**
+     * Creates an empty {@code InMemoryDataSizeMetricRegistry}.
+     */
+    public InMemoryDataSizeMetricRegistry() {
+        this.metrics = new ConcurrentHashMap<>();
+        this.ordered = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    public DataSizeCounter counter(String name, String description) {
+        return register(name, DataSizeCounter.class, key -> new Counter(key, description));
+    }
+
+    @Override
+    public DataSizeGauge gauge(String name, String description, LongSupplier bytes) {
+        return register(name, DataSizeGauge.class, key -> new Gauge(key, description, bytes));
+    }
+
+    @Override
+    public DataSizeDistribution distribution(String name, String description) {
+        return register(name, DataSizeDistribution.class,
+            key -> new Distribution(key, description));
+    }
+
+    @Override
+    public Collection<DataSizeMetric> getMetrics() {
+        return Collections.unmodifiableList(ordered);
+    }
+
+    private <T extends DataSizeMetric> T register(String name, Class<T> type,
+                                                  Function<String, DataSizeMetric> factory) {
+        DataSizeMetric metric = metrics.get(name);
+
+        if (metric == null) {
+            if (!NAME.matcher(name).matches()) {
+                throw new IllegalArgumentException("Invalid metric name: " + name);
+            }
+
+            metric = metrics.computeIfAbsent(name, key -> {
+                DataSizeMetric created = factory.apply(key);
+                ordered.add(created);
+
+                return created;
+            });
+        }
+
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("Metric name already in use: " + name);
+        }
+
+        return type.cast(metric);
+    }
+
+    private abstract static class AbstractMetric implements DataSizeMetric {
+        private final String name;
+        private final String description;
+
+        private AbstractMetric(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + new SmartDataSizeFormatter().format(getValue());
+        }
+    }
+
+    private static final class Counter extends AbstractMetric implements DataSizeCounter {
+        private final LongAdder bytes = new LongAdder();
+
+        private Counter(String name, String description) {
+            super(name, description);
+        }
+
+        @Override
+        public void add(long amount) {
+            if (amount < 0) {
+                throw new IllegalArgumentException("Bytes must not be negative");
+            }
+
+            bytes.add(amount);
+        }
+
+        @Override
+        public void add(DataSize dataSize) {
+            add(dataSize.toUnit(ByteUnit.BYTE)
+                        .getValue()
+                        .setScale(0, RoundingMode.CEILING)
+                        .longValueExact());
+        }
+
+        @Override
+        public long getBytes() {
+            return bytes.sum();
+        }
+
+        @Override
+        public DataSize getValue() {
+            return DataSize.of(bytes.sum(), ByteUnit.BYTE);
+        }
+    }
+
+    private static final class Gauge extends AbstractMetric implements DataSizeGauge {
+        private final LongSupplier bytes;
+
+        private Gauge(String name, String description, LongSupplier bytes) {
+            super(name, description);
+
+            this.bytes = bytes;
+        }
+
+        @Override
+        public long getBytes() {
+            return bytes.getAsLong();
+        }
+
+        @Override
+        public DataSize getValue() {
+            return DataSize.of(bytes.getAsLong(), ByteUnit.BYTE);
+        }
+    }
+
+    private static final class Distribution extends AbstractMetric
+        implements DataSizeDistribution {
+        private final DataSizeHistogram histogram = new DataSizeHistogram();
+
+        private Distribution(String name, String description) {
+            super(name, description);
+        }
+
+        @Override
+        public void record(long bytes) {
+            histogram.record(bytes);
+        }
+
+        @Override
+        public DataSizeHistogram.Snapshot getSnapshot() {
+            return histogram.getSnapshot();
+        }
+
+        @Override
+        public DataSize getValue() {
+            return histogram.getSnapshot().getTotal();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package io.aesy.datasize.metrics;
+
+import io.aesy.datasize.ByteUnit;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A {@code PrometheusTextWriter} writes {@code DataSizeMetric} objects in the Prometheus text
+ * exposition format.
+ *
+ * <p>
+ * All values are exposed in bytes, the base unit of Prometheus, and names are suffixed
+ * accordingly. A counter named {@literal "http_sent"} is exposed as
+ * {@literal "http_sent_bytes_total"}, a gauge named {@literal "cache_size"} as
+ * {@literal "cache_size_bytes"}, and a distribution named {@literal "response_size"} as a
+ * histogram named {@literal "response_size_bytes"} with buckets of powers of two.
+ * </p>
+ *
+ * <p>
+ * To avoid allocation spikes on every scrape, the name and header lines of each metric are
+ * rendered once and reused, and values are rendered into a reused buffer. Instances are thread
+ * safe, but concurrent writes are serialized.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * PrometheusTextWriter prometheus = new PrometheusTextWriter();
+ *
+ * try (Writer writer = new OutputStreamWriter(exchange.getResponseBody(), UTF_8)) {
+ *     prometheus.write(registry, writer);
+ * }
+ * }</pre>
+ * </blockquote>
+ */
+public class PrometheusTextWriter {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Map<DataSizeMetric, Names> names;
+    private final StringBuilder builder;
+    private char[] buffer;
+
+    /**
+     * Creates a {@code PrometheusTextWriter}.
+     */
+    public PrometheusTextWriter() {
+        this.names = new WeakHashMap<>();
+        this.builder = new StringBuilder(INITIAL_CAPACITY);
+        this.buffer = new char[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Writes all metrics of a registry.
+     *
+     * @param registry The registry to write the metrics of
+     * @param writer The writer to write to
+     * @throws IOException If the writer fails
+     */
+    public synchronized void write(DataSizeMetricRegistry registry, Writer writer)
+        throws IOException {
+        for (DataSizeMetric metric : registry.getMetrics()) {
+            write(metric, writer);
+        }
+    }
+
+    /**
+     * Writes a single metric.
+     *
+     * @param metric The metric to write
+     * @param writer The writer to write to
+     * @throws IOException If the writer fails
+     */
+    public synchronized void write(DataSizeMetric metric, Writer writer) throws IOException {
+        Names metricNames = names.computeIfAbsent(metric, Names::new);
+        builder.setLength(0);
+        builder.append(metricNames.header);
+
+        if (metric instanceof DataSizeDistribution) {
+            appendHistogram(metricNames, ((DataSizeDistribution) metric).getSnapshot());
+        } else if (metric instanceof DataSizeCounter) {
+            appendSample(metricNames.name, ((DataSizeCounter) metric).getBytes());
+        } else if (metric instanceof DataSizeGauge) {
+            appendSample(metricNames.name, ((DataSizeGauge) metric).getBytes());
+        } else {
+            // Unknown kinds of metrics are exposed by their value only
+            appendSample(metricNames.name,
+                metric.getValue().toUnit(ByteUnit.BYTE).getValue().longValue());
+        }
+
+        flush(writer);
+    }
+
+    private void appendHistogram(Names metricNames, DataSizeHistogram.Snapshot snapshot) {
+        int last = snapshot.getBucketCount() - 1;
+        long cumulative = 0;
+
+        for (int bucket = 0; bucket < last; bucket++) {
+            cumulative += snapshot.getCount(bucket);
+            // Buckets hold amounts below the lower bound of the next bucket, le is inclusive
+            builder.append(metricNames.bucket)
+                   .append(snapshot.getLowerBoundBytes(bucket + 1) - 1)
+                   .append("\"} ")
+                   .append(cumulative)
+                   .append('\n');
+        }
+
+        cumulative += snapshot.getCount(last);
+        builder.append(metricNames.bucket)
+               .append("+Inf\"} ")
+               .append(cumulative)
+               .append('\n');
+        appendSample(metricNames.sum, snapshot.getTotalBytes());
+        appendSample(metricNames.count, cumulative);
+    }
+
+    private void appendSample(String name, long value) {
+        builder.append(name)
+               .append(' ')
+               .append(value)
+               .append('\n');
+    }
+
+    private void flush(Writer writer) throws IOException {
+        int length = builder.length();
+
+        if (buffer.length < length) {
+            buffer = new char[Math.max(length, buffer.length * 2)];
+        }
+
+        builder.getChars(0, length, buffer, 0);
+        writer.write(buffer, 0, length);
+    }
+
+    private static final class Names {
+        private final String header;
+        private final String name;
+        private final String bucket;
+        private final String sum;
+        private final String count;
+
+        private Names(DataSizeMetric metric) {
+            String base = metric.getName();
+
+            if (!base.endsWith("_bytes")) {
+                base += "_bytes";
+            }
+
+            String type = "gauge";
+            String sampleName = base;
+
+            if (metric instanceof DataSizeDistribution) {
+                type = "histogram";
+            } else if (metric instanceof DataSizeCounter) {
+                type = "counter";
+                sampleName = base + "_total";
+            }
+
+            this.header = "# HELP " + sampleName + ' ' + escape(metric.getDescription()) + '\n' +
+                "# TYPE " + sampleName + ' ' + type + '\n';
+            this.name = sampleName;
+            this.bucket = base + "_bucket{le=\"";
+            this.sum = base + "_sum";
+            this.count = base + "_count";
+        }
+
+        private static String escape(String help) {
+            return help.replace("\\", "\\\\").replace("\n", "\\n");
+        }
+    }
+}
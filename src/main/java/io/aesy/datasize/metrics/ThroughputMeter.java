@@ -0,0 +1,260 @@
+package io.aesy.datasize.metrics;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataRate;
+import io.aesy.datasize.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@code ThroughputMeter} measures the rate at which bytes are recorded over a sliding window.
+ *
+ * <p>
+ * Recorded byte counts are summed into a ring of time buckets of a configurable resolution,
+ * spanning a configurable maximum window. Recording is lock-free and allocation free, and
+ * consists of little more than an atomic addition. Rates can be queried for any window up to the
+ * maximum window, either as the exact average over the most recent complete buckets or as an
+ * exponentially weighted moving average. Only complete buckets are taken into account, so rates
+ * lag behind by at most one bucket. Bytes recorded by a writer delayed past the end of its bucket
+ * may be attributed to the following bucket of the same slot.
+ * </p>
+ *
+ * <p>
+ * The clock defaults to {@code System.nanoTime}, but may be replaced, for example in tests.
+ * </p>
+ *
+ * <blockquote>
+ * Example usage:
+ * <pre>{@code
+ * ThroughputMeter meter = new ThroughputMeter(Duration.ofSeconds(60), Duration.ofSeconds(1));
+ * meter.record(bytesRead);
+ *
+ * DataRate lastSecond = meter.getRate(Duration.ofSeconds(1));
+ * DataRate lastMinute = meter.getRate(Duration.ofSeconds(60));
+ * }</pre>
+ * </blockquote>
+ */
+public class ThroughputMeter {
+    private final LongSupplier clock;
+    private final long resolution;
+    private final int windowBuckets;
+    private final long startTick;
+    private final AtomicLongArray ticks;
+    private final AtomicLongArray counts;
+    private final LongAdder total;
+
+    /**
+     * Creates a {@code ThroughputMeter} using {@code System.nanoTime} as clock.
+     *
+     * @param window The maximum window to measure rates over
+     * @param resolution The duration of each bucket
+     * @throws IllegalArgumentException If the resolution is not positive or greater than the
+     *     window
+     */
+    public ThroughputMeter(Duration window, Duration resolution) {
+        this(window, resolution, System::nanoTime);
+    }
+
+    /**
+     * Creates a {@code ThroughputMeter} using the given clock.
+     *
+     * @param window The maximum window to measure rates over
+     * @param resolution The duration of each bucket
+     * @param clock A source of monotonic time in nanoseconds
+     * @throws IllegalArgumentException If the resolution is not positive or greater than the
+     *     window
+     */
+    public ThroughputMeter(Duration window, Duration resolution, LongSupplier clock) {
+        if (resolution.isZero() || resolution.isNegative() || resolution.compareTo(window) > 0) {
+            throw new IllegalArgumentException(
+                "Resolution must be greater than zero and not greater than window");
+        }
+
+        this.clock = clock;
+        this.resolution = resolution.toNanos();
+        this.windowBuckets = bucketsIn(window.toNanos());
+        this.startTick = Math.floorDiv(clock.getAsLong(), this.resolution);
+        // One extra bucket holds the current, incomplete, bucket
+        this.ticks = new AtomicLongArray(windowBuckets + 1);
+        this.counts = new AtomicLongArray(windowBuckets + 1);
+        this.total = new LongAdder();
+
+        for (int index = 0; index < ticks.length(); index++) {
+            ticks.set(index, startTick);
+        }
+    }
+
+    /**
+     * Records an amount of bytes at the current time.
+     *
+     * @param bytes The amount of bytes
+     * @throws IllegalArgumentException If the amount of bytes is negative
+     */
+    public void record(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Bytes must not be negative");
+        }
+
+        long tick = Math.floorDiv(clock.getAsLong(), resolution);
+        int index = indexOf(tick);
+
+        while (true) {
+            long bucketTick = ticks.get(index);
+
+            if (bucketTick == tick) {
+                counts.addAndGet(index, bytes);
+                break;
+            }
+
+            if (bucketTick > tick) {
+                // Delayed beyond a full rotation of the ring, the bytes are outside any window
+                break;
+            }
+
+            long stale = counts.get(index);
+
+            if (ticks.compareAndSet(index, bucketTick, tick)) {
+                // The bucket is stale and now claimed for the current tick. Writers that already
+                // see the new tick add to the count concurrently, so remove only the stale part.
+                counts.addAndGet(index, bytes - stale);
+                break;
+            }
+        }
+
+        total.add(bytes);
+    }
+
+    /**
+     * Gets the total amount of bytes recorded since creation.
+     *
+     * @return The total amount of bytes
+     */
+    public DataSize getTotal() {
+        return DataSize.of(total.sum(), ByteUnit.BYTE);
+    }
+
+    /**
+     * Gets the amount of bytes recorded during the most recent complete buckets spanning the given
+     * window.
+     *
+     * @param window The window, rounded up to a whole amount of buckets
+     * @return The amount of bytes
+     * @throws IllegalArgumentException If the window is not positive or greater than the maximum
+     *     window
+     */
+    public DataSize getTotal(Duration window) {
+        long tick = Math.floorDiv(clock.getAsLong(), resolution);
+
+        return DataSize.of(sum(tick, completeBuckets(tick, window)), ByteUnit.BYTE);
+    }
+
+    /**
+     * Gets the average rate during the most recent complete buckets spanning the given window.
+     *
+     * <p>
+     * If less time than the window has passed since creation, the average is taken over the
+     * elapsed complete buckets only.
+     * </p>
+     *
+     * @param window The window, rounded up to a whole amount of buckets
+     * @return The average rate
+     * @throws IllegalArgumentException If the window is not positive or greater than the maximum
+     *     window
+     */
+    public DataRate getRate(Duration window) {
+        long tick = Math.floorDiv(clock.getAsLong(), resolution);
+        int buckets = completeBuckets(tick, window);
+
+        if (buckets == 0) {
+            return DataRate.ofBytesPerSecond(0);
+        }
+
+        return DataRate.ofBytes(sum(tick, buckets), buckets * resolution);
+    }
+
+    /**
+     * Gets the exponentially weighted moving average rate over the complete buckets of the
+     * maximum window.
+     *
+     * <p>
+     * Each bucket is weighted by {@code 1 - exp(-resolution / timeConstant)}, hence a smaller time
+     * constant makes the average react faster to changes. Buckets older than the maximum window
+     * are not taken into account, so the time constant should be well below the maximum window.
+     * </p>
+     *
+     * @param timeConstant The time constant of the average
+     * @return The average rate
+     * @throws IllegalArgumentException If the time constant is not positive
+     */
+    public DataRate getExponentialRate(Duration timeConstant) {
+        if (timeConstant.isZero() || timeConstant.isNegative()) {
+            throw new IllegalArgumentException("Time constant must be greater than zero");
+        }
+
+        long tick = Math.floorDiv(clock.getAsLong(), resolution);
+        int buckets = (int) Math.min(windowBuckets, tick - startTick);
+        double alpha = 1 - Math.exp(-(double) resolution / timeConstant.toNanos());
+        double secondsPerBucket = resolution / 1e9;
+        double average = 0;
+
+        for (long bucketTick = tick - buckets; bucketTick < tick; bucketTick++) {
+            double rate = countOf(bucketTick) / secondsPerBucket;
+            average += alpha * (rate - average);
+        }
+
+        return DataRate.of(average, ByteUnit.BYTE);
+    }
+
+    private int completeBuckets(long tick, Duration window) {
+        if (window.isZero() || window.isNegative()) {
+            throw new IllegalArgumentException("Window must be greater than zero");
+        }
+
+        int buckets = bucketsIn(window.toNanos());
+
+        if (buckets > windowBuckets) {
+            throw new IllegalArgumentException("Window must not be greater than maximum window");
+        }
+
+        return (int) Math.min(buckets, tick - startTick);
+    }
+
+    private int bucketsIn(long nanos) {
+        return (int) Math.min(Integer.MAX_VALUE - 1, (nanos + resolution - 1) / resolution);
+    }
+
+    private long sum(long tick, int buckets) {
+        long sum = 0;
+
+        for (long bucketTick = tick - buckets; bucketTick < tick; bucketTick++) {
+            sum += countOf(bucketTick);
+        }
+
+        return sum;
+    }
+
+    private long countOf(long tick) {
+        int index = indexOf(tick);
+
+        if (ticks.get(index) != tick) {
+            // Nothing was recorded during this tick, the bucket belongs to another one
+            return 0;
+        }
+
+        long count = counts.get(index);
+
+        if (ticks.get(index) != tick) {
+            // The bucket was reclaimed meanwhile, the count may belong to the new tick
+            return 0;
+        }
+
+        return count;
+    }
+
+    private int indexOf(long tick) {
+        return (int) Math.floorMod(tick, (long) ticks.length());
+    }
+}
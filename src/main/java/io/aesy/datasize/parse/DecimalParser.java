@@ -1,11 +1,11 @@
 package io.aesy.datasize.parse;
 
+import io.aesy.datasize.internal.NumberSymbols;
 import org.petitparser.context.Context;
 import org.petitparser.context.Result;
 import org.petitparser.parser.Parser;
 
 import java.math.BigDecimal;
-import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.text.ParsePosition;
 import java.util.Locale;
@@ -29,8 +29,7 @@ import java.util.Locale;
 
     @Override
     public Result parseOn(Context context) {
-        DecimalFormat decimalParser = (DecimalFormat) NumberFormat.getNumberInstance(locale);
-        decimalParser.setParseBigDecimal(true);
+        NumberFormat decimalParser = NumberSymbols.forParsing(locale).newNumberFormat();
         String buffer = context.getBuffer();
         int start = context.getPosition();
 
@@ -3,7 +3,9 @@ package io.aesy.datasize.parse;
 import io.aesy.datasize.BitUnit;
 import io.aesy.datasize.ByteUnit;
 import io.aesy.datasize.DataSize;
+import io.aesy.datasize.DataSizeLibraryStats.Operation;
 import io.aesy.datasize.DataUnit;
+import io.aesy.datasize.internal.Instrumentation;
 import org.petitparser.context.Result;
 import org.petitparser.parser.Parser;
 import org.petitparser.parser.primitive.CharacterParser;
@@ -113,6 +115,24 @@ public class StrictDataSizeParser implements DataSizeParser {
      */
     @Override
     public DataSize parse(String input) throws ParseException {
+        if (!Instrumentation.ENABLED) {
+            return parseInput(input);
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+
+        try {
+            DataSize result = parseInput(input);
+            failed = false;
+
+            return result;
+        } finally {
+            Instrumentation.record(Operation.STRICT_PARSE, start, failed);
+        }
+    }
+
+    private DataSize parseInput(String input) throws ParseException {
         Result result;
 
         try {
@@ -0,0 +1,97 @@
+package io.aesy.datasize;
+
+import io.aesy.datasize.convert.SmartNaturalDataSizeConverter;
+import io.aesy.datasize.format.SimpleDataSizeFormatter;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+public class DataRateTest implements WithAssertions {
+    @BeforeEach
+    public void setup() {
+        Locale.setDefault(Locale.US);
+    }
+
+    @Test
+    @DisplayName("it should be created from an amount of data and a duration")
+    public void test_of_duration() {
+        DataRate rate = DataRate.of(DataSize.of(30, ByteUnit.IEC.MEBIBYTE), Duration.ofMillis(1500));
+
+        assertThat(rate)
+            .isEqualTo(DataRate.of(20, ByteUnit.IEC.MEBIBYTE));
+
+        assertThat(rate.getUnit())
+            .isEqualTo(ByteUnit.IEC.MEBIBYTE);
+
+        assertThat(DataRate.ofBytes(3000, TimeUnit.MILLISECONDS.toNanos(1500)))
+            .isEqualTo(DataRate.ofBytesPerSecond(2000));
+
+        assertThatThrownBy(() -> DataRate.of(DataSize.of(1, ByteUnit.BYTE), Duration.ZERO))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("it should be convertable to other units")
+    public void test_toUnit() {
+        DataRate rate = DataRate.of(100, BitUnit.SI.MEGABIT);
+
+        assertThat(rate.toUnit(ByteUnit.SI.MEGABYTE).getValue())
+            .isEqualByComparingTo("12.5");
+
+        assertThat(rate.toNaturalUnit().getUnit())
+            .isEqualTo(BitUnit.SI.MEGABIT);
+
+        assertThat(DataRate.ofBytesPerSecond(1024 * 1024)
+                           .convert(new SmartNaturalDataSizeConverter())
+                           .getUnit())
+            .isEqualTo(ByteUnit.IEC.MEBIBYTE);
+    }
+
+    @Test
+    @DisplayName("it should do rate math on long values")
+    public void test_long_math() {
+        DataRate rate = DataRate.of(100, BitUnit.SI.MEGABIT);
+
+        assertThat(rate.getBytesPerSecond())
+            .isEqualTo(12_500_000);
+
+        assertThat(rate.bytesIn(TimeUnit.MILLISECONDS.toNanos(1)))
+            .isEqualTo(12_500);
+
+        assertThat(rate.nanosFor(12_500))
+            .isEqualTo(TimeUnit.MILLISECONDS.toNanos(1));
+
+        assertThat(DataRate.ofBytesPerSecond(Long.MAX_VALUE).bytesIn(Long.MAX_VALUE))
+            .isEqualTo(Long.MAX_VALUE);
+
+        assertThat(DataRate.of(0.5, ByteUnit.BYTE).nanosFor(1))
+            .isEqualTo(Long.MAX_VALUE);
+
+        assertThat(rate.over(Duration.ofMillis(500)))
+            .isEqualTo(DataSize.of(50, BitUnit.SI.MEGABIT));
+    }
+
+    @Test
+    @DisplayName("it should be formatted and parsed with a per second suffix")
+    public void test_format_parse() throws ParseException {
+        DataRate rate = DataRate.of(12.5, ByteUnit.IEC.MEBIBYTE);
+
+        assertThat(rate.toString())
+            .isEqualTo("12.5 MiB/s");
+
+        assertThat(rate.format(new SimpleDataSizeFormatter(Locale.GERMANY, 2)))
+            .isEqualTo("12,5 MiB/s");
+
+        assertThat(DataRate.parse(" 12.5 mib/S "))
+            .isEqualTo(rate);
+
+        assertThatThrownBy(() -> DataRate.parse("12.5 MiB"))
+            .isInstanceOf(ParseException.class);
+    }
+}
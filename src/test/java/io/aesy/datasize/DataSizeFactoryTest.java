@@ -0,0 +1,78 @@
+package io.aesy.datasize;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.ParseException;
+import java.util.Locale;
+
+public class DataSizeFactoryTest implements WithAssertions {
+    @Test
+    @DisplayName("it should round values to the fixed scale")
+    public void test_of() {
+        DataSizeFactory factory = DataSizeFactory.fixedPoint(3);
+
+        assertThat(factory.of(1.23456, ByteUnit.IEC.MEBIBYTE).getValue())
+            .isEqualTo(new BigDecimal("1.235"));
+
+        assertThat(factory.of(new BigDecimal("2.50000"), ByteUnit.BYTE).getValue())
+            .isEqualTo(new BigDecimal("2.5"));
+
+        assertThat(DataSizeFactory.fixedPoint(0, RoundingMode.CEILING)
+                                  .of(0.1, BitUnit.BIT)
+                                  .getValue())
+            .isEqualTo(BigDecimal.ONE);
+    }
+
+    @Test
+    @DisplayName("it should keep the scale bounded over chained conversions")
+    public void test_toUnit() {
+        DataSizeFactory factory = DataSizeFactory.fixedPoint(6);
+        DataSize exact = DataSize.of(1, BitUnit.BIT);
+        DataSize bounded = exact;
+        DataUnit[] units = {ByteUnit.IEC.KIBIBYTE, ByteUnit.SI.KILOBYTE, BitUnit.SI.MEGABIT,
+            ByteUnit.IEC.GIBIBYTE, BitUnit.BIT};
+
+        for (int round = 0; round < 5; round++) {
+            for (DataUnit unit : units) {
+                exact = exact.toUnit(unit);
+                bounded = factory.toUnit(bounded, unit);
+
+                assertThat(bounded.getValue().scale())
+                    .isLessThanOrEqualTo(6);
+            }
+        }
+
+        assertThat(exact.getValue().scale())
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("it should return values that already fit unchanged")
+    public void test_normalize() throws ParseException {
+        Locale.setDefault(Locale.US);
+        DataSize dataSize = DataSize.of(new BigDecimal("1.5"), ByteUnit.BYTE);
+
+        assertThat(DataSizeFactory.fixedPoint(2).normalize(dataSize))
+            .isSameAs(dataSize);
+
+        assertThat(DataSizeFactory.EXACT.normalize(dataSize))
+            .isSameAs(dataSize);
+
+        assertThat(DataSizeFactory.fixedPoint(1).parse("1.25 kB"))
+            .isEqualTo(DataSize.of(1.3, ByteUnit.SI.KILOBYTE));
+    }
+
+    @Test
+    @DisplayName("it should reject negative scales")
+    public void test_invalid() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> DataSizeFactory.fixedPoint(-1));
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> DataSizeFactory.fixedPoint(2, RoundingMode.UNNECESSARY));
+    }
+}
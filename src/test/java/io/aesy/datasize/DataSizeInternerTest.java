@@ -0,0 +1,105 @@
+package io.aesy.datasize;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+public class DataSizeInternerTest implements WithAssertions {
+    @Test
+    @DisplayName("it should return the same instance for objects of equal value and unit")
+    public void test_intern() {
+        DataSizeInterner interner = new DataSizeInterner(16);
+        DataSize first = interner.intern(DataSize.of(4096, ByteUnit.IEC.MEBIBYTE));
+        DataSize second = interner.intern(DataSize.of(4096, ByteUnit.IEC.MEBIBYTE));
+
+        assertThat(second)
+            .isSameAs(first);
+
+        assertThat(interner.size())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("it should distinguish objects of different scale or unit")
+    public void test_distinct() {
+        DataSizeInterner interner = new DataSizeInterner(16);
+        DataSize bytes = interner.intern(DataSize.of(new BigDecimal("2048"), ByteUnit.BYTE));
+        DataSize scaled = interner.intern(DataSize.of(new BigDecimal("2048.0"), ByteUnit.BYTE));
+        DataSize kibibytes = interner.intern(DataSize.of(2, ByteUnit.IEC.KIBIBYTE));
+
+        assertThat(scaled)
+            .isNotSameAs(bytes);
+
+        assertThat(kibibytes)
+            .isNotSameAs(bytes);
+
+        assertThat(interner.size())
+            .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("it should evict the least recently used object once full")
+    public void test_evict() {
+        DataSizeInterner interner = new DataSizeInterner(2);
+        DataSize first = interner.intern(DataSize.of(2000, ByteUnit.BYTE));
+        DataSize second = interner.intern(DataSize.of(3000, ByteUnit.BYTE));
+
+        interner.intern(DataSize.of(2000, ByteUnit.BYTE));
+        interner.intern(DataSize.of(4000, ByteUnit.BYTE));
+
+        assertThat(interner.size())
+            .isEqualTo(2);
+
+        assertThat(interner.intern(DataSize.of(2000, ByteUnit.BYTE)))
+            .isSameAs(first);
+
+        assertThat(interner.intern(DataSize.of(3000, ByteUnit.BYTE)))
+            .isNotSameAs(second);
+    }
+
+    @Test
+    @DisplayName("it should stay bounded and share instances when used concurrently")
+    public void test_concurrent() throws InterruptedException {
+        DataSizeInterner bounded = new DataSizeInterner(64);
+        // Sized to hold every value, as eviction may drop any entry under contention
+        DataSizeInterner interner = new DataSizeInterner(2048);
+        DataSize shared = interner.intern(DataSize.of(12345, ByteUnit.BYTE));
+        Thread[] threads = new Thread[4];
+        boolean[] isShared = new boolean[threads.length];
+
+        for (int index = 0; index < threads.length; index++) {
+            int thread = index;
+            threads[index] = new Thread(() -> {
+                boolean same = true;
+
+                for (int value = 0; value < 10_000; value++) {
+                    bounded.intern(DataSize.of(2000 + value % 1000, ByteUnit.BYTE));
+                    interner.intern(DataSize.of(2000 + value % 1000, ByteUnit.BYTE));
+                    same &= interner.intern(DataSize.of(12345, ByteUnit.BYTE)) == shared;
+                }
+
+                isShared[thread] = same;
+            });
+            threads[index].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(bounded.size())
+            .isLessThanOrEqualTo(64);
+
+        assertThat(isShared)
+            .containsOnly(true);
+    }
+
+    @Test
+    @DisplayName("it should throw IllegalArgumentException if passed a size less than one")
+    public void test_iae() {
+        assertThatThrownBy(() -> new DataSizeInterner(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,36 @@
+package io.aesy.datasize;
+
+import io.aesy.datasize.DataSizeLibraryStats.Operation;
+import io.aesy.datasize.format.SmartDataSizeFormatter;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.util.Locale;
+
+/**
+ * Tests the default, disabled, instrumentation. {@code DataSizeLibraryStatsTest} runs in a
+ * separate JVM with instrumentation enabled.
+ */
+public class DataSizeLibraryStatsDisabledTest implements WithAssertions {
+    @Test
+    @DisplayName("it should not collect statistics unless enabled")
+    public void test_disabled() throws ParseException {
+        assertThat(DataSizeLibraryStats.isEnabled())
+            .isFalse();
+
+        DataSize.parse("1 MB");
+        new SmartDataSizeFormatter(Locale.US).format(DataSize.of(2048, ByteUnit.BYTE));
+
+        DataSizeLibraryStats stats = DataSizeLibraryStats.snapshot();
+
+        for (Operation operation : Operation.values()) {
+            assertThat(stats.getCalls(operation))
+                .isZero();
+        }
+
+        assertThat(stats.getUnitCacheHits() + stats.getUnitCacheMisses())
+            .isZero();
+    }
+}
@@ -0,0 +1,102 @@
+package io.aesy.datasize;
+
+import io.aesy.datasize.DataSizeLibraryStats.Operation;
+import io.aesy.datasize.format.SmartDataSizeFormatter;
+import io.aesy.datasize.parse.LenientDataSizeParser;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.Map;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+
+public class DataSizeLibraryStatsTest implements WithAssertions {
+    @Test
+    @DisplayName("it should count calls and failures of parsers")
+    public void test_parse() throws ParseException {
+        assertThat(DataSizeLibraryStats.isEnabled())
+            .isTrue();
+
+        DataSizeLibraryStats before = DataSizeLibraryStats.snapshot();
+        LenientDataSizeParser parser = new LenientDataSizeParser(Locale.US);
+        parser.parse("1 MB");
+
+        assertThatThrownBy(() -> parser.parse("invalid"))
+            .isInstanceOf(ParseException.class);
+
+        DataSizeLibraryStats after = DataSizeLibraryStats.snapshot();
+
+        assertThat(after.getCalls(Operation.LENIENT_PARSE) -
+                   before.getCalls(Operation.LENIENT_PARSE))
+            .isEqualTo(2);
+
+        assertThat(after.getFailures(Operation.LENIENT_PARSE) -
+                   before.getFailures(Operation.LENIENT_PARSE))
+            .isEqualTo(1);
+
+        assertThat(after.getTime(Operation.LENIENT_PARSE))
+            .isGreaterThan(before.getTime(Operation.LENIENT_PARSE));
+    }
+
+    @Test
+    @DisplayName("it should count natural unit selection and formatting separately")
+    public void test_format() {
+        DataSizeLibraryStats before = DataSizeLibraryStats.snapshot();
+
+        new SmartDataSizeFormatter(Locale.US).format(DataSize.of(2048, ByteUnit.BYTE));
+
+        DataSizeLibraryStats after = DataSizeLibraryStats.snapshot();
+
+        assertThat(after.getCalls(Operation.SMART_FORMAT) -
+                   before.getCalls(Operation.SMART_FORMAT))
+            .isEqualTo(1);
+
+        assertThat(after.getCalls(Operation.NATURAL_CONVERSION) -
+                   before.getCalls(Operation.NATURAL_CONVERSION))
+            .isEqualTo(1);
+
+        assertThat(after.getCalls(Operation.SIMPLE_FORMAT) -
+                   before.getCalls(Operation.SIMPLE_FORMAT))
+            .isEqualTo(1);
+
+        assertThat(after.getUnitCacheHits() + after.getUnitCacheMisses())
+            .isGreaterThan(before.getUnitCacheHits() + before.getUnitCacheMisses());
+    }
+
+    @Test
+    @DisplayName("it should expose statistics through JMX")
+    public void test_jmx() throws Exception {
+        DataSizeLibraryStats.registerMBean();
+        DataSizeLibraryStats.registerMBean();
+        DataSize.of(1, ByteUnit.SI.KILOBYTE).toUnit(ByteUnit.BYTE);
+        DataSize.of(1, ByteUnit.SI.KILOBYTE).toUnit(ByteUnit.BYTE);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(DataSizeLibraryStats.OBJECT_NAME);
+
+        assertThat(server.getAttribute(name, "Enabled"))
+            .isEqualTo(true);
+
+        TabularData calls = (TabularData) server.getAttribute(name, "Calls");
+
+        assertThat(calls.get(new Object[] {Operation.UNIT_CONVERSION.name()})
+                        .get("value"))
+            .isInstanceOf(Long.class);
+
+        assertThat((Long) server.getAttribute(name, "UnitCacheHits"))
+            .isPositive();
+    }
+
+    @Test
+    @DisplayName("it should render all statistics")
+    public void test_to_string() {
+        assertThat(DataSizeLibraryStats.snapshot().toString())
+            .contains("LENIENT_PARSE={calls=")
+            .contains("localeCacheMisses=");
+    }
+}
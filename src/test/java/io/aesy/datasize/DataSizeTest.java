@@ -228,6 +228,72 @@ public class DataSizeTest implements WithAssertions {
         }
     }
 
+    @Test
+    @DisplayName("it should multiply and divide by whole numbers")
+    public void test_multiply_divide() {
+        DataSize dataSize = DataSize.of(10, ByteUnit.IEC.MEBIBYTE);
+
+        assertThat(dataSize.multiply(3))
+            .isEqualTo(DataSize.of(30, ByteUnit.IEC.MEBIBYTE));
+
+        assertThat(dataSize.divide(4))
+            .isEqualTo(DataSize.of(2.5, ByteUnit.IEC.MEBIBYTE));
+
+        assertThat(dataSize.divide(4).getUnit())
+            .isEqualTo(ByteUnit.IEC.MEBIBYTE);
+
+        assertThat(DataSize.of(10, ByteUnit.BYTE).divide(3))
+            .isEqualTo(DataSize.of(3, ByteUnit.BYTE));
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> dataSize.divide(0));
+    }
+
+    @Test
+    @DisplayName("it should calculate ratios and remainders of other sizes")
+    public void test_ratio() {
+        DataSize file = DataSize.of(10, ByteUnit.SI.MEGABYTE);
+        DataSize chunk = DataSize.of(4, ByteUnit.IEC.MEBIBYTE);
+
+        assertThat(file.divide(chunk))
+            .isEqualTo(2);
+
+        assertThat(file.ceilDiv(chunk))
+            .isEqualTo(3);
+
+        assertThat(file.remainder(chunk))
+            .isEqualTo(DataSize.of(10_000_000 - 8 * 1024 * 1024, ByteUnit.BYTE));
+
+        DataSize huge = DataSize.of(1, ByteUnit.IEC.ZEBIBYTE);
+
+        assertThat(huge.divide(DataSize.of(1, ByteUnit.IEC.KIBIBYTE)))
+            .isEqualTo(1L << 60);
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> file.ceilDiv(DataSize.of(0, ByteUnit.BYTE)));
+    }
+
+    @Test
+    @DisplayName("it should align to multiples of other sizes")
+    public void test_align() {
+        DataSize page = DataSize.of(4, ByteUnit.IEC.KIBIBYTE);
+        DataSize dataSize = DataSize.of(5000, ByteUnit.BYTE);
+
+        assertThat(dataSize.alignUp(page))
+            .isEqualTo(DataSize.of(8, ByteUnit.IEC.KIBIBYTE));
+
+        assertThat(dataSize.alignDown(page))
+            .isEqualTo(page);
+
+        assertThat(page.alignUp(page))
+            .isSameAs(page);
+
+        DataSize huge = DataSize.of(8, ByteUnit.IEC.EXBIBYTE);
+
+        assertThat(huge.alignUp(DataSize.of(3, ByteUnit.BYTE)))
+            .isEqualTo(DataSize.of(new BigDecimal("9223372036854775809"), ByteUnit.BYTE));
+    }
+
     @Test
     @DisplayName("it should be convertable to other units")
     public void test_toUnit() {
@@ -289,6 +355,64 @@ public class DataSizeTest implements WithAssertions {
             .isEqualTo(String.format("%.2f %s", value, unit));
     }
 
+    @Test
+    @DisplayName("it should share instances of small whole values in built-in units")
+    public void test_shared() {
+        for (DataUnit unit : ALL_UNITS) {
+            assertThat(DataSize.of(0, unit))
+                .isSameAs(DataSize.of(BigDecimal.ZERO, unit))
+                .isSameAs(DataSize.of(BigInteger.ZERO, unit));
+
+            assertThat(DataSize.of(1024, unit))
+                .isSameAs(DataSize.of(1024, unit));
+        }
+
+        assertThat(DataSize.of(1025, ByteUnit.BYTE))
+            .isNotSameAs(DataSize.of(1025, ByteUnit.BYTE));
+
+        assertThat(DataSize.of(new BigDecimal("4.0"), ByteUnit.BYTE).getValue())
+            .isEqualTo(new BigDecimal("4.0"));
+    }
+
+    @Test
+    @DisplayName("it should reuse its' natural unit and string representations")
+    public void test_memoize() {
+        DataSize dataSize = DataSize.of(1536, ByteUnit.BYTE);
+
+        assertThat(dataSize.toNaturalUnit())
+            .isNotNull()
+            .isSameAs(dataSize.toNaturalUnit())
+            .isEqualTo(dataSize);
+
+        assertThat(dataSize.toString())
+            .isNotBlank()
+            .isSameAs(dataSize.toString());
+
+        assertThat(dataSize.hashCode())
+            .isEqualTo(DataSize.of(1.536, ByteUnit.SI.KILOBYTE).hashCode());
+    }
+
+    @Test
+    @DisplayName("it should retain up to sixteen fractional digits of the given scale")
+    public void test_retained_scale() {
+        BigDecimal sixteen = new BigDecimal("1.5000000000000000");
+        BigDecimal seventeen = new BigDecimal("1.50000000000000000");
+        BigDecimal significant = new BigDecimal("1.00000000000000001");
+
+        assertThat(DataSize.of(sixteen, ByteUnit.BYTE).getValue().scale())
+            .isEqualTo(16);
+
+        assertThat(DataSize.of(seventeen, ByteUnit.BYTE).getValue().scale())
+            .isEqualTo(16);
+
+        assertThat(DataSize.of(new BigDecimal("1.50000000000000000000"), ByteUnit.BYTE))
+            .hasToString(DataSize.of(sixteen, ByteUnit.BYTE).toString())
+            .isEqualTo(DataSize.of(sixteen, ByteUnit.BYTE));
+
+        assertThat(DataSize.of(significant, ByteUnit.BYTE).getValue().scale())
+            .isEqualTo(17);
+    }
+
     @Disabled("to be implemented in future release")
     @Test
     @DisplayName("it should be serializable")
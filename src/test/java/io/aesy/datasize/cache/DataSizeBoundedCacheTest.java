@@ -0,0 +1,149 @@
+package io.aesy.datasize.cache;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+public class DataSizeBoundedCacheTest implements WithAssertions {
+    @Test
+    @DisplayName("it should evict the least recently used values when full")
+    public void test_evict() {
+        DataSizeBoundedCache<String, byte[]> cache =
+            new DataSizeBoundedCache<>(DataSize.of(1024, ByteUnit.BYTE), bytes -> bytes.length, 1);
+
+        cache.put("a", new byte[400]);
+        cache.put("b", new byte[400]);
+        cache.get("a");
+        cache.put("c", new byte[400]);
+
+        assertThat(cache.get("a"))
+            .isPresent();
+
+        assertThat(cache.get("b"))
+            .isEmpty();
+
+        assertThat(cache.getWeight())
+            .isEqualTo(DataSize.of(800, ByteUnit.BYTE));
+
+        assertThat(cache.getStats().getEvictedWeight())
+            .isEqualTo(DataSize.of(400, ByteUnit.BYTE));
+    }
+
+    @Test
+    @DisplayName("it should never exceed the maximum weight")
+    public void test_concurrent() {
+        DataSizeBoundedCache<Integer, byte[]> cache =
+            new DataSizeBoundedCache<>(DataSize.of(64, ByteUnit.IEC.KIBIBYTE), a -> a.length);
+
+        IntStream.range(0, 10_000)
+                 .parallel()
+                 .forEach(index -> cache.get(index % 500, key -> new byte[100 + key]));
+
+        assertThat(cache.getWeightBytes())
+            .isLessThanOrEqualTo(64 * 1024);
+
+        assertThat(cache.getStats().getHitCount() + cache.getStats().getMissCount())
+            .isEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("it should load missing values and count hits and misses")
+    public void test_load() {
+        DataSizeBoundedCache<String, String> cache =
+            new DataSizeBoundedCache<>(DataSize.of(1, ByteUnit.SI.KILOBYTE), String::length);
+
+        assertThat(cache.get("key", String::toUpperCase))
+            .isEqualTo("KEY");
+
+        assertThat(cache.get("key", key -> "unexpected"))
+            .isEqualTo("KEY");
+
+        assertThat(cache.getStats().getHitRate())
+            .isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("it should not cache values larger than the maximum weight")
+    public void test_oversized() {
+        DataSizeBoundedCache<String, byte[]> cache =
+            new DataSizeBoundedCache<>(DataSize.of(100, ByteUnit.BYTE), bytes -> bytes.length, 1);
+
+        cache.put("a", new byte[10]);
+        cache.put("a", new byte[101]);
+
+        assertThat(cache.get("a"))
+            .isEmpty();
+
+        assertThat(cache.size())
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("it should remove invalidated values")
+    public void test_invalidate() {
+        DataSizeBoundedCache<String, byte[]> cache =
+            new DataSizeBoundedCache<>(DataSize.of(100, ByteUnit.BYTE), bytes -> bytes.length);
+
+        cache.put("a", new byte[10]);
+        cache.put("b", new byte[10]);
+        cache.invalidate("a");
+
+        assertThat(cache.size())
+            .isEqualTo(1);
+
+        cache.invalidateAll();
+
+        assertThat(cache.getWeightBytes())
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("it should cache values larger than an equal share of each stripe")
+    public void test_striped_weight() {
+        DataSizeBoundedCache<String, byte[]> cache =
+            new DataSizeBoundedCache<>(DataSize.of(1000, ByteUnit.BYTE), bytes -> bytes.length, 8);
+
+        cache.put("a", new byte[900]);
+
+        assertThat(cache.get("a"))
+            .isPresent();
+
+        cache.put("b", new byte[200]);
+
+        assertThat(cache.get("a"))
+            .isEmpty();
+
+        assertThat(cache.get("b"))
+            .isPresent();
+
+        assertThat(cache.getWeightBytes())
+            .isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("it should count buffered lookups towards recency")
+    public void test_read_buffer() {
+        DataSizeBoundedCache<Integer, byte[]> cache =
+            new DataSizeBoundedCache<>(DataSize.of(100, ByteUnit.BYTE), bytes -> bytes.length, 1);
+
+        for (int key = 0; key < 10; key++) {
+            cache.put(key, new byte[10]);
+        }
+
+        for (int lookup = 0; lookup < 100; lookup++) {
+            cache.get(0);
+        }
+
+        cache.put(10, new byte[10]);
+
+        assertThat(cache.get(0))
+            .isPresent();
+
+        assertThat(cache.get(1))
+            .isEmpty();
+    }
+}
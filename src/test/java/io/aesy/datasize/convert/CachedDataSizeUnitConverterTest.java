@@ -0,0 +1,67 @@
+package io.aesy.datasize.convert;
+
+import io.aesy.datasize.BitUnit;
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+import io.aesy.datasize.DataUnit;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+public class CachedDataSizeUnitConverterTest implements WithAssertions {
+    private static final DataUnit[] UNITS = {ByteUnit.IEC.KIBIBYTE, ByteUnit.SI.KILOBYTE,
+        BitUnit.SI.MEGABIT, ByteUnit.IEC.GIBIBYTE, BitUnit.BIT};
+
+    @Test
+    @DisplayName("it should strip trailing zeros from converted values")
+    public void test_canonical() {
+        DataSize converted = new CachedDataSizeUnitConverter(ByteUnit.SI.KILOBYTE)
+            .convert(DataSize.of(2048, ByteUnit.BYTE));
+
+        assertThat(converted.getValue())
+            .isEqualTo(new BigDecimal("2.048"));
+
+        DataSize whole = new CachedDataSizeUnitConverter(ByteUnit.BYTE)
+            .convert(DataSize.of(new BigDecimal("1.50"), ByteUnit.SI.KILOBYTE));
+
+        assertThat(whole.getValue())
+            .isEqualTo(new BigDecimal("1500"));
+    }
+
+    @Test
+    @DisplayName("it should keep a constant scale over long conversion chains")
+    public void test_chain() {
+        DataSize dataSize = DataSize.of(12345, BitUnit.BIT);
+        int[] scales = new int[UNITS.length];
+
+        for (int round = 0; round < 1000; round++) {
+            for (int index = 0; index < UNITS.length; index++) {
+                dataSize = dataSize.toUnit(UNITS[index]);
+
+                if (round == 0) {
+                    scales[index] = dataSize.getValue().scale();
+                }
+
+                assertThat(dataSize.getValue().scale())
+                    .isEqualTo(scales[index]);
+            }
+        }
+
+        assertThat(dataSize)
+            .isEqualTo(DataSize.of(12345, BitUnit.BIT));
+
+        assertThat(dataSize.getValue().scale())
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("it should return values of the same unit unchanged")
+    public void test_same_unit() {
+        DataSize dataSize = DataSize.of(new BigDecimal("4.0"), ByteUnit.BYTE);
+
+        assertThat(new CachedDataSizeUnitConverter(ByteUnit.BYTE).convert(dataSize))
+            .isSameAs(dataSize);
+    }
+}
@@ -0,0 +1,131 @@
+package io.aesy.datasize.convert;
+
+import io.aesy.datasize.BitUnit;
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+public class DataSizeConversionsTest implements WithAssertions {
+    private static final long[] VALUES = {0, 1, 1000, 1536, 1_048_576, 123_456_789_012L};
+
+    @Test
+    @DisplayName("it should convert to doubles of another unit")
+    public void test_double() {
+        double[] dst = new double[VALUES.length];
+
+        DataSizeConversions.convert(VALUES, ByteUnit.BYTE, ByteUnit.IEC.KIBIBYTE, dst);
+
+        assertThat(dst[3])
+            .isEqualTo(1.5);
+
+        DataSizeConversions.convert(VALUES, ByteUnit.BYTE, ByteUnit.SI.MEGABYTE, dst);
+
+        for (int index = 0; index < VALUES.length; index++) {
+            assertThat(dst[index])
+                .isEqualTo(DataSize.of(VALUES[index], ByteUnit.BYTE)
+                                   .toUnit(ByteUnit.SI.MEGABYTE)
+                                   .getValue()
+                                   .doubleValue());
+        }
+    }
+
+    @Test
+    @DisplayName("it should convert to the exact values of DataSize")
+    public void test_decimal() {
+        BigDecimal[] dst = new BigDecimal[VALUES.length];
+
+        DataSizeConversions.convert(VALUES, BitUnit.BIT, ByteUnit.SI.KILOBYTE, dst);
+
+        for (int index = 0; index < VALUES.length; index++) {
+            assertThat(dst[index])
+                .isEqualTo(DataSize.of(VALUES[index], BitUnit.BIT)
+                                   .toUnit(ByteUnit.SI.KILOBYTE)
+                                   .getValue());
+        }
+    }
+
+    @Test
+    @DisplayName("it should convert to fixed-point longs rounded down")
+    public void test_scaled() {
+        long[] dst = new long[VALUES.length];
+
+        DataSizeConversions.convert(VALUES, ByteUnit.BYTE, ByteUnit.IEC.KIBIBYTE, 2, dst);
+
+        assertThat(dst)
+            .containsExactly(0, 0, 97, 150, 102_400, 12_056_327_051L);
+
+        DataSizeConversions.convert(VALUES, ByteUnit.BYTE, BitUnit.BIT, 0, dst);
+
+        assertThat(dst[3])
+            .isEqualTo(1536 * 8);
+
+        DataSizeConversions.convert(VALUES, ByteUnit.BYTE, ByteUnit.SI.MEGABYTE, 1, dst);
+
+        assertThat(dst[4])
+            .isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("it should convert large arrays in parallel like sequentially")
+    public void test_parallel() {
+        long[] src = new long[(1 << 18) + 3];
+
+        for (int index = 0; index < src.length; index++) {
+            src[index] = index * 997L;
+        }
+
+        long[] expected = new long[src.length];
+        long[] actual = new long[src.length];
+        DataSizeConversions.convert(src, ByteUnit.BYTE, ByteUnit.SI.KILOBYTE, 3, expected);
+        DataSizeConversions.parallelConvert(src, ByteUnit.BYTE, ByteUnit.SI.KILOBYTE, 3, actual);
+
+        assertThat(actual)
+            .isEqualTo(expected)
+            .isEqualTo(src);
+    }
+
+    @Test
+    @DisplayName("it should reject negative values, short destinations and overflow")
+    public void test_invalid() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> DataSizeConversions.convert(new long[] {1, -1}, ByteUnit.BYTE,
+                ByteUnit.BYTE, new double[2]));
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> DataSizeConversions.convert(VALUES, ByteUnit.BYTE,
+                ByteUnit.BYTE, new BigDecimal[1]));
+
+        assertThatThrownBy(() -> DataSizeConversions.convert(new long[] {Long.MAX_VALUE},
+            ByteUnit.BYTE, BitUnit.BIT, 0, new long[1]))
+            .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("it should reject negative values and overflow in any range when parallel")
+    public void test_parallel_invalid() {
+        long[] src = new long[(1 << 18) + 3];
+        src[src.length - 1] = -1;
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> DataSizeConversions.parallelConvert(src, ByteUnit.BYTE,
+                ByteUnit.SI.KILOBYTE, new double[src.length]));
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> DataSizeConversions.parallelConvert(src, ByteUnit.BYTE,
+                ByteUnit.SI.KILOBYTE, new BigDecimal[src.length]));
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> DataSizeConversions.parallelConvert(src, ByteUnit.BYTE,
+                ByteUnit.SI.KILOBYTE, 3, new long[src.length]));
+
+        src[src.length - 1] = Long.MAX_VALUE;
+
+        assertThatThrownBy(() -> DataSizeConversions.parallelConvert(src, ByteUnit.BYTE,
+            BitUnit.BIT, 0, new long[src.length]))
+            .isInstanceOf(ArithmeticException.class);
+    }
+}
@@ -0,0 +1,133 @@
+package io.aesy.datasize.format;
+
+import io.aesy.datasize.BitUnit;
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Tests properties unique to {@code PatternDataSizeFormatter}.
+ */
+public class PatternDataSizeFormatterTest implements WithAssertions {
+    @BeforeEach
+    public void setup() {
+        Locale.setDefault(Locale.US);
+    }
+
+    @Test
+    @DisplayName("it should format the value like DecimalFormat using the same pattern")
+    public void test_value() {
+        String[] patterns = { "0", "#", "#,##0.00", "0.##", "#.#", "000.000", "#,####", "0.0#" };
+        String[] values = { "0", "0.004", "0.5", "1", "1.005", "12.3456", "1234567.891", "100" };
+
+        for (String pattern : patterns) {
+            DataSizeFormatter formatter = DataSizeFormatter.ofPattern(pattern, Locale.US);
+            DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.US);
+            DecimalFormat decimalFormat = new DecimalFormat(pattern, symbols);
+            decimalFormat.setRoundingMode(RoundingMode.HALF_UP);
+
+            for (String value : values) {
+                BigDecimal decimal = new BigDecimal(value);
+                DataSize dataSize = DataSize.of(decimal, ByteUnit.BYTE);
+
+                assertThat(formatter.format(dataSize))
+                    .as("%s formatted with %s", value, pattern)
+                    .isEqualTo(decimalFormat.format(decimal));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("it should format the unit as its' abbreviation or pluralized name")
+    public void test_unit() {
+        DataSizeFormatter formatter = DataSizeFormatter.ofPattern("#,##0.## {abbr} '('{name}')'");
+
+        assertThat(formatter.format(DataSize.of(1, ByteUnit.IEC.KIBIBYTE)))
+            .isEqualTo("1 KiB (kibibyte)");
+
+        assertThat(formatter.format(DataSize.of(1234.5, BitUnit.SI.MEGABIT)))
+            .isEqualTo("1,234.5 mbit (megabits)");
+    }
+
+    @Test
+    @DisplayName("it should output two single quotes as a single quote, quoted or not")
+    public void test_quote() {
+        DataSize dataSize = DataSize.of(5, ByteUnit.SI.KILOBYTE);
+
+        assertThat(DataSizeFormatter.ofPattern("'it''s' 0 {abbr}", Locale.US).format(dataSize))
+            .isEqualTo("it's 5 kB");
+
+        assertThat(DataSizeFormatter.ofPattern("0'' {abbr}", Locale.US).format(dataSize))
+            .isEqualTo("5' kB");
+
+        assertThat(DataSizeFormatter.ofPattern("''{name}'' 0", Locale.US).format(dataSize))
+            .isEqualTo("'kilobytes' 5");
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> DataSizeFormatter.ofPattern("'it''s 0", Locale.US));
+    }
+
+    @Test
+    @DisplayName("it should pluralize the unit name based on the rounded value")
+    public void test_unit_rounded() {
+        DataSizeFormatter formatter = DataSizeFormatter.ofPattern("{name}: 0 {abbr}");
+
+        assertThat(formatter.format(DataSize.of(1.2, ByteUnit.SI.KILOBYTE)))
+            .isEqualTo("kilobyte: 1 kB");
+
+        assertThat(formatter.format(DataSize.of(0.999, ByteUnit.SI.KILOBYTE)))
+            .isEqualTo("kilobyte: 1 kB");
+
+        assertThat(formatter.format(DataSize.of(1.5, ByteUnit.SI.KILOBYTE)))
+            .isEqualTo("kilobytes: 2 kB");
+
+        assertThat(DataSizeFormatter.ofPattern("{name}").format(DataSize.of(1.2, BitUnit.BIT)))
+            .isEqualTo("bits");
+    }
+
+    @Test
+    @DisplayName("it should pad the value and unit")
+    public void test_padding() {
+        DataSizeFormatter formatter = DataSizeFormatter.ofPattern("*_#,##0.0|{abbr:4}|");
+
+        assertThat(formatter.format(DataSize.of(1.5, ByteUnit.SI.KILOBYTE)))
+            .isEqualTo("____1.5|kB  |");
+
+        assertThat(formatter.format(DataSize.of(123456, ByteUnit.IEC.KIBIBYTE)))
+            .isEqualTo("123,456.0|KiB |");
+    }
+
+    @Test
+    @DisplayName("it should be locale aware")
+    public void test_locale() {
+        DataSize dataSize = DataSize.of(1234.5, ByteUnit.BYTE);
+
+        for (Locale locale : Locale.getAvailableLocales()) {
+            DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+            DecimalFormat decimalFormat = new DecimalFormat("#,##0.00", symbols);
+
+            assertThat(DataSizeFormatter.ofPattern("#,##0.00", locale).format(dataSize))
+                .isEqualTo(decimalFormat.format(1234.5));
+        }
+    }
+
+    @Test
+    @DisplayName("it should throw IllegalArgumentException if passed an invalid pattern")
+    public void test_invalid() {
+        String[] patterns = { "0 {unknown}", "0 {abbr", "'0", "0 0", "0.0.0", "0.#0", "#,", "*" };
+
+        for (String pattern : patterns) {
+            assertThatThrownBy(() -> DataSizeFormatter.ofPattern(pattern))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -2,13 +2,20 @@ package io.aesy.datasize.format;
 
 import io.aesy.datasize.BitUnit;
 import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
 import io.aesy.datasize.DataUnit;
 import org.assertj.core.api.WithAssertions;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Locale;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Tests properties unique to {@code SmartDataSizeFormatter}.
@@ -26,4 +33,97 @@ public class SmartDataSizeFormatterTest implements WithAssertions {
     public void setup() {
         Locale.setDefault(Locale.US);
     }
+
+    @Test
+    @DisplayName("it should format byte counts in bulk identically to formatting them one by one")
+    public void test_formatAll_bytes() throws IOException {
+        SmartDataSizeFormatter formatter = new SmartDataSizeFormatter(Locale.US, 2);
+        long[] bytes = new Random(42).longs(10_000, 0, Long.MAX_VALUE).toArray();
+        bytes[1] = bytes[0];
+        StringJoiner expected = new StringJoiner(";");
+
+        for (long value : bytes) {
+            expected.add(formatter.format(DataSize.of(value, ByteUnit.BYTE)));
+        }
+
+        StringBuilder sequential = new StringBuilder();
+        formatter.formatAll(bytes, sequential, ";");
+
+        StringBuilder parallel = new StringBuilder();
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            formatter.formatAll(bytes, parallel, ";", pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(sequential.toString())
+            .isEqualTo(expected.toString());
+
+        assertThat(parallel.toString())
+            .isEqualTo(expected.toString());
+    }
+
+    @Test
+    @DisplayName("it should stream the output in bounded pieces")
+    public void test_formatAll_streaming() throws IOException {
+        SmartDataSizeFormatter formatter = new SmartDataSizeFormatter(Locale.US, 2);
+        long[] bytes = new Random(7).longs(100_000, 0, Long.MAX_VALUE).toArray();
+        StringBuilder output = new StringBuilder();
+        int[] largest = {0};
+        Appendable out = new Appendable() {
+            @Override
+            public Appendable append(CharSequence sequence) {
+                largest[0] = Math.max(largest[0], sequence.length());
+                output.append(sequence);
+
+                return this;
+            }
+
+            @Override
+            public Appendable append(CharSequence sequence, int start, int end) {
+                return append(sequence.subSequence(start, end));
+            }
+
+            @Override
+            public Appendable append(char character) {
+                return append(String.valueOf(character));
+            }
+        };
+
+        formatter.formatAll(bytes, out, ";");
+
+        assertThat(output.length())
+            .isGreaterThan(100_000 * 6);
+
+        assertThat(largest[0])
+            .isLessThan(10_000);
+    }
+
+    @Test
+    @DisplayName("it should format objects in bulk identically to formatting them one by one")
+    public void test_formatAll_objects() throws IOException {
+        SmartDataSizeFormatter formatter = new SmartDataSizeFormatter(Locale.US, 2);
+        DataSize[] sizes = ALL_UNITS.stream()
+                                    .map(unit -> DataSize.of(Math.PI, unit))
+                                    .toArray(DataSize[]::new);
+        StringJoiner expected = new StringJoiner(", ");
+
+        for (DataSize dataSize : sizes) {
+            expected.add(formatter.format(dataSize));
+        }
+
+        StringBuilder sequential = new StringBuilder();
+        formatter.formatAll(sizes, sequential, ", ");
+
+        StringBuilder parallel = new StringBuilder();
+        formatter.formatAll(sizes, parallel, ", ", ForkJoinPool.commonPool());
+
+        assertThat(sequential.toString())
+            .isEqualTo(expected.toString());
+
+        assertThat(parallel.toString())
+            .isEqualTo(expected.toString());
+    }
 }
@@ -0,0 +1,105 @@
+package io.aesy.datasize.internal;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.text.ParsePosition;
+import java.util.Locale;
+
+public class NumberSymbolsTest implements WithAssertions {
+    @Test
+    @DisplayName("it should hold the symbols of the locale")
+    public void test_symbols() {
+        for (Locale locale : Locale.getAvailableLocales()) {
+            NumberSymbols numberSymbols = NumberSymbols.of(locale);
+            DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+
+            assertThat(numberSymbols.getLocale())
+                .isEqualTo(locale);
+
+            assertThat(numberSymbols.getDecimalSeparator())
+                .isEqualTo(symbols.getDecimalSeparator());
+
+            assertThat(numberSymbols.getGroupingSeparator())
+                .isEqualTo(symbols.getGroupingSeparator());
+
+            assertThat(numberSymbols.getZeroDigit())
+                .isEqualTo(symbols.getZeroDigit());
+
+            assertThat(numberSymbols.getMinusSign())
+                .isEqualTo(symbols.getMinusSign());
+        }
+    }
+
+    @Test
+    @DisplayName("it should cache symbols and count hits and misses")
+    public void test_cache() {
+        Locale locale = new Locale("sv", "SE", "cache");
+        long misses = NumberSymbols.getMissCount();
+
+        NumberSymbols.prewarm(locale);
+
+        assertThat(NumberSymbols.getMissCount())
+            .isGreaterThan(misses);
+
+        long hits = NumberSymbols.getHitCount();
+
+        assertThat(NumberSymbols.of(locale))
+            .isSameAs(NumberSymbols.of(locale));
+
+        assertThat(NumberSymbols.getHitCount())
+            .isGreaterThanOrEqualTo(hits + 2);
+    }
+
+    @Test
+    @DisplayName("it should keep caching new locales once full")
+    public void test_eviction() {
+        for (int index = 0; index < NumberSymbols.MAXIMUM_SIZE + 100; index++) {
+            NumberSymbols.of(new Locale("en", "US", "eviction" + index));
+        }
+
+        Locale locale = new Locale("en", "US", "evicted");
+
+        assertThat(NumberSymbols.of(locale))
+            .isSameAs(NumberSymbols.of(locale));
+    }
+
+    @Test
+    @DisplayName("it should cache number formats configured by the given settings")
+    public void test_settings() {
+        NumberSymbols symbols = NumberSymbols.of(Locale.US, RoundingMode.HALF_UP, false, 1);
+        NumberFormat format = symbols.newNumberFormat();
+
+        assertThat(NumberSymbols.of(Locale.US, RoundingMode.HALF_UP, false, 1))
+            .isSameAs(symbols)
+            .isNotSameAs(NumberSymbols.of(Locale.US, RoundingMode.HALF_UP, true, 1));
+
+        assertThat(format.format(1234.25))
+            .isEqualTo("1234.3");
+
+        NumberFormat parser = NumberSymbols.forParsing(Locale.US).newNumberFormat();
+
+        assertThat(parser.parse("0.1", new ParsePosition(0)))
+            .isEqualTo(new BigDecimal("0.1"));
+    }
+
+    @Test
+    @DisplayName("it should create independent number formats")
+    public void test_newNumberFormat() {
+        NumberSymbols symbols = NumberSymbols.of(Locale.US);
+        NumberFormat first = symbols.newNumberFormat();
+        first.setMaximumFractionDigits(0);
+        NumberFormat second = symbols.newNumberFormat();
+
+        assertThat(first)
+            .isNotSameAs(second);
+
+        assertThat(second.format(Math.PI))
+            .isEqualTo(NumberFormat.getNumberInstance(Locale.US).format(Math.PI));
+    }
+}
@@ -0,0 +1,94 @@
+package io.aesy.datasize.io;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ChunkPlannerTest implements WithAssertions {
+    private static final ChunkPlanner PLANNER = new ChunkPlanner(
+        DataSize.of(4, ByteUnit.IEC.KIBIBYTE), DataSize.of(5, ByteUnit.IEC.MEBIBYTE),
+        DataSize.of(64, ByteUnit.IEC.MEBIBYTE));
+
+    @Test
+    @DisplayName("it should split evenly into the fewest aligned chunks")
+    public void test_plan() {
+        long total = 100 * 1024 * 1024 + 123;
+        ChunkPlanner.Plan plan = PLANNER.plan(total);
+
+        assertThat(plan.getCount())
+            .isEqualTo(2);
+
+        assertThat(plan.getPartBytes() % 4096)
+            .isZero();
+
+        assertThat(plan.getLength(0) + plan.getLength(1))
+            .isEqualTo(total);
+
+        assertThat(plan.getLength(1))
+            .isGreaterThan(plan.getPartBytes() / 2);
+    }
+
+    @Test
+    @DisplayName("it should cover the total with contiguous chunks")
+    public void test_cursor() {
+        long total = 1_000_000_007L;
+        ChunkPlanner.Cursor cursor = PLANNER.plan(total).cursor();
+        long expectedOffset = 0;
+        long index = 0;
+
+        while (cursor.next()) {
+            assertThat(cursor.getIndex())
+                .isEqualTo(index++);
+
+            assertThat(cursor.getOffset())
+                .isEqualTo(expectedOffset);
+
+            assertThat(cursor.getLength())
+                .isBetween(1L, 64L * 1024 * 1024);
+
+            expectedOffset += cursor.getLength();
+        }
+
+        assertThat(expectedOffset)
+            .isEqualTo(total);
+    }
+
+    @Test
+    @DisplayName("it should respect the minimum part size")
+    public void test_minimum() {
+        ChunkPlanner planner = new ChunkPlanner(DataSize.of(1, ByteUnit.BYTE),
+            DataSize.of(60, ByteUnit.BYTE), DataSize.of(100, ByteUnit.BYTE));
+        ChunkPlanner.Plan plan = planner.plan(DataSize.of(110, ByteUnit.BYTE));
+
+        assertThat(plan.getPartSize())
+            .isEqualTo(DataSize.of(60, ByteUnit.BYTE));
+
+        assertThat(plan.getLength(1))
+            .isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("it should plan nothing for an empty total")
+    public void test_empty() {
+        ChunkPlanner.Plan plan = PLANNER.plan(0);
+
+        assertThat(plan.getCount())
+            .isZero();
+
+        assertThat(plan.cursor().next())
+            .isFalse();
+
+        assertThatThrownBy(() -> plan.getOffset(0))
+            .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("it should reject a maximum part size less than the minimum")
+    public void test_invalid() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> new ChunkPlanner(DataSize.of(4, ByteUnit.IEC.KIBIBYTE),
+                DataSize.of(8, ByteUnit.IEC.KIBIBYTE), DataSize.of(7, ByteUnit.IEC.KIBIBYTE)));
+    }
+}
@@ -0,0 +1,84 @@
+package io.aesy.datasize.io;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+public class DataSizeCountingByteChannelTest implements WithAssertions {
+    @Test
+    @DisplayName("it should count bytes read from a channel")
+    public void test_read() throws IOException {
+        DataSizeCountingReadableByteChannel channel = new DataSizeCountingReadableByteChannel(
+            Channels.newChannel(new ByteArrayInputStream(new byte[3000])));
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+        while (channel.read(buffer) != -1) {
+            buffer.clear();
+        }
+
+        assertThat(channel.getDataSize())
+            .isEqualTo(DataSize.of(3000, ByteUnit.BYTE));
+    }
+
+    @Test
+    @DisplayName("it should count bytes written to a shared channel from multiple threads")
+    public void test_concurrent() {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        DataSizeCountingWritableByteChannel channel =
+            new DataSizeCountingWritableByteChannel(Channels.newChannel(target), true);
+
+        IntStream.range(0, 1000).parallel().forEach(index -> {
+            try {
+                channel.write(ByteBuffer.allocate(10));
+            } catch (IOException exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+
+        assertThat(channel.getByteCount())
+            .isEqualTo(10000);
+    }
+
+    @Test
+    @DisplayName("it should count bytes transferred from and to files")
+    public void test_transfer(@TempDir Path directory) throws IOException {
+        Path source = directory.resolve("source");
+        Path target = directory.resolve("target");
+        Files.write(source, new byte[5000]);
+
+        try (FileChannel input = FileChannel.open(source);
+             FileChannel output = FileChannel.open(target, StandardOpenOption.CREATE,
+                 StandardOpenOption.WRITE)) {
+            DataSizeCountingWritableByteChannel writable =
+                new DataSizeCountingWritableByteChannel(output);
+            writable.transferFrom(input, 0, input.size());
+
+            assertThat(writable.getByteCount())
+                .isEqualTo(5000);
+        }
+
+        try (FileChannel input = FileChannel.open(target);
+             FileChannel output = FileChannel.open(source, StandardOpenOption.WRITE)) {
+            DataSizeCountingReadableByteChannel readable =
+                new DataSizeCountingReadableByteChannel(input);
+            readable.transferTo(output, 0, 5000);
+
+            assertThat(readable.getByteCount())
+                .isEqualTo(5000);
+        }
+    }
+}
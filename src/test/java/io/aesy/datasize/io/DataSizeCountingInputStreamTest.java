@@ -0,0 +1,64 @@
+package io.aesy.datasize.io;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+public class DataSizeCountingInputStreamTest implements WithAssertions {
+    @Test
+    @DisplayName("it should count bytes read and skipped")
+    public void test_count() throws IOException {
+        DataSizeCountingInputStream input =
+            new DataSizeCountingInputStream(new ByteArrayInputStream(new byte[2048]));
+
+        input.read();
+        input.read(new byte[1000], 0, 1000);
+        input.skip(47);
+
+        assertThat(input.getByteCount())
+            .isEqualTo(1048);
+
+        assertThat(input.getDataSize())
+            .isEqualTo(DataSize.of(1048, ByteUnit.BYTE));
+
+        input.read(new byte[4096]);
+
+        assertThat(input.read())
+            .isEqualTo(-1);
+
+        assertThat(input.getDataSize())
+            .isEqualTo(DataSize.of(2, ByteUnit.IEC.KIBIBYTE));
+    }
+
+    @Test
+    @DisplayName("it should restore the count when reset to a mark")
+    public void test_reset() throws IOException {
+        DataSizeCountingInputStream input =
+            new DataSizeCountingInputStream(new ByteArrayInputStream(new byte[100]));
+
+        input.read(new byte[10]);
+        input.mark(100);
+        input.read(new byte[20]);
+        input.reset();
+
+        assertThat(input.getByteCount())
+            .isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("it should report a positive rate once bytes are read")
+    public void test_rate() throws IOException {
+        DataSizeCountingInputStream input =
+            new DataSizeCountingInputStream(new ByteArrayInputStream(new byte[100]));
+
+        input.read(new byte[100]);
+
+        assertThat(input.getRate().getBytesPerSecond())
+            .isPositive();
+    }
+}
@@ -0,0 +1,57 @@
+package io.aesy.datasize.io;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DataSizeCountingOutputStreamTest implements WithAssertions {
+    @Test
+    @DisplayName("it should count bytes written")
+    public void test_count() throws IOException {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        DataSizeCountingOutputStream output = new DataSizeCountingOutputStream(target);
+
+        output.write(1);
+        output.write(new byte[1023]);
+        output.write(new byte[2048], 1024, 1024);
+
+        assertThat(output.getByteCount())
+            .isEqualTo(2048);
+
+        assertThat(output.getDataSize())
+            .isEqualTo(DataSize.of(2, ByteUnit.IEC.KIBIBYTE));
+
+        assertThat(target.size())
+            .isEqualTo(2048);
+    }
+
+    @Test
+    @DisplayName("it should write arrays to the underlying stream in one call")
+    public void test_bulk() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        OutputStream target = new OutputStream() {
+            @Override
+            public void write(int value) {
+                calls.incrementAndGet();
+            }
+
+            @Override
+            public void write(byte[] buffer, int offset, int length) {
+                calls.incrementAndGet();
+            }
+        };
+        DataSizeCountingOutputStream output = new DataSizeCountingOutputStream(target);
+
+        output.write(new byte[4096]);
+
+        assertThat(calls.get())
+            .isEqualTo(1);
+    }
+}
@@ -0,0 +1,213 @@
+package io.aesy.datasize.io;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+public class DiskUsageIndexTest implements WithAssertions {
+    @Test
+    @DisplayName("it should compute the same disk usage as a full scan")
+    public void test_refresh(@TempDir Path root) throws IOException {
+        Files.createDirectories(root.resolve("a/b"));
+        Files.write(root.resolve("a/x"), new byte[100]);
+        Files.write(root.resolve("a/b/x"), new byte[200]);
+
+        try (DiskUsageIndex index = new DiskUsageIndex(root)) {
+            DiskUsage usage = index.refresh();
+
+            assertThat(usage.getApparentBytes())
+                .isEqualTo(DiskUsage.scan(root).getApparentBytes())
+                .isEqualTo(300);
+
+            assertThat(index.size())
+                .isEqualTo(3);
+        }
+    }
+
+    @Test
+    @DisplayName("it should pick up added and removed directories")
+    public void test_structure(@TempDir Path root) throws IOException {
+        Files.createDirectories(root.resolve("a"));
+        Files.write(root.resolve("a/x"), new byte[100]);
+
+        try (DiskUsageIndex index = new DiskUsageIndex(root,
+            DataSize.of(1, ByteUnit.BYTE), false)) {
+            index.refresh();
+
+            Files.createDirectories(root.resolve("b"));
+            Files.write(root.resolve("b/x"), new byte[50]);
+            Files.delete(root.resolve("a/x"));
+            Files.delete(root.resolve("a"));
+            touch(root);
+
+            DiskUsage usage = index.refresh();
+
+            assertThat(usage.getApparentBytes())
+                .isEqualTo(50);
+
+            assertThat(usage.getDirectories())
+                .extracting(DiskUsage::getPath)
+                .containsExactly(root.resolve("b"));
+
+            assertThat(index.size())
+                .isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("it should list invalidated directories again")
+    public void test_invalidate(@TempDir Path root) throws IOException {
+        Path file = Files.write(root.resolve("x"), new byte[100]);
+
+        try (DiskUsageIndex index = new DiskUsageIndex(root,
+            DataSize.of(1, ByteUnit.BYTE), false)) {
+            index.refresh();
+            FileTime modified = Files.getLastModifiedTime(root);
+            Files.write(file, new byte[100], StandardOpenOption.APPEND);
+            // Appending doesn't modify the directory, make sure the clock doesn't either
+            Files.setLastModifiedTime(root, modified);
+
+            assertThat(index.refresh().getApparentBytes())
+                .isEqualTo(100);
+
+            index.invalidate(root);
+
+            assertThat(index.refresh().getApparentBytes())
+                .isEqualTo(200);
+        }
+    }
+
+    @Test
+    @DisplayName("it should pick up files modified in place through the watch service")
+    public void test_watch(@TempDir Path root) throws IOException, InterruptedException {
+        Files.createDirectories(root.resolve("a"));
+        Path file = Files.write(root.resolve("a/x"), new byte[100]);
+
+        try (DiskUsageIndex index = new DiskUsageIndex(root)) {
+            index.refresh();
+            FileTime modified = Files.getLastModifiedTime(root.resolve("a"));
+            Files.write(file, new byte[100], StandardOpenOption.APPEND);
+            Files.setLastModifiedTime(root.resolve("a"), modified);
+
+            // Watch services may deliver events with a delay, some poll every few seconds
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            long bytes = index.refresh().getApparentBytes();
+
+            while (bytes != 200 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+                bytes = index.refresh().getApparentBytes();
+            }
+
+            assertThat(bytes)
+                .isEqualTo(200);
+        }
+    }
+
+    @Test
+    @DisplayName("it should refresh large trees in parallel like a full scan")
+    public void test_parallel(@TempDir Path root) throws IOException {
+        for (int directory = 0; directory < 20; directory++) {
+            Path parent = Files.createDirectories(root.resolve("d" + directory + "/e"));
+            Files.write(parent.resolve("x"), new byte[directory]);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try (DiskUsageIndex index = new DiskUsageIndex(root,
+            DataSize.of(1, ByteUnit.BYTE), false)) {
+            DiskUsage usage = index.refresh(pool);
+
+            assertThat(usage.getApparentBytes())
+                .isEqualTo(DiskUsage.scan(root).getApparentBytes())
+                .isEqualTo(190);
+
+            assertThat(usage.getDirectories())
+                .hasSize(20);
+
+            assertThat(index.size())
+                .isEqualTo(41);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("it should restore a saved index without listing directories")
+    public void test_persist(@TempDir Path directory) throws IOException {
+        Path root = directory.resolve("root");
+        Files.createDirectories(root.resolve("a/b"));
+        Path file = Files.write(root.resolve("a/b/x"), new byte[100]);
+        Path indexFile = directory.resolve("index");
+
+        try (DiskUsageIndex index = new DiskUsageIndex(root,
+            DataSize.of(1, ByteUnit.BYTE), false)) {
+            index.refresh();
+            index.save(indexFile);
+        }
+
+        // Modified in place while not running, hence not expected to be detected
+        Files.write(file, new byte[100], StandardOpenOption.APPEND);
+
+        try (DiskUsageIndex index = new DiskUsageIndex(root,
+            DataSize.of(1, ByteUnit.BYTE), false)) {
+            assertThat(index.load(indexFile))
+                .isTrue();
+
+            assertThat(index.size())
+                .isEqualTo(3);
+
+            assertThat(index.refresh().getApparentBytes())
+                .isEqualTo(100);
+        }
+    }
+
+    @Test
+    @DisplayName("it should not load an index saved with another allocation unit")
+    public void test_persist_unit(@TempDir Path directory) throws IOException {
+        Path root = Files.createDirectories(directory.resolve("root"));
+        Path indexFile = directory.resolve("index");
+
+        try (DiskUsageIndex index = new DiskUsageIndex(root,
+            DataSize.of(1, ByteUnit.BYTE), false)) {
+            index.refresh();
+            index.save(indexFile);
+        }
+
+        try (DiskUsageIndex index = new DiskUsageIndex(root,
+            DataSize.of(4, ByteUnit.IEC.KIBIBYTE), false)) {
+            assertThat(index.load(indexFile))
+                .isFalse();
+
+            assertThat(index.load(directory.resolve("missing")))
+                .isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("it should throw if loading a file that is not an index")
+    public void test_persist_invalid(@TempDir Path directory) throws IOException {
+        Path indexFile = Files.write(directory.resolve("index"), new byte[16]);
+
+        try (DiskUsageIndex index = new DiskUsageIndex(directory)) {
+            assertThatThrownBy(() -> index.load(indexFile))
+                .isInstanceOf(IOException.class);
+        }
+    }
+
+    // Moves the last modified time forward, regardless of the resolution of the file system clock
+    private static void touch(Path path) throws IOException {
+        FileTime modified = Files.getLastModifiedTime(path);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(modified.toMillis() + 10_000));
+    }
+}
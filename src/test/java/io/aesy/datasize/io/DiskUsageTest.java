@@ -0,0 +1,105 @@
+package io.aesy.datasize.io;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+public class DiskUsageTest implements WithAssertions {
+    @Test
+    @DisplayName("it should sum the sizes of all files in a directory tree")
+    public void test_scan(@TempDir Path root) throws IOException {
+        Files.write(root.resolve("a"), new byte[1000]);
+        Files.createDirectories(root.resolve("b/c"));
+        Files.write(root.resolve("b/d"), new byte[24]);
+        Files.write(root.resolve("b/c/e"), new byte[2048]);
+
+        DiskUsage usage = DiskUsage.scan(root);
+
+        assertThat(usage.getApparentSize())
+            .isEqualTo(DataSize.of(3072, ByteUnit.BYTE));
+
+        assertThat(usage.getAllocatedSize())
+            .isEqualTo(usage.getApparentSize());
+
+        assertThat(usage.getFileCount())
+            .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("it should break down the size per directory")
+    public void test_breakdown(@TempDir Path root) throws IOException {
+        Files.createDirectories(root.resolve("b/c"));
+        Files.createDirectories(root.resolve("a"));
+        Files.write(root.resolve("a/x"), new byte[10]);
+        Files.write(root.resolve("b/x"), new byte[20]);
+        Files.write(root.resolve("b/c/x"), new byte[30]);
+
+        DiskUsage usage = DiskUsage.scan(root, DataSize.of(1, ByteUnit.BYTE), new ForkJoinPool(2));
+
+        assertThat(usage.getDirectories())
+            .extracting(DiskUsage::getPath)
+            .containsExactly(root.resolve("a"), root.resolve("b"));
+
+        DiskUsage directory = usage.getDirectories().get(1);
+
+        assertThat(directory.getApparentBytes())
+            .isEqualTo(50);
+
+        assertThat(directory.getDirectories())
+            .extracting(DiskUsage::getApparentBytes)
+            .containsExactly(30L);
+    }
+
+    @Test
+    @DisplayName("it should round each file up to the allocation unit")
+    public void test_allocated(@TempDir Path root) throws IOException {
+        Files.write(root.resolve("a"), new byte[1]);
+        Files.write(root.resolve("b"), new byte[4096]);
+        Files.write(root.resolve("c"), new byte[0]);
+
+        DiskUsage usage = DiskUsage.scan(root, DataSize.of(4, ByteUnit.IEC.KIBIBYTE));
+
+        assertThat(usage.getApparentBytes())
+            .isEqualTo(4097);
+
+        assertThat(usage.getAllocatedSize())
+            .isEqualTo(DataSize.of(8, ByteUnit.IEC.KIBIBYTE));
+    }
+
+    @Test
+    @DisplayName("it should report the size of a single file")
+    public void test_file(@TempDir Path root) throws IOException {
+        Path file = Files.write(root.resolve("a"), new byte[123]);
+
+        DiskUsage usage = DiskUsage.scan(file);
+
+        assertThat(usage.getApparentBytes())
+            .isEqualTo(123);
+
+        assertThat(usage.getDirectories())
+            .isEmpty();
+    }
+
+    @Test
+    @DisplayName("it should throw if the root does not exist")
+    public void test_missing(@TempDir Path root) {
+        assertThatThrownBy(() -> DiskUsage.scan(root.resolve("missing")))
+            .isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    @DisplayName("it should throw IllegalArgumentException if passed an allocation unit of zero")
+    public void test_iae(@TempDir Path root) {
+        assertThatThrownBy(() -> DiskUsage.scan(root, DataSize.of(0, ByteUnit.BYTE)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
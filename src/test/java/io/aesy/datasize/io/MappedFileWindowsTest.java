@@ -0,0 +1,127 @@
+package io.aesy.datasize.io;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class MappedFileWindowsTest implements WithAssertions {
+    @Test
+    @DisplayName("it should map a file in windows of the given size")
+    public void test_windows(@TempDir Path directory) throws IOException {
+        Path file = write(directory, 10_000);
+
+        try (MappedFileWindows windows = new MappedFileWindows(file,
+            DataSize.of(4, ByteUnit.IEC.KIBIBYTE))) {
+            assertThat(windows.getWindowCount())
+                .isEqualTo(3);
+
+            assertThat(windows.getWindow(2).remaining())
+                .isEqualTo(10_000 - 8192);
+
+            assertThat(windows.getWindowAt(5000).get())
+                .isEqualTo((byte) 5000);
+
+            assertThat(windows.getMappedSize())
+                .isEqualTo(DataSize.of(10_000 - 4096, ByteUnit.BYTE));
+        }
+    }
+
+    @Test
+    @DisplayName("it should keep only the most recently used windows mapped")
+    public void test_cache(@TempDir Path directory) throws IOException {
+        Path file = write(directory, 10_000);
+
+        try (MappedFileWindows windows = new MappedFileWindows(file,
+            DataSize.of(1000, ByteUnit.BYTE), 2)) {
+            for (long index = 0; index < windows.getWindowCount(); index++) {
+                windows.getWindow(index);
+            }
+
+            assertThat(windows.getMappedBytes() - windows.getReleasedBytes())
+                .isEqualTo(2000);
+
+            assertThat(windows.getReleasedBytes())
+                .isBetween(0L, 8000L);
+        }
+    }
+
+    @Test
+    @DisplayName("it should count released windows as mapped until garbage collected")
+    public void test_released(@TempDir Path directory) throws IOException, InterruptedException {
+        Path file = write(directory, 10_000);
+
+        try (MappedFileWindows windows = new MappedFileWindows(file,
+            DataSize.of(1000, ByteUnit.BYTE), 1)) {
+            ByteBuffer view = windows.getWindow(0);
+            windows.getWindow(1);
+
+            assertThat(windows.getMappedBytes())
+                .isEqualTo(2000);
+
+            assertThat(windows.getReleasedSize())
+                .isEqualTo(DataSize.of(1000, ByteUnit.BYTE));
+
+            assertThat(view.get(999))
+                .isEqualTo((byte) 999);
+
+            view = null;
+
+            for (int attempt = 0; attempt < 100 && windows.getReleasedBytes() > 0; attempt++) {
+                System.gc();
+                Thread.sleep(50);
+            }
+
+            assertThat(windows.getMappedBytes())
+                .isEqualTo(1000);
+        }
+    }
+
+    @Test
+    @DisplayName("it should read across windows")
+    public void test_read(@TempDir Path directory) throws IOException {
+        Path file = write(directory, 10_000);
+        ByteBuffer target = ByteBuffer.allocate(3000);
+
+        try (MappedFileWindows windows = new MappedFileWindows(file,
+            DataSize.of(1, ByteUnit.SI.KILOBYTE))) {
+            assertThat(windows.read(8500, target))
+                .isEqualTo(1500);
+
+            assertThat(target.get(0))
+                .isEqualTo((byte) 8500);
+
+            assertThat(target.get(1499))
+                .isEqualTo((byte) 9999);
+
+            assertThat(windows.read(10_000, target))
+                .isEqualTo(-1);
+        }
+    }
+
+    @Test
+    @DisplayName("it should reject window sizes beyond the limit of a buffer")
+    public void test_invalid(@TempDir Path directory) throws IOException {
+        Path file = write(directory, 1);
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> new MappedFileWindows(file, DataSize.of(2, ByteUnit.IEC.GIBIBYTE)));
+    }
+
+    private static Path write(Path directory, int size) throws IOException {
+        byte[] bytes = new byte[size];
+
+        for (int index = 0; index < size; index++) {
+            bytes[index] = (byte) index;
+        }
+
+        return Files.write(directory.resolve("file"), bytes);
+    }
+}
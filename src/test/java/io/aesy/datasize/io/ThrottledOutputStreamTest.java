@@ -0,0 +1,140 @@
+package io.aesy.datasize.io;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataRate;
+import io.aesy.datasize.DataSize;
+import io.aesy.datasize.limit.BandwidthLimiter;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+public class ThrottledOutputStreamTest implements WithAssertions {
+    @Test
+    @DisplayName("it should write everything at the limited rate")
+    public void test_write() throws IOException {
+        BandwidthLimiter limiter = new BandwidthLimiter(DataRate.ofBytesPerSecond(100_000),
+            DataSize.of(1, ByteUnit.IEC.KIBIBYTE));
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        long start = System.nanoTime();
+
+        try (ThrottledOutputStream output = new ThrottledOutputStream(target, limiter)) {
+            output.write(new byte[6 * 1024]);
+            output.write(1);
+        }
+
+        assertThat(target.size())
+            .isEqualTo(6 * 1024 + 1);
+
+        assertThat(System.nanoTime() - start)
+            .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    @DisplayName("it should write channels in chunks of the burst size")
+    public void test_channel() throws IOException {
+        BandwidthLimiter limiter = new BandwidthLimiter(DataRate.ofBytesPerSecond(1_000_000),
+            DataSize.of(1, ByteUnit.IEC.KIBIBYTE));
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(3000);
+
+        try (ThrottledWritableByteChannel channel =
+                 new ThrottledWritableByteChannel(Channels.newChannel(target), limiter)) {
+            assertThat(channel.write(buffer))
+                .isEqualTo(1024);
+
+            assertThat(buffer.limit())
+                .isEqualTo(3000);
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        assertThat(target.size())
+            .isEqualTo(3000);
+    }
+
+    @Test
+    @DisplayName("it should wait before writing to channels rather than after")
+    public void test_channel_acquire_first() throws IOException {
+        BandwidthLimiter limiter = new BandwidthLimiter(DataRate.ofBytesPerSecond(1000),
+            DataSize.of(100, ByteUnit.BYTE));
+        long[] writtenAt = new long[1];
+        WritableByteChannel target = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer buffer) {
+                writtenAt[0] = System.nanoTime();
+                int remaining = buffer.remaining();
+                buffer.position(buffer.limit());
+
+                return remaining;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {}
+        };
+        limiter.tryAcquire(100);
+        long start = System.nanoTime();
+
+        try (ThrottledWritableByteChannel channel =
+                 new ThrottledWritableByteChannel(target, limiter)) {
+            channel.write(ByteBuffer.allocate(50));
+        }
+
+        assertThat(writtenAt[0] - start)
+            .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(40));
+    }
+
+    @Test
+    @DisplayName("it should credit bytes not accepted by a channel to the next write")
+    public void test_channel_credit() throws IOException {
+        BandwidthLimiter limiter = new BandwidthLimiter(DataRate.ofBytesPerSecond(1),
+            DataSize.of(100, ByteUnit.BYTE));
+        boolean[] isAccepting = new boolean[1];
+        WritableByteChannel target = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer buffer) {
+                if (!isAccepting[0]) {
+                    return 0;
+                }
+
+                int remaining = buffer.remaining();
+                buffer.position(buffer.limit());
+
+                return remaining;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {}
+        };
+
+        try (ThrottledWritableByteChannel channel =
+                 new ThrottledWritableByteChannel(target, limiter)) {
+            assertThat(channel.write(ByteBuffer.allocate(100)))
+                .isZero();
+
+            isAccepting[0] = true;
+
+            // Would otherwise wait for 100 seconds at one byte per second
+            assertThat(channel.write(ByteBuffer.allocate(100)))
+                .isEqualTo(100);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package io.aesy.datasize.limit;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataRate;
+import io.aesy.datasize.DataSize;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BandwidthLimiterTest implements WithAssertions {
+    private final AtomicLong clock = new AtomicLong(123_456_789);
+
+    @Test
+    @DisplayName("it should allow bursts up to the burst size")
+    public void test_try_acquire() {
+        BandwidthLimiter limiter = new BandwidthLimiter(DataRate.ofBytesPerSecond(1000),
+            DataSize.of(100, ByteUnit.BYTE), clock::get);
+
+        assertThat(limiter.tryAcquire(60))
+            .isTrue();
+
+        assertThat(limiter.tryAcquire(60))
+            .isFalse();
+
+        assertThat(limiter.tryAcquire(40))
+            .isTrue();
+
+        assertThat(limiter.tryAcquire(1))
+            .isFalse();
+    }
+
+    @Test
+    @DisplayName("it should refill at the limited rate up to the burst size")
+    public void test_refill() {
+        BandwidthLimiter limiter = new BandwidthLimiter(DataRate.ofBytesPerSecond(1000),
+            DataSize.of(100, ByteUnit.BYTE), clock::get);
+        limiter.tryAcquire(100);
+
+        assertThat(limiter.getAvailableBytes())
+            .isZero();
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(30));
+
+        assertThat(limiter.getAvailableBytes())
+            .isEqualTo(30);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertThat(limiter.getAvailableBytes())
+            .isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("it should default the burst size to one second of data")
+    public void test_default_burst() {
+        BandwidthLimiter limiter = new BandwidthLimiter(DataRate.of(50, ByteUnit.IEC.MEBIBYTE));
+
+        assertThat(limiter.getBurst())
+            .isEqualTo(DataSize.of(50, ByteUnit.IEC.MEBIBYTE));
+
+        assertThat(limiter.getAvailableBytes())
+            .isEqualTo(50 * 1024 * 1024);
+    }
+
+    @Test
+    @DisplayName("it should return the time to wait when reserving")
+    public void test_reserve() {
+        BandwidthLimiter limiter = new BandwidthLimiter(DataRate.ofBytesPerSecond(1000),
+            DataSize.of(100, ByteUnit.BYTE), clock::get);
+
+        assertThat(limiter.reserve(100))
+            .isZero();
+
+        assertThat(limiter.reserve(500))
+            .isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    @Test
+    @DisplayName("it should wait until bytes are available")
+    public void test_acquire() throws InterruptedException {
+        BandwidthLimiter limiter = new BandwidthLimiter(DataRate.ofBytesPerSecond(10_000),
+            DataSize.of(100, ByteUnit.BYTE));
+        long start = System.nanoTime();
+
+        for (int index = 0; index < 6; index++) {
+            limiter.acquire(100);
+        }
+
+        assertThat(System.nanoTime() - start)
+            .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(40));
+    }
+
+    @Test
+    @DisplayName("it should not acquire if not available within the timeout")
+    public void test_timeout() throws InterruptedException {
+        BandwidthLimiter limiter = new BandwidthLimiter(DataRate.ofBytesPerSecond(1000),
+            DataSize.of(100, ByteUnit.BYTE), clock::get);
+        limiter.tryAcquire(100);
+
+        assertThat(limiter.tryAcquire(100, 1, TimeUnit.MILLISECONDS))
+            .isFalse();
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+
+        assertThat(limiter.tryAcquire(1, 100, TimeUnit.MILLISECONDS))
+            .isTrue();
+    }
+
+    @Test
+    @DisplayName("it should reject rates of less than one byte per second")
+    public void test_invalid() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> new BandwidthLimiter(DataRate.ofBitsPerSecond(7)));
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> new BandwidthLimiter(DataRate.ofBytesPerSecond(1000))
+                .tryAcquire(-1));
+    }
+}
@@ -0,0 +1,219 @@
+package io.aesy.datasize.limit;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+public class DataSizeQuotaTest implements WithAssertions {
+    @Test
+    @DisplayName("it should reserve within the limit")
+    public void test_reserve() {
+        DataSizeQuota quota = new DataSizeQuota(DataSize.of(1, ByteUnit.IEC.KIBIBYTE));
+
+        assertThat(quota.tryReserve(1000))
+            .isTrue();
+
+        assertThat(quota.tryReserve(100))
+            .isFalse();
+
+        assertThat(quota.tryReserve(24))
+            .isTrue();
+
+        assertThat(quota.getUsage())
+            .isEqualTo(DataSize.of(1024, ByteUnit.BYTE));
+
+        assertThat(quota.getRemainingBytes())
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("it should release reserved amounts")
+    public void test_release() {
+        DataSizeQuota quota = new DataSizeQuota(DataSize.of(1, ByteUnit.IEC.KIBIBYTE));
+        quota.tryReserve(DataSize.of(512, ByteUnit.BYTE));
+        quota.release(256);
+
+        assertThat(quota.getRemaining())
+            .isEqualTo(DataSize.of(768, ByteUnit.BYTE));
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> quota.release(512));
+    }
+
+    @Test
+    @DisplayName("it should never exceed the limit when reserving concurrently")
+    public void test_concurrent() {
+        DataSizeQuota quota = new DataSizeQuota(DataSize.of(1, ByteUnit.SI.MEGABYTE));
+
+        long reserved = IntStream.range(0, 10_000)
+                                 .parallel()
+                                 .filter(index -> quota.tryReserve(1000))
+                                 .count();
+
+        assertThat(reserved)
+            .isEqualTo(1000);
+
+        assertThat(quota.getRemainingBytes())
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("it should notify listeners when crossing thresholds")
+    public void test_listener() {
+        List<String> events = new ArrayList<>();
+        DataSizeQuota quota = new DataSizeQuota(DataSize.of(100, ByteUnit.BYTE),
+            DataSize.of(80, ByteUnit.BYTE));
+        quota.addListener(new DataSizeQuotaListener() {
+            @Override
+            public void onSoftLimitExceeded(DataSizeQuota quota, DataSize usage) {
+                events.add("exceeded " + usage.toUnit(ByteUnit.BYTE).getValue().intValue());
+            }
+
+            @Override
+            public void onSoftLimitRecovered(DataSizeQuota quota, DataSize usage) {
+                events.add("recovered " + usage.toUnit(ByteUnit.BYTE).getValue().intValue());
+            }
+
+            @Override
+            public void onHardLimitRejected(DataSizeQuota quota, DataSize requested) {
+                events.add("rejected " + requested.toUnit(ByteUnit.BYTE).getValue().intValue());
+            }
+        });
+
+        quota.tryReserve(50);
+        quota.tryReserve(40);
+        quota.tryReserve(5);
+        quota.tryReserve(20);
+        quota.release(30);
+        quota.release(10);
+
+        assertThat(events)
+            .containsExactly("exceeded 90", "rejected 20", "recovered 65");
+    }
+
+    @Test
+    @DisplayName("it should reject amounts larger than any limit")
+    public void test_huge() {
+        DataSizeQuota quota = new DataSizeQuota(DataSize.of(1, ByteUnit.IEC.GIBIBYTE));
+
+        assertThat(quota.tryReserve(Long.MAX_VALUE))
+            .isFalse();
+
+        assertThat(quota.tryReserve(DataSize.of(1, ByteUnit.IEC.YOBIBYTE)))
+            .isFalse();
+    }
+
+    @Test
+    @DisplayName("it should reject invalid limits and amounts")
+    public void test_invalid() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> new DataSizeQuota(DataSize.of(1, ByteUnit.BYTE),
+                DataSize.of(2, ByteUnit.BYTE)));
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> new DataSizeQuota(DataSize.of(-1, ByteUnit.BYTE)));
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> new DataSizeQuota(DataSize.of(1, ByteUnit.BYTE)).tryReserve(-1));
+    }
+
+    @Test
+    @DisplayName("it should keep the outcome and notify other listeners if a listener throws")
+    public void test_listener_throws() {
+        List<String> events = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        DataSizeQuota quota = new DataSizeQuota(DataSize.of(100, ByteUnit.BYTE),
+            DataSize.of(80, ByteUnit.BYTE));
+        quota.addListener(new DataSizeQuotaListener() {
+            @Override
+            public void onSoftLimitExceeded(DataSizeQuota quota, DataSize usage) {
+                throw new IllegalStateException("exceeded");
+            }
+
+            @Override
+            public void onSoftLimitRecovered(DataSizeQuota quota, DataSize usage) {
+                throw new IllegalStateException("recovered");
+            }
+
+            @Override
+            public void onHardLimitRejected(DataSizeQuota quota, DataSize requested) {
+                throw new IllegalStateException("rejected");
+            }
+        });
+        quota.addListener(new DataSizeQuotaListener() {
+            @Override
+            public void onSoftLimitExceeded(DataSizeQuota quota, DataSize usage) {
+                events.add("exceeded");
+            }
+
+            @Override
+            public void onSoftLimitRecovered(DataSizeQuota quota, DataSize usage) {
+                events.add("recovered");
+            }
+
+            @Override
+            public void onHardLimitRejected(DataSizeQuota quota, DataSize requested) {
+                events.add("rejected");
+            }
+        });
+
+        Thread thread = Thread.currentThread();
+        Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+        thread.setUncaughtExceptionHandler((failed, exception) -> failures.add(exception));
+
+        try {
+            assertThat(quota.tryReserve(90))
+                .isTrue();
+
+            assertThat(quota.tryReserve(20))
+                .isFalse();
+
+            quota.release(30);
+        } finally {
+            thread.setUncaughtExceptionHandler(handler);
+        }
+
+        assertThat(quota.getUsage())
+            .isEqualTo(DataSize.of(60, ByteUnit.BYTE));
+
+        assertThat(events)
+            .containsExactly("exceeded", "rejected", "recovered");
+
+        assertThat(failures)
+            .extracting(Throwable::getMessage)
+            .containsExactly("exceeded", "rejected", "recovered");
+    }
+
+    @Test
+    @DisplayName("it should not notify of a soft limit if none was given")
+    public void test_no_soft_limit() {
+        List<String> events = new ArrayList<>();
+        DataSizeQuota quota = new DataSizeQuota(DataSize.of(100, ByteUnit.BYTE));
+        quota.addListener(new DataSizeQuotaListener() {
+            @Override
+            public void onSoftLimitExceeded(DataSizeQuota quota, DataSize usage) {
+                events.add("exceeded");
+            }
+
+            @Override
+            public void onSoftLimitRecovered(DataSizeQuota quota, DataSize usage) {
+                events.add("recovered");
+            }
+        });
+
+        quota.tryReserve(100);
+        quota.release(100);
+
+        assertThat(events)
+            .isEmpty();
+
+        assertThat(quota.getSoftLimit())
+            .isEqualTo(quota.getLimit());
+    }
+}
@@ -0,0 +1,152 @@
+package io.aesy.datasize.memory;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DataSizeBufferPoolTest implements WithAssertions {
+    @Test
+    @DisplayName("it should round requests up to the nearest size class")
+    public void test_acquire() {
+        DataSizeBufferPool pool = new DataSizeBufferPool(DataSize.of(1, ByteUnit.IEC.MEBIBYTE));
+        ByteBuffer small = pool.acquire(100);
+        ByteBuffer medium = pool.acquire(DataSize.of(5, ByteUnit.SI.KILOBYTE));
+
+        assertThat(small.capacity())
+            .isEqualTo(4 * 1024);
+
+        assertThat(small.limit())
+            .isEqualTo(100);
+
+        assertThat(small.isDirect())
+            .isTrue();
+
+        assertThat(medium.capacity())
+            .isEqualTo(8 * 1024);
+
+        assertThat(pool.getStats().getOutstanding())
+            .isEqualTo(DataSize.of(12, ByteUnit.IEC.KIBIBYTE));
+    }
+
+    @Test
+    @DisplayName("it should reuse released buffers")
+    public void test_release() {
+        DataSizeBufferPool pool = new DataSizeBufferPool(DataSize.of(1, ByteUnit.IEC.KIBIBYTE),
+            DataSize.of(64, ByteUnit.IEC.KIBIBYTE), DataSize.of(1, ByteUnit.IEC.MEBIBYTE), false);
+        ByteBuffer buffer = pool.acquire(1000);
+        buffer.put((byte) 1);
+        pool.release(buffer);
+
+        ByteBuffer reused = pool.acquire(1024);
+
+        assertThat(reused)
+            .isSameAs(buffer);
+
+        assertThat(reused.position())
+            .isZero();
+
+        assertThat(pool.getStats().getHitCount())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("it should not retain more than the capacity")
+    public void test_capacity() {
+        DataSizeBufferPool pool = new DataSizeBufferPool(DataSize.of(4, ByteUnit.IEC.KIBIBYTE),
+            DataSize.of(4, ByteUnit.IEC.KIBIBYTE), DataSize.of(16, ByteUnit.IEC.KIBIBYTE), false);
+        List<ByteBuffer> buffers = new ArrayList<>();
+
+        for (int index = 0; index < 20; index++) {
+            buffers.add(pool.acquire(4096));
+        }
+
+        buffers.forEach(pool::release);
+
+        assertThat(pool.getStats().getPooled())
+            .isEqualTo(DataSize.of(16, ByteUnit.IEC.KIBIBYTE));
+
+        assertThat(pool.getStats().getOutstanding())
+            .isEqualTo(DataSize.of(0, ByteUnit.BYTE));
+    }
+
+    @Test
+    @DisplayName("it should allocate requests larger than the largest size class without pooling")
+    public void test_unpooled() {
+        DataSizeBufferPool pool = new DataSizeBufferPool(DataSize.of(1, ByteUnit.IEC.KIBIBYTE),
+            DataSize.of(4, ByteUnit.IEC.KIBIBYTE), DataSize.of(1, ByteUnit.IEC.MEBIBYTE), false);
+        ByteBuffer buffer = pool.acquire(5000);
+        pool.release(buffer);
+
+        assertThat(buffer.capacity())
+            .isEqualTo(5000);
+
+        assertThat(pool.acquire(5000))
+            .isNotSameAs(buffer);
+
+        assertThat(pool.getSizeClasses())
+            .hasSize(3);
+    }
+
+    @Test
+    @DisplayName("it should count buffers cached by threads against the capacity")
+    public void test_thread_cache_capacity() {
+        DataSizeBufferPool pool = new DataSizeBufferPool(DataSize.of(4, ByteUnit.IEC.KIBIBYTE),
+            DataSize.of(4, ByteUnit.IEC.KIBIBYTE), DataSize.of(8, ByteUnit.IEC.KIBIBYTE), false);
+        List<ByteBuffer> buffers = new ArrayList<>();
+
+        for (int index = 0; index < 3; index++) {
+            buffers.add(pool.acquire(4096));
+        }
+
+        buffers.forEach(pool::release);
+
+        assertThat(pool.getStats().getPooled())
+            .isEqualTo(DataSize.of(8, ByteUnit.IEC.KIBIBYTE));
+
+        assertThat(pool.acquire(4096))
+            .isSameAs(buffers.get(0));
+
+        assertThat(pool.getStats().getPooled())
+            .isEqualTo(DataSize.of(4, ByteUnit.IEC.KIBIBYTE));
+    }
+
+    @Test
+    @DisplayName("it should not take back buffers of size classes without outstanding buffers")
+    public void test_foreign() {
+        DataSizeBufferPool pool = new DataSizeBufferPool(DataSize.of(1, ByteUnit.IEC.KIBIBYTE),
+            DataSize.of(4, ByteUnit.IEC.KIBIBYTE), DataSize.of(1, ByteUnit.IEC.MEBIBYTE), false);
+        ByteBuffer buffer = pool.acquire(1024);
+        pool.release(buffer);
+        pool.release(buffer);
+        pool.release(ByteBuffer.allocate(4096));
+
+        assertThat(pool.getStats().getOutstanding())
+            .isEqualTo(DataSize.of(0, ByteUnit.BYTE));
+
+        assertThat(pool.getStats().getPooled())
+            .isEqualTo(DataSize.of(1, ByteUnit.IEC.KIBIBYTE));
+    }
+
+    @Test
+    @DisplayName("it should reclaim buffers cached by terminated threads")
+    public void test_terminated_thread() throws InterruptedException {
+        DataSizeBufferPool pool = new DataSizeBufferPool(DataSize.of(1, ByteUnit.IEC.KIBIBYTE),
+            DataSize.of(4, ByteUnit.IEC.KIBIBYTE), DataSize.of(1, ByteUnit.IEC.MEBIBYTE), false);
+        ByteBuffer[] released = new ByteBuffer[1];
+        Thread thread = new Thread(() -> {
+            released[0] = pool.acquire(1024);
+            pool.release(released[0]);
+        });
+        thread.start();
+        thread.join();
+
+        assertThat(pool.acquire(1024))
+            .isSameAs(released[0]);
+    }
+}
@@ -0,0 +1,135 @@
+package io.aesy.datasize.memory;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class MemorySamplerTest implements WithAssertions {
+    @Test
+    @DisplayName("it should notify listeners once when exceeding a threshold")
+    public void test_threshold() {
+        List<String> events = new ArrayList<>();
+
+        try (MemorySampler sampler = new MemorySampler(Duration.ofMinutes(1))) {
+            sampler.addListener(MemoryStats.Area.HEAP, DataSize.of(1, ByteUnit.BYTE),
+                new MemoryThresholdListener() {
+                    @Override
+                    public void onThresholdExceeded(MemoryStats stats) {
+                        events.add("exceeded");
+                    }
+                });
+            sampler.addListener(MemoryStats.Area.HEAP, DataSize.of(1, ByteUnit.IEC.EXBIBYTE),
+                new MemoryThresholdListener() {
+                    @Override
+                    public void onThresholdExceeded(MemoryStats stats) {
+                        events.add("unexpected");
+                    }
+                });
+
+            sampler.sample();
+            sampler.sample();
+        }
+
+        assertThat(events)
+            .containsExactly("exceeded");
+    }
+
+    @Test
+    @DisplayName("it should sample periodically once started")
+    public void test_start() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+
+        try (MemorySampler sampler = new MemorySampler(Duration.ofMillis(10))) {
+            sampler.addListener(MemoryStats.Area.HEAP, DataSize.of(0, ByteUnit.BYTE),
+                new MemoryThresholdListener() {
+                    @Override
+                    public void onThresholdExceeded(MemoryStats stats) {
+                        latch.countDown();
+                    }
+                });
+            sampler.start();
+
+            assertThat(latch.await(5, TimeUnit.SECONDS))
+                .isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("it should notify other listeners and keep sampling if a listener throws")
+    public void test_listener_throws() throws InterruptedException {
+        List<String> events = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        CountDownLatch failed = new CountDownLatch(1);
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        MemoryThresholdListener failing = new MemoryThresholdListener() {
+            @Override
+            public void onThresholdExceeded(MemoryStats stats) {
+                throw new IllegalStateException("failing");
+            }
+        };
+
+        try (MemorySampler sampler = new MemorySampler(Duration.ofMillis(10))) {
+            sampler.addListener(MemoryStats.Area.HEAP, DataSize.of(0, ByteUnit.BYTE), failing);
+            sampler.addListener(MemoryStats.Area.HEAP, DataSize.of(0, ByteUnit.BYTE), failing);
+            sampler.addListener(MemoryStats.Area.HEAP, DataSize.of(0, ByteUnit.BYTE),
+                new MemoryThresholdListener() {
+                    @Override
+                    public void onThresholdExceeded(MemoryStats stats) {
+                        events.add("exceeded");
+                    }
+                });
+
+            assertThatIllegalStateException()
+                .isThrownBy(sampler::sample)
+                .satisfies(exception -> assertThat(exception.getSuppressed())
+                    .hasSize(1));
+
+            assertThat(events)
+                .containsExactly("exceeded");
+
+            sampler.removeListener(failing);
+            sampler.addListener(MemoryStats.Area.HEAP, DataSize.of(0, ByteUnit.BYTE),
+                new MemoryThresholdListener() {
+                    @Override
+                    public void onThresholdExceeded(MemoryStats stats) {
+                        // Capture the failure rather than have it printed by the default handler
+                        Thread.currentThread().setUncaughtExceptionHandler((thread, exception) -> {
+                            failures.add(exception);
+                            failed.countDown();
+                        });
+
+                        throw new IllegalStateException("periodic");
+                    }
+                });
+            sampler.start();
+
+            assertThat(failed.await(5, TimeUnit.SECONDS))
+                .isTrue();
+
+            assertThat(failures)
+                .extracting(Throwable::getMessage)
+                .containsExactly("periodic");
+
+            // Added after the first periodic sample threw, hence only notified if sampling goes on
+            sampler.addListener(MemoryStats.Area.HEAP, DataSize.of(0, ByteUnit.BYTE),
+                new MemoryThresholdListener() {
+                    @Override
+                    public void onThresholdExceeded(MemoryStats stats) {
+                        latch.countDown();
+                    }
+                });
+
+            assertThat(latch.await(5, TimeUnit.SECONDS))
+                .isTrue();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.aesy.datasize.memory;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+public class MemoryStatsTest implements WithAssertions {
+    @Test
+    @DisplayName("it should report heap usage within the maximum heap size")
+    public void test_heap() {
+        MemoryStats stats = MemoryStats.snapshot();
+        DataSize used = stats.getUsed(MemoryStats.Area.HEAP);
+
+        assertThat(used)
+            .isGreaterThan(DataSize.of(0, ByteUnit.BYTE))
+            .isLessThanOrEqualTo(stats.getHeapMax());
+
+        assertThat(stats.getHeapAvailable())
+            .isLessThanOrEqualTo(stats.getHeapMax());
+    }
+
+    @Test
+    @DisplayName("it should report direct buffer usage")
+    public void test_direct() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+        MemoryStats stats = MemoryStats.snapshot();
+
+        assertThat(stats.getUsedBytes(MemoryStats.Area.DIRECT))
+            .isGreaterThanOrEqualTo(buffer.capacity());
+    }
+
+    @Test
+    @DisplayName("it should report memory pools")
+    public void test_pools() {
+        assertThat(MemoryStats.snapshot().getPools())
+            .isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("it should calculate fractions of the maximum heap size")
+    public void test_fraction() {
+        MemoryStats stats = MemoryStats.snapshot();
+
+        assertThat(stats.fractionOfMaxHeap(1))
+            .isEqualTo(stats.getHeapMax());
+
+        assertThat(stats.fractionOfMaxHeap(0.5))
+            .isLessThan(stats.getHeapMax());
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> stats.fractionOfMaxHeap(1.5));
+    }
+}
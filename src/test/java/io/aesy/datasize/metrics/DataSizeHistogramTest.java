@@ -0,0 +1,168 @@
+package io.aesy.datasize.metrics;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+import io.aesy.datasize.format.SimpleDataSizeFormatter;
+import io.aesy.datasize.format.SmartDataSizeFormatter;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+public class DataSizeHistogramTest implements WithAssertions {
+    @Test
+    @DisplayName("it should record amounts in buckets aligned to IEC units")
+    public void test_iec() {
+        DataSizeHistogram histogram = new DataSizeHistogram(DataSizeHistogram.Scale.IEC);
+        histogram.record(0);
+        histogram.record(1024);
+        histogram.record(2047);
+        histogram.record(Long.MAX_VALUE);
+
+        DataSizeHistogram.Snapshot snapshot = histogram.getSnapshot();
+
+        assertThat(snapshot.getBucketCount())
+            .isEqualTo(64);
+
+        assertThat(snapshot.getCount(0))
+            .isEqualTo(1);
+
+        assertThat(snapshot.getCount(11))
+            .isEqualTo(2);
+
+        assertThat(snapshot.getCount(63))
+            .isEqualTo(1);
+
+        assertThat(snapshot.getLowerBound(11))
+            .isEqualTo(DataSize.of(1, ByteUnit.IEC.KIBIBYTE));
+
+        assertThat(snapshot.getUpperBound(11))
+            .isEqualTo(DataSize.of(2, ByteUnit.IEC.KIBIBYTE));
+
+        assertThat(snapshot.getCount())
+            .isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("it should record amounts in buckets aligned to SI units")
+    public void test_si() {
+        DataSizeHistogram histogram = new DataSizeHistogram(DataSizeHistogram.Scale.SI);
+        histogram.record(9);
+        histogram.record(10);
+        histogram.record(999_999);
+        histogram.record(1_000_000);
+        histogram.record(Long.MAX_VALUE);
+
+        DataSizeHistogram.Snapshot snapshot = histogram.getSnapshot();
+
+        assertThat(snapshot.getBucketCount())
+            .isEqualTo(20);
+
+        assertThat(snapshot.getCount(1))
+            .isEqualTo(1);
+
+        assertThat(snapshot.getCount(2))
+            .isEqualTo(1);
+
+        assertThat(snapshot.getCount(6))
+            .isEqualTo(1);
+
+        assertThat(snapshot.getCount(7))
+            .isEqualTo(1);
+
+        assertThat(snapshot.getCount(19))
+            .isEqualTo(1);
+
+        assertThat(snapshot.getLowerBound(7))
+            .isEqualTo(DataSize.of(1, ByteUnit.SI.MEGABYTE));
+    }
+
+    @Test
+    @DisplayName("it should estimate percentiles within the bounds of a bucket")
+    public void test_percentile() {
+        DataSizeHistogram histogram = new DataSizeHistogram();
+        IntStream.range(0, 90).forEach(index -> histogram.record(100));
+        IntStream.range(0, 10).forEach(index -> histogram.record(5000));
+
+        DataSizeHistogram.Snapshot snapshot = histogram.getSnapshot();
+
+        assertThat(snapshot.getPercentile(50))
+            .isBetween(DataSize.of(64, ByteUnit.BYTE), DataSize.of(127, ByteUnit.BYTE));
+
+        assertThat(snapshot.getPercentile(99))
+            .isBetween(DataSize.of(4096, ByteUnit.BYTE), DataSize.of(8191, ByteUnit.BYTE));
+
+        assertThat(snapshot.getTotal())
+            .isEqualTo(DataSize.of(59_000, ByteUnit.BYTE));
+
+        assertThat(new DataSizeHistogram().getSnapshot().getPercentile(50))
+            .isEqualTo(DataSize.of(0, ByteUnit.BYTE));
+    }
+
+    @Test
+    @DisplayName("it should record concurrently without losing recordings")
+    public void test_concurrent() {
+        DataSizeHistogram histogram = new DataSizeHistogram();
+
+        IntStream.range(0, 100_000).parallel().forEach(histogram::record);
+
+        assertThat(histogram.getSnapshot().getCount())
+            .isEqualTo(100_000);
+    }
+
+    @Test
+    @DisplayName("it should merge snapshots of the same scale")
+    public void test_merge() {
+        DataSizeHistogram first = new DataSizeHistogram();
+        DataSizeHistogram second = new DataSizeHistogram();
+        first.record(DataSize.of(1, ByteUnit.IEC.MEBIBYTE));
+        second.record(DataSize.of(1, ByteUnit.IEC.MEBIBYTE));
+        second.record(1);
+
+        DataSizeHistogram.Snapshot merged = first.getSnapshot().merge(second.getSnapshot());
+
+        assertThat(merged.getCount(21))
+            .isEqualTo(2);
+
+        assertThat(merged.getCount())
+            .isEqualTo(3);
+
+        assertThatThrownBy(() -> merged.merge(new DataSizeHistogram(DataSizeHistogram.Scale.SI)
+            .getSnapshot()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("it should render bucket labels")
+    public void test_label() {
+        DataSizeHistogram.Snapshot snapshot = new DataSizeHistogram().getSnapshot();
+        SimpleDataSizeFormatter formatter = new SimpleDataSizeFormatter(Locale.US);
+
+        assertThat(snapshot.getLabel(21, formatter))
+            .isEqualTo("1 MiB - 2 MiB");
+
+        assertThat(snapshot.getLabel(0, formatter))
+            .isEqualTo("0 B");
+
+        assertThat(snapshot.getLabel(5, new SmartDataSizeFormatter(Locale.US)))
+            .isEqualTo("16 B - 32 B");
+
+        assertThat(new DataSizeHistogram(DataSizeHistogram.Scale.SI).getSnapshot()
+            .getLabel(4, formatter))
+            .isEqualTo("1 kB - 10 kB");
+    }
+
+    @Test
+    @DisplayName("it should throw IllegalArgumentException if passed a negative amount")
+    public void test_iae() {
+        DataSizeHistogram histogram = new DataSizeHistogram();
+
+        assertThatThrownBy(() -> histogram.record(-1))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> histogram.getSnapshot().getPercentile(101))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
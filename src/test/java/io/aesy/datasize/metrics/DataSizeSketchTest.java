@@ -0,0 +1,147 @@
+package io.aesy.datasize.metrics;
+
+import io.aesy.datasize.BitUnit;
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+public class DataSizeSketchTest implements WithAssertions {
+    @Test
+    @DisplayName("it should estimate quantiles within the relative accuracy")
+    public void test_quantile() {
+        Random random = new Random(42);
+        long[] bytes = new long[100_000];
+        DataSizeSketch sketch = new DataSizeSketch(0.01);
+
+        for (int index = 0; index < bytes.length; index++) {
+            bytes[index] = (long) Math.exp(random.nextDouble() * 30);
+            sketch.addBytes(bytes[index]);
+        }
+
+        Arrays.sort(bytes);
+
+        for (double quantile : new double[] {0, 0.1, 0.5, 0.9, 0.99, 1}) {
+            long exact = bytes[(int) (quantile * (bytes.length - 1))];
+            BigDecimal estimate = sketch.getQuantile(quantile).getValue();
+
+            assertThat(estimate.doubleValue())
+                .isCloseTo(exact, within(exact * 0.01 + 1));
+        }
+
+        assertThat(sketch.getCount())
+            .isEqualTo(100_000);
+
+        assertThat(sketch.getMax())
+            .isEqualTo(DataSize.of(bytes[bytes.length - 1], ByteUnit.BYTE));
+    }
+
+    @Test
+    @DisplayName("it should count amounts of zero and fractions of bytes")
+    public void test_small() {
+        DataSizeSketch sketch = new DataSizeSketch();
+        sketch.addBits(0);
+        sketch.addBits(0);
+        sketch.add(DataSize.of(3, BitUnit.BIT));
+
+        assertThat(sketch.getQuantile(0.5))
+            .isEqualTo(DataSize.of(0, ByteUnit.BYTE));
+
+        assertThat(sketch.getQuantile(1))
+            .isEqualTo(DataSize.of(3, BitUnit.BIT));
+
+        assertThat(new DataSizeSketch().getQuantile(0.5))
+            .isEqualTo(DataSize.of(0, ByteUnit.BYTE));
+    }
+
+    @Test
+    @DisplayName("it should merge sketches")
+    public void test_merge() {
+        DataSizeSketch first = new DataSizeSketch();
+        DataSizeSketch second = new DataSizeSketch();
+        LongStream.rangeClosed(1, 1000).forEach(first::addBytes);
+        LongStream.rangeClosed(1_000_001, 1_001_000).forEach(second::addBytes);
+
+        DataSizeSketch merged = first.merge(second);
+
+        assertThat(merged.getCount())
+            .isEqualTo(2000);
+
+        assertThat(merged.getQuantile(0.25).getValue().doubleValue())
+            .isCloseTo(500, within(10.0));
+
+        assertThat(merged.getQuantile(0.75).getValue().doubleValue())
+            .isCloseTo(1_000_500, within(10_010.0));
+
+        assertThat(merged.getMin())
+            .isEqualTo(DataSize.of(1, ByteUnit.BYTE));
+
+        assertThatThrownBy(() -> merged.merge(new DataSizeSketch(0.02)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("it should collect streams of DataSize objects")
+    public void test_collector() {
+        DataSizeSketch sketch = LongStream.range(0, 10_000)
+                                          .parallel()
+                                          .mapToObj(bytes -> DataSize.of(bytes, ByteUnit.BYTE))
+                                          .collect(DataSizeSketch.toSketch());
+
+        assertThat(sketch.getCount())
+            .isEqualTo(10_000);
+
+        assertThat(sketch.getQuantile(0.5).getValue().doubleValue())
+            .isCloseTo(5000, within(50.0));
+    }
+
+    @Test
+    @DisplayName("it should survive serialization")
+    public void test_serialize() throws IOException, ClassNotFoundException {
+        DataSizeSketch sketch = new DataSizeSketch();
+        LongStream.rangeClosed(1, 1000).forEach(sketch::addBytes);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(sketch);
+        }
+
+        DataSizeSketch copy;
+
+        try (ObjectInputStream input =
+                 new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (DataSizeSketch) input.readObject();
+        }
+
+        assertThat(copy.getQuantile(0.5))
+            .isEqualTo(sketch.getQuantile(0.5));
+
+        assertThat(copy.merge(sketch).getCount())
+            .isEqualTo(2000);
+    }
+
+    @Test
+    @DisplayName("it should throw IllegalArgumentException if passed invalid arguments")
+    public void test_iae() {
+        assertThatThrownBy(() -> new DataSizeSketch(1))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> new DataSizeSketch().addBytes(-1))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> new DataSizeSketch().getQuantile(2))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,78 @@
+package io.aesy.datasize.metrics;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataSize;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+public class InMemoryDataSizeMetricRegistryTest implements WithAssertions {
+    @Test
+    @DisplayName("it should return the same metric for the same name")
+    public void test_register() {
+        DataSizeMetricRegistry registry = new InMemoryDataSizeMetricRegistry();
+        DataSizeCounter first = registry.counter("sent", "Bytes sent");
+        DataSizeCounter second = registry.counter("sent", "Ignored");
+        registry.distribution("sizes", "Sizes");
+
+        assertThat(second)
+            .isSameAs(first);
+
+        assertThat(registry.getMetrics())
+            .extracting(DataSizeMetric::getName)
+            .containsExactly("sent", "sizes");
+    }
+
+    @Test
+    @DisplayName("it should count concurrently")
+    public void test_counter() {
+        DataSizeCounter counter = new InMemoryDataSizeMetricRegistry().counter("sent", "");
+
+        IntStream.range(0, 10_000).parallel().forEach(index -> counter.add(1024));
+        counter.add(DataSize.of(1, ByteUnit.IEC.MEBIBYTE));
+
+        assertThat(counter.getBytes())
+            .isEqualTo(10_000 * 1024 + 1024 * 1024);
+    }
+
+    @Test
+    @DisplayName("it should sample gauges whenever read")
+    public void test_gauge() {
+        AtomicLong size = new AtomicLong(1024);
+        DataSizeGauge gauge = new InMemoryDataSizeMetricRegistry().gauge("cache", "", size::get);
+
+        size.set(2048);
+
+        assertThat(gauge.getValue())
+            .isEqualTo(DataSize.of(2, ByteUnit.IEC.KIBIBYTE));
+    }
+
+    @Test
+    @DisplayName("it should render values in a natural unit")
+    public void test_to_string() {
+        DataSizeCounter counter = new InMemoryDataSizeMetricRegistry().counter("sent", "");
+        counter.add(DataSize.of(3, ByteUnit.IEC.GIBIBYTE));
+
+        assertThat(counter.toString())
+            .isEqualTo("sent: 3 GiB");
+    }
+
+    @Test
+    @DisplayName("it should throw IllegalArgumentException if passed an invalid or used name")
+    public void test_iae() {
+        DataSizeMetricRegistry registry = new InMemoryDataSizeMetricRegistry();
+        registry.counter("sent", "");
+
+        assertThatThrownBy(() -> registry.distribution("sent", ""))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> registry.counter("1 sent", ""))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> registry.counter("sent", "").add(-1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
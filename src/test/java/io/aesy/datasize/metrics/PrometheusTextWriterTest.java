@@ -0,0 +1,69 @@
+package io.aesy.datasize.metrics;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+public class PrometheusTextWriterTest implements WithAssertions {
+    @Test
+    @DisplayName("it should write counters and gauges in bytes")
+    public void test_counter_gauge() throws IOException {
+        DataSizeMetricRegistry registry = new InMemoryDataSizeMetricRegistry();
+        registry.counter("http_sent", "Bytes sent\nin bodies").add(1536);
+        registry.gauge("cache_size_bytes", "Cache size", () -> 42);
+        StringWriter writer = new StringWriter();
+
+        new PrometheusTextWriter().write(registry, writer);
+
+        assertThat(writer.toString())
+            .isEqualTo("# HELP http_sent_bytes_total Bytes sent\\nin bodies\n" +
+                "# TYPE http_sent_bytes_total counter\n" +
+                "http_sent_bytes_total 1536\n" +
+                "# HELP cache_size_bytes Cache size\n" +
+                "# TYPE cache_size_bytes gauge\n" +
+                "cache_size_bytes 42\n");
+    }
+
+    @Test
+    @DisplayName("it should write distributions as cumulative histograms")
+    public void test_histogram() throws IOException {
+        DataSizeMetricRegistry registry = new InMemoryDataSizeMetricRegistry();
+        DataSizeDistribution distribution = registry.distribution("response_size", "Sizes");
+        distribution.record(0);
+        distribution.record(1000);
+        distribution.record(1024);
+        StringWriter writer = new StringWriter();
+
+        new PrometheusTextWriter().write(registry, writer);
+
+        assertThat(writer.toString())
+            .startsWith("# HELP response_size_bytes Sizes\n" +
+                "# TYPE response_size_bytes histogram\n" +
+                "response_size_bytes_bucket{le=\"0\"} 1\n" +
+                "response_size_bytes_bucket{le=\"1\"} 1\n")
+            .contains("response_size_bytes_bucket{le=\"1023\"} 2\n")
+            .contains("response_size_bytes_bucket{le=\"2047\"} 3\n")
+            .endsWith("response_size_bytes_bucket{le=\"+Inf\"} 3\n" +
+                "response_size_bytes_sum 2024\n" +
+                "response_size_bytes_count 3\n");
+    }
+
+    @Test
+    @DisplayName("it should produce the same output when writing repeatedly")
+    public void test_repeat() throws IOException {
+        DataSizeMetricRegistry registry = new InMemoryDataSizeMetricRegistry();
+        registry.distribution("response_size", "Sizes").record(5);
+        PrometheusTextWriter prometheus = new PrometheusTextWriter();
+        StringWriter first = new StringWriter();
+        StringWriter second = new StringWriter();
+
+        prometheus.write(registry, first);
+        prometheus.write(registry, second);
+
+        assertThat(second.toString())
+            .isEqualTo(first.toString());
+    }
+}
@@ -0,0 +1,137 @@
+package io.aesy.datasize.metrics;
+
+import io.aesy.datasize.ByteUnit;
+import io.aesy.datasize.DataRate;
+import io.aesy.datasize.DataSize;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+public class ThroughputMeterTest implements WithAssertions {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("it should measure the exact rate over complete buckets of a window")
+    public void test_rate() {
+        AtomicLong time = new AtomicLong(-SECOND / 2);
+        ThroughputMeter meter = new ThroughputMeter(Duration.ofSeconds(10), Duration.ofSeconds(1),
+                                                     time::get);
+
+        for (int second = 0; second < 20; second++) {
+            meter.record(1000 * second);
+            meter.record(1000 * second);
+            time.addAndGet(SECOND);
+        }
+
+        assertThat(meter.getRate(Duration.ofSeconds(1)))
+            .isEqualTo(DataRate.ofBytesPerSecond(38_000));
+
+        assertThat(meter.getRate(Duration.ofSeconds(10)))
+            .isEqualTo(DataRate.ofBytesPerSecond(29_000));
+
+        assertThat(meter.getTotal(Duration.ofSeconds(2)))
+            .isEqualTo(DataSize.of(74_000, ByteUnit.BYTE));
+
+        assertThat(meter.getTotal())
+            .isEqualTo(DataSize.of(380_000, ByteUnit.BYTE));
+    }
+
+    @Test
+    @DisplayName("it should not lose bytes recorded concurrently while buckets are reclaimed")
+    public void test_concurrent_reclaim() throws InterruptedException {
+        AtomicLong time = new AtomicLong();
+        ThroughputMeter meter = new ThroughputMeter(Duration.ofSeconds(60), Duration.ofSeconds(1),
+                                                    time::get);
+        Thread[] threads = new Thread[4];
+
+        for (int index = 0; index < threads.length; index++) {
+            threads[index] = new Thread(() -> {
+                for (int record = 1; record <= 100_000; record++) {
+                    meter.record(1);
+
+                    if (record % 1000 == 0) {
+                        time.addAndGet(SECOND / 10);
+                    }
+                }
+            });
+            threads[index].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        time.addAndGet(SECOND);
+
+        assertThat(meter.getTotal(Duration.ofSeconds(60)))
+            .isEqualTo(DataSize.of(400_000, ByteUnit.BYTE));
+    }
+
+    @Test
+    @DisplayName("it should skip buckets during which nothing was recorded")
+    public void test_idle() {
+        AtomicLong time = new AtomicLong();
+        ThroughputMeter meter = new ThroughputMeter(Duration.ofSeconds(5), Duration.ofSeconds(1),
+                                                    time::get);
+
+        meter.record(5000);
+        time.addAndGet(SECOND * 3);
+
+        assertThat(meter.getRate(Duration.ofSeconds(5)))
+            .isEqualTo(DataRate.ofBytesPerSecond(5000 / 3));
+
+        time.addAndGet(SECOND * 10);
+
+        assertThat(meter.getRate(Duration.ofSeconds(5)))
+            .isEqualTo(DataRate.ofBytesPerSecond(0));
+    }
+
+    @Test
+    @DisplayName("it should converge its' moving average towards a constant rate")
+    public void test_exponentialRate() {
+        AtomicLong time = new AtomicLong();
+        ThroughputMeter meter = new ThroughputMeter(Duration.ofSeconds(60),
+                                                    Duration.ofMillis(100), time::get);
+
+        for (int i = 0; i < 600; i++) {
+            meter.record(100);
+            time.addAndGet(SECOND / 10);
+        }
+
+        assertThat(meter.getExponentialRate(Duration.ofSeconds(1)).getBytesPerSecond())
+            .isBetween(990L, 1000L);
+    }
+
+    @Test
+    @DisplayName("it should not lose bytes recorded concurrently")
+    public void test_concurrent() {
+        ThroughputMeter meter = new ThroughputMeter(Duration.ofSeconds(1), Duration.ofMillis(1));
+
+        IntStream.range(0, 100_000)
+                 .parallel()
+                 .forEach(i -> meter.record(1));
+
+        assertThat(meter.getTotal())
+            .isEqualTo(DataSize.of(100_000, ByteUnit.BYTE));
+    }
+
+    @Test
+    @DisplayName("it should throw IllegalArgumentException if passed invalid durations")
+    public void test_iae() {
+        ThroughputMeter meter = new ThroughputMeter(Duration.ofSeconds(1), Duration.ofMillis(10));
+
+        assertThatThrownBy(() -> new ThroughputMeter(Duration.ofSeconds(1), Duration.ZERO))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> meter.getRate(Duration.ofSeconds(2)))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> meter.record(-1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}